@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.model.FindingStore;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.report.FindingCollector;
+import org.cryptoseclab.fips.rule.RuleLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Scans a jar or war in place, including the jars nested in it: the application classes of a
+ * Spring Boot jar ({@code BOOT-INF/classes}) or a war ({@code WEB-INF/classes}) and every jar
+ * under {@code BOOT-INF/lib} or {@code WEB-INF/lib}. Nothing is extracted: the fast path reads
+ * the class files through zip file systems, nested jars mounted straight from their entries.
+ * Only an artifact whose fast path defers methods to Soot is written out, as a single jar,
+ * because Soot reads its input from disk.
+ * <p>
+ * Artifacts are scanned in parallel, each in its own {@link ScanSession}, and every finding
+ * of a nested artifact carries the entry name of that artifact.
+ */
+public class ArchiveScanner {
+
+    private static final List<String> LAYOUTS = List.of("BOOT-INF/", "WEB-INF/");
+
+    /**
+     * @param label {@code null} for the application classes of the archive
+     * @param error {@code null} when the artifact was scanned
+     */
+    public record ArtifactResult(String label, int findings, int classes, int deferred, long fastPathMillis,
+                                 long sootMillis, String error) {
+    }
+
+    /**
+     * @param store the findings the {@link FindingCollector} kept
+     */
+    public record Result(FindingStore store, List<ArtifactResult> artifacts, long millis) {
+
+        /**
+         * A read-only list of views over the {@link #store()}.
+         */
+        public List<ScanFinding> findings() {
+            return store.asList();
+        }
+
+        public String describe() {
+            long failed = artifacts.stream().filter(a -> a.error() != null).count();
+            long soot = artifacts.stream().filter(a -> a.sootMillis() > 0).count();
+            int classes = artifacts.stream().mapToInt(ArtifactResult::classes).sum();
+            int found = artifacts.stream().mapToInt(ArtifactResult::findings).sum();
+            return String.format("📦 Archive: %d artifacts (%d failed, %d needed Soot) | %d classes | %d findings | %d ms",
+                    artifacts.size(), failed, soot, classes, found, millis);
+        }
+    }
+
+    /**
+     * @param entry   the jar entry, or {@code null} for the application classes
+     * @param classes the application classes; {@code null} for a nested jar
+     */
+    private record Artifact(String label, Path entry, Path classes) {
+    }
+
+    private final RuleLoader.PolicyRules rules;
+    private final AnalysisProfile profile;
+    private final boolean fastPath;
+    private final int parallelism;
+    private final Path jdkModel;
+
+    /**
+     * @param jdkModel loaded instead of the running JDK by every Soot stage; may be {@code null}
+     */
+    public ArchiveScanner(RuleLoader.PolicyRules rules, AnalysisProfile profile, boolean fastPath, int parallelism,
+                          Path jdkModel) {
+        this.rules = rules;
+        this.profile = profile;
+        this.fastPath = fastPath;
+        this.parallelism = parallelism;
+        this.jdkModel = jdkModel;
+    }
+
+    public static boolean isArchive(Path target) {
+        String name = target.getFileName().toString();
+        return Files.isRegularFile(target) && (name.endsWith(".jar") || name.endsWith(".war"));
+    }
+
+    public Result scan(Path archive) throws IOException, InterruptedException {
+        return scan(archive, new FindingCollector());
+    }
+
+    /**
+     * @param collector receives the findings of each artifact in artifact order, once the workers are done
+     */
+    public Result scan(Path archive, FindingCollector collector) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Path spillDir = Files.createTempDirectory("fips-archive");
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "archive-scan-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileSystem zip = FileSystems.newFileSystem(archive)) {
+            List<Future<ArtifactResult>> jobs = new ArrayList<>();
+            List<FindingCollector> findings = new ArrayList<>();
+            for (Artifact artifact : artifacts(zip)) {
+                FindingCollector artifactFindings = new FindingCollector();
+                findings.add(artifactFindings);
+                jobs.add(workers.submit(() -> scan(archive, artifact, spillDir, artifactFindings)));
+            }
+
+            List<ArtifactResult> results = new ArrayList<>();
+            for (Future<ArtifactResult> job : jobs) {
+                try {
+                    results.add(job.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Archive worker failed", e.getCause());
+                }
+            }
+            for (int i = 0; i < findings.size(); i++) {
+                ArtifactResult artifact = results.get(i);
+                if (artifact.error() != null) continue;
+                String label = artifact.label();
+                for (ScanFinding finding : findings.get(i).findings()) {
+                    collector.accept(label == null ? finding : finding.withArtifact(label));
+                }
+            }
+            return new Result(collector.store(), results, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            workers.shutdownNow();
+            delete(spillDir);
+        }
+    }
+
+    /**
+     * The application classes first, then the nested jars by name.
+     */
+    private static List<Artifact> artifacts(FileSystem zip) throws IOException {
+        List<Artifact> artifacts = new ArrayList<>();
+        for (String layout : LAYOUTS) {
+            Path classes = zip.getPath("/" + layout + "classes");
+            Path lib = zip.getPath("/" + layout + "lib");
+            if (!Files.isDirectory(classes) && !Files.isDirectory(lib)) continue;
+
+            if (Files.isDirectory(classes)) artifacts.add(new Artifact(null, null, classes));
+            if (Files.isDirectory(lib)) {
+                try (Stream<Path> jars = Files.list(lib)) {
+                    jars.filter(p -> p.toString().endsWith(".jar") && Files.isRegularFile(p))
+                            .sorted(Comparator.comparing(Path::toString))
+                            .forEach(jar -> artifacts.add(new Artifact(jar.toString().substring(1), jar, null)));
+                }
+            }
+            return artifacts;
+        }
+        // A plain jar: the archive itself holds the application classes
+        artifacts.add(new Artifact(null, null, zip.getPath("/")));
+        return artifacts;
+    }
+
+    /**
+     * @param findings receives the findings of the artifact, without its label; discarded when the artifact fails
+     */
+    private ArtifactResult scan(Path archive, Artifact artifact, Path spillDir, FindingCollector findings) {
+        String name = artifact.label() == null ? archive.getFileName().toString() : artifact.label();
+        try (FileSystem nested = artifact.entry() == null ? null : FileSystems.newFileSystem(artifact.entry())) {
+            Path classes = nested == null ? artifact.classes() : nested.getPath("/");
+            Supplier<String> sootTarget = () -> sootTarget(archive, artifact, classes, spillDir);
+
+            ScanPipeline.Result result;
+            try (ScanSession session = new ScanSession(rules, profile, false, jdkModel)) {
+                result = session.scan(classes, sootTarget, fastPath, findings);
+            }
+
+            ScanPipeline.SootStage soot = result.soot();
+            ArtifactResult done = new ArtifactResult(artifact.label(), result.store().size(),
+                    result.fastPath() == null ? 0 : result.fastPath().classes(),
+                    result.fastPath() == null ? 0 : result.fastPath().deferredMethods().size(),
+                    result.fastPath() == null ? 0 : result.fastPath().millis(),
+                    soot == null ? 0 : soot.loadMillis() + soot.callGraph().bodyMillis()
+                            + soot.callGraph().callGraphMillis() + soot.analysisMillis(), null);
+            if (soot != null || done.findings() > 0) {
+                System.out.printf("⏱️ %s: %d findings | fast path %d ms | %d methods deferred | soot %d ms%n", name,
+                        done.findings(), done.fastPathMillis(), done.deferred(), done.sootMillis());
+            }
+            return done;
+        } catch (Exception e) {
+            System.err.println("❌ " + name + " failed: " + e);
+            return new ArtifactResult(artifact.label(), 0, 0, 0, 0, 0, String.valueOf(e));
+        }
+    }
+
+    /**
+     * A plain jar is handed to Soot as it is; a nested jar is copied out of its entry, and the
+     * application classes of a Spring Boot jar or war are re-rooted into a jar of their own.
+     */
+    private static String sootTarget(Path archive, Artifact artifact, Path classes, Path spillDir) {
+        if (artifact.entry() == null && classes.getParent() == null) return archive.toString();
+        try {
+            Path jar = Files.createTempFile(spillDir, "artifact", ".jar");
+            if (artifact.entry() != null) {
+                Files.copy(artifact.entry(), jar, StandardCopyOption.REPLACE_EXISTING);
+                return jar.toString();
+            }
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+                 Stream<Path> files = Files.walk(classes)) {
+                for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".class"))::iterator) {
+                    out.putNextEntry(new JarEntry(classes.relativize(file).toString()));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            }
+            return jar.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + artifact.label() + " for Soot", e);
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.ChunkPlanner;
+import org.cryptoseclab.fips.model.FindingStore;
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.report.FindingCollector;
+import org.cryptoseclab.fips.report.JsonReportWriter;
+import org.cryptoseclab.fips.report.ReportFormat;
+import org.cryptoseclab.fips.rule.RuleLoader;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scans every target of a manifest in one JVM. Jobs run on a fixed pool of workers and are
+ * admitted against a heap budget: each job reserves an estimate based on the size of its
+ * bytecode before it starts, so a few large artifacts cannot push the JVM out of memory
+ * while many small ones still run side by side. Every job runs in its own {@link ScanSession},
+ * so the Soot stages of concurrent jobs do not share any state.
+ * <p>
+ * Manifest: one target (classes directory or jar) per line, optionally {@code label=path};
+ * blank lines and {@code #} comments are skipped.
+ */
+public class BatchScanner {
+
+    private static final long MB = 1024 * 1024;
+
+    public record Target(String label, Path path) {
+    }
+
+    /**
+     * @param error {@code null} when the job succeeded
+     */
+    public record JobResult(Target target, String error, int findings, int violations, int estimatedMb,
+                            long queuedMillis, long fastPathMillis, long sootWaitMillis, long sootMillis,
+                            long reportMillis, long totalMillis, Map<String, Integer> violatingAlgorithms) {
+    }
+
+    private final RuleLoader.PolicyRules rules;
+    private final PolicySet policies;
+    private final List<String> reportPolicies;
+    private final AnalysisProfile profile;
+    private final boolean fastPath;
+    private final List<ReportFormat> formats;
+    private final Path outputDir;
+    private final int parallelism;
+    private final int memoryBudgetMb;
+    private final Path jdkModel;
+    private final Semaphore memory;
+
+    /**
+     * @param policies       non-null when several policies are loaded (reports then show them)
+     * @param memoryBudgetMb heap reserved for running jobs; 0 for three quarters of the max heap
+     * @param jdkModel       loaded instead of the running JDK by every job; may be {@code null}
+     */
+    public BatchScanner(RuleLoader.PolicyRules rules, PolicySet policies, List<String> reportPolicies,
+                        AnalysisProfile profile, boolean fastPath, List<ReportFormat> formats, Path outputDir,
+                        int parallelism, int memoryBudgetMb, Path jdkModel) {
+        this.rules = rules;
+        this.policies = policies;
+        this.reportPolicies = reportPolicies;
+        this.profile = profile;
+        this.fastPath = fastPath;
+        this.formats = formats;
+        this.outputDir = outputDir;
+        this.parallelism = parallelism;
+        this.memoryBudgetMb = memoryBudgetMb > 0 ? memoryBudgetMb
+                : (int) Math.max(ChunkPlanner.SCENE_BASE_MB, Runtime.getRuntime().maxMemory() * 3 / 4 / MB);
+        this.jdkModel = jdkModel;
+        this.memory = new Semaphore(this.memoryBudgetMb, true);
+    }
+
+    public static List<Target> readManifest(Path manifest) throws IOException {
+        List<Target> targets = new ArrayList<>();
+        Set<String> labels = new HashSet<>();
+        Path base = manifest.toAbsolutePath().getParent();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            int eq = line.indexOf('=');
+            Path path = base.resolve(eq < 0 ? line : line.substring(eq + 1).strip());
+            String label = eq < 0 ? defaultLabel(path) : line.substring(0, eq).strip();
+            // Labels name the per-artifact reports, so they must be unique
+            String unique = label;
+            for (int n = 2; !labels.add(unique); n++) unique = label + "-" + n;
+            targets.add(new Target(unique, path));
+        }
+        return targets;
+    }
+
+    private static String defaultLabel(Path path) {
+        String name = path.getFileName().toString();
+        if (name.endsWith(".jar") || name.endsWith(".war")) return name.substring(0, name.length() - 4);
+        // For <module>/target/classes the module directory is the useful name
+        Path dir = path;
+        while (dir.getParent() != null && dir.getParent().getFileName() != null
+                && List.of("classes", "target", "build").contains(dir.getFileName().toString())) {
+            dir = dir.getParent();
+        }
+        return dir.getFileName() == null ? name : dir.getFileName().toString();
+    }
+
+    public List<JobResult> run(List<Target> targets) throws IOException, InterruptedException {
+        Files.createDirectories(outputDir);
+        long start = System.nanoTime();
+        System.out.printf("📦 Batch of %d artifacts | %d workers | memory budget %d MB%n",
+                targets.size(), parallelism, memoryBudgetMb);
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "batch-scan-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<JobResult> results = new ArrayList<>();
+        try {
+            List<Future<JobResult>> jobs = new ArrayList<>();
+            for (Target target : targets) {
+                long submitted = System.nanoTime();
+                jobs.add(workers.submit(() -> admit(target, submitted)));
+            }
+            for (Future<JobResult> job : jobs) {
+                try {
+                    results.add(job.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Batch worker failed", e.getCause());
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        writeSummary(results, (System.nanoTime() - start) / 1_000_000);
+        return results;
+    }
+
+    private JobResult admit(Target target, long submitted) throws InterruptedException {
+        int estimate = Math.min(memoryBudgetMb, estimateMb(target.path()));
+        memory.acquire(estimate);
+        try {
+            return scan(target, estimate, (System.nanoTime() - submitted) / 1_000_000);
+        } finally {
+            memory.release(estimate);
+        }
+    }
+
+    private JobResult scan(Target target, int estimateMb, long queuedMillis) {
+        long start = System.nanoTime();
+        try {
+            if (!Files.exists(target.path())) throw new IOException("target does not exist: " + target.path());
+            ScanPipeline.Result result;
+            try (ScanSession session = new ScanSession(rules, profile, false, jdkModel)) {
+                result = session.scan(target.path().toString(), fastPath,
+                        FindingCollector.forPolicies(policies, reportPolicies));
+            }
+            long scanned = System.nanoTime();
+
+            FindingStore store = result.store();
+            for (ReportFormat format : formats) {
+                format.writer(policies).write(store.asList(), result.summary(),
+                        format.outputFor(outputDir.resolve(target.label())));
+            }
+            long done = System.nanoTime();
+
+            BitSet violatingRows = store.violating(-1L);
+            int violations = violatingRows.cardinality();
+            Map<String, Integer> violating = store.countBy(FindingStore.Column.ALGORITHM, violatingRows);
+            ScanPipeline.SootStage soot = result.soot();
+            JobResult job = new JobResult(target, null, store.size(), violations, estimateMb, queuedMillis,
+                    result.fastPath() == null ? 0 : result.fastPath().millis(),
+                    soot == null ? 0 : soot.waitMillis(),
+                    soot == null ? 0 : soot.loadMillis() + soot.callGraph().bodyMillis()
+                            + soot.callGraph().callGraphMillis() + soot.analysisMillis(),
+                    (done - scanned) / 1_000_000, (done - start) / 1_000_000, violating);
+            System.out.printf("⏱️ %s: %d findings, %d violations | queued %d ms | fast path %d ms | soot wait %d ms"
+                            + " | soot %d ms | reports %d ms | total %d ms%n", target.label(), job.findings(),
+                    job.violations(), queuedMillis, job.fastPathMillis(), job.sootWaitMillis(), job.sootMillis(),
+                    job.reportMillis(), job.totalMillis());
+            return job;
+        } catch (Exception e) {
+            System.err.println("❌ " + target.label() + " failed: " + e);
+            return new JobResult(target, String.valueOf(e), 0, 0, estimateMb, queuedMillis, 0, 0, 0, 0,
+                    (System.nanoTime() - start) / 1_000_000, Map.of());
+        }
+    }
+
+    private static int estimateMb(Path target) {
+        try {
+            return ChunkPlanner.estimateMb(ChunkPlanner.listClasses(target).stream().mapToLong(ChunkPlanner.ClassEntry::bytes).sum());
+        } catch (IOException | RuntimeException e) {
+            return ChunkPlanner.SCENE_BASE_MB;
+        }
+    }
+
+    private void writeSummary(List<JobResult> results, long wallMillis) throws IOException {
+        int failed = 0;
+        long findings = 0;
+        long violations = 0;
+        long jobMillis = 0;
+        Map<String, Integer> violatingAlgorithms = new HashMap<>();
+        for (JobResult job : results) {
+            if (job.error() != null) failed++;
+            findings += job.findings();
+            violations += job.violations();
+            jobMillis += job.totalMillis();
+            job.violatingAlgorithms().forEach((algorithm, n) -> violatingAlgorithms.merge(algorithm, n, Integer::sum));
+        }
+
+        Path summary = outputDir.resolve("fleet-summary.json");
+        try (PrintWriter out = new PrintWriter(summary.toFile(), StandardCharsets.UTF_8)) {
+            out.println("{");
+            out.printf("  \"artifacts\": %d, \"failed\": %d, \"findings\": %d, \"violations\": %d,%n",
+                    results.size(), failed, findings, violations);
+            out.printf("  \"wallMillis\": %d, \"jobMillis\": %d,%n", wallMillis, jobMillis);
+            out.print("  \"violatingAlgorithms\": {");
+            List<Map.Entry<String, Integer>> byCount = new ArrayList<>(violatingAlgorithms.entrySet());
+            byCount.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            for (int i = 0; i < byCount.size(); i++) {
+                out.print((i > 0 ? ", " : "") + JsonReportWriter.quote(byCount.get(i).getKey()) + ": "
+                        + byCount.get(i).getValue());
+            }
+            out.println("},");
+            out.println("  \"jobs\": [");
+            for (int i = 0; i < results.size(); i++) {
+                JobResult job = results.get(i);
+                out.printf("    {\"label\": %s, \"target\": %s, \"status\": %s, \"findings\": %d, \"violations\": %d, "
+                                + "\"estimatedMb\": %d, \"queuedMillis\": %d, \"fastPathMillis\": %d, "
+                                + "\"sootWaitMillis\": %d, \"sootMillis\": %d, \"reportMillis\": %d, \"totalMillis\": %d%s}%s%n",
+                        JsonReportWriter.quote(job.target().label()), JsonReportWriter.quote(job.target().path().toString()),
+                        JsonReportWriter.quote(job.error() == null ? "ok" : "error"), job.findings(), job.violations(),
+                        job.estimatedMb(), job.queuedMillis(), job.fastPathMillis(), job.sootWaitMillis(),
+                        job.sootMillis(), job.reportMillis(), job.totalMillis(),
+                        job.error() == null ? "" : ", \"error\": " + JsonReportWriter.quote(job.error()),
+                        i + 1 < results.size() ? "," : "");
+            }
+            out.println("  ]");
+            out.println("}");
+        }
+
+        System.out.printf("📊 Fleet: %d artifacts (%d failed) | %d findings | %d violations | wall %d ms | "
+                + "job time %d ms%n", results.size(), failed, findings, violations, wallMillis, jobMillis);
+        System.out.println("✅ Fleet summary generated: " + summary);
+    }
+}
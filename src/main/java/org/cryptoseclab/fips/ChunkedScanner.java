@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.ChunkPlanner;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.report.FindingCollector;
+import org.cryptoseclab.fips.report.FindingRunFile;
+import org.cryptoseclab.fips.rule.RuleLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Memory-capped scan of a target too large for one whole-program Scene. The application
+ * classes are cut into package chunks that fit the heap budget (see {@link ChunkPlanner});
+ * each chunk is copied to a scratch directory and scanned in its own {@link ScanSession},
+ * whose Scene is released before the next chunk. Findings of each chunk are spilled to a
+ * sorted run file and all runs are merged once the last Scene is gone.
+ * <p>
+ * Classes of other chunks are not on the chunk's classpath and appear as phantoms, so
+ * values flowing between chunks are not traced; cutting along packages keeps most flows
+ * inside one chunk.
+ */
+public class ChunkedScanner {
+
+    private static final long MB = 1024 * 1024;
+
+    private final RuleLoader.PolicyRules rules;
+    private final AnalysisProfile profile;
+    private final boolean fastPath;
+    private final int heapBudgetMb;
+    private final Path jdkModel;
+
+    /**
+     * @param jdkModel loaded instead of the running JDK by every chunk; may be {@code null}
+     */
+    public ChunkedScanner(RuleLoader.PolicyRules rules, AnalysisProfile profile, boolean fastPath, int heapBudgetMb,
+                          Path jdkModel) {
+        this.rules = rules;
+        this.profile = profile;
+        this.fastPath = fastPath;
+        this.heapBudgetMb = heapBudgetMb;
+        this.jdkModel = jdkModel;
+    }
+
+    public List<ScanFinding> scan(Path target) throws IOException {
+        return scan(target, new FindingCollector());
+    }
+
+    /**
+     * @param collector receives the merged findings as the runs are merged
+     * @return the collector's findings
+     */
+    public List<ScanFinding> scan(Path target, FindingCollector collector) throws IOException {
+        long maxHeapMb = Runtime.getRuntime().maxMemory() / MB;
+        if (heapBudgetMb > maxHeapMb) {
+            System.err.printf("⚠️ Heap budget %d MB exceeds the JVM's max heap of %d MB%n", heapBudgetMb, maxHeapMb);
+        }
+        List<ChunkPlanner.Chunk> chunks = ChunkPlanner.plan(ChunkPlanner.listClasses(target), heapBudgetMb);
+        System.out.printf("🧩 %d classes in %d chunks for a %d MB heap budget%n",
+                chunks.stream().mapToInt(c -> c.classes().size()).sum(), chunks.size(), heapBudgetMb);
+
+        Path spillDir = Files.createTempDirectory("fips-spill");
+        try {
+            List<Path> runs = new ArrayList<>();
+            for (ChunkPlanner.Chunk chunk : chunks) {
+                runs.add(scanChunk(target, chunk, spillDir));
+            }
+            int merged = FindingRunFile.merge(runs, collector);
+            System.out.printf("🧩 Merged %d findings from %d runs | peak heap %d MB%n",
+                    merged, runs.size(), peakHeapMb());
+            return collector.findings();
+        } finally {
+            deleteTree(spillDir);
+        }
+    }
+
+    private Path scanChunk(Path target, ChunkPlanner.Chunk chunk, Path spillDir) throws IOException {
+        long start = System.nanoTime();
+        Path classes = spillDir.resolve("chunk-" + chunk.index());
+        copyClasses(target, chunk, classes);
+
+        List<ScanFinding> findings;
+        try (ScanSession session = new ScanSession(rules, profile, false, jdkModel)) {
+            findings = session.scan(classes.toString(), fastPath).findings();
+        }
+        deleteTree(classes);
+
+        Path run = spillDir.resolve("chunk-" + chunk.index() + ".run");
+        FindingRunFile.write(run, findings);
+        long usedMb = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / MB;
+        System.out.printf("⏱️ chunk %d: %d classes (~%d MB estimated) | %d findings spilled | %d ms | heap used %d MB%n",
+                chunk.index(), chunk.classes().size(), chunk.estimatedMb(), findings.size(),
+                (System.nanoTime() - start) / 1_000_000, usedMb);
+        return run;
+    }
+
+    private static void copyClasses(Path target, ChunkPlanner.Chunk chunk, Path dest) throws IOException {
+        if (Files.isDirectory(target)) {
+            for (ChunkPlanner.ClassEntry cls : chunk.classes()) {
+                Path to = dest.resolve(cls.entryName());
+                Files.createDirectories(to.getParent());
+                Files.copy(target.resolve(cls.entryName()), to);
+            }
+            return;
+        }
+        try (JarFile jar = new JarFile(target.toFile())) {
+            for (ChunkPlanner.ClassEntry cls : chunk.classes()) {
+                Path to = dest.resolve(cls.entryName());
+                Files.createDirectories(to.getParent());
+                try (InputStream in = jar.getInputStream(jar.getJarEntry(cls.entryName()))) {
+                    Files.copy(in, to);
+                }
+            }
+        }
+    }
+
+    private static long peakHeapMb() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak / MB;
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) return;
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
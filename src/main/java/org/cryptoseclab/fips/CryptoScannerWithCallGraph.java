@@ -1,11 +1,13 @@
 package org.cryptoseclab.fips;
 
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.CallGraphResolver;
 import org.cryptoseclab.fips.model.CryptoRule;
 import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.rule.AlgorithmClassifier;
 import org.cryptoseclab.fips.rule.RuleLoader;
 import soot.Body;
 import soot.Local;
-import soot.PackManager;
 import soot.Scene;
 import soot.SootClass;
 import soot.SootMethod;
@@ -16,7 +18,6 @@ import soot.jimple.Stmt;
 import soot.jimple.StringConstant;
 import soot.jimple.toolkits.callgraph.CallGraph;
 import soot.jimple.toolkits.callgraph.Edge;
-import soot.options.Options;
 import soot.tagkit.LineNumberTag;
 
 import java.io.PrintWriter;
@@ -32,8 +33,7 @@ import java.util.Set;
 public class CryptoScannerWithCallGraph
 {
 
-    private static final Set<String> FIPS_PROVIDERS = Set.of("SunPKCS11", "BCFIPS",
-            "OpenJCEPlusFIPS");
+    private static final AlgorithmClassifier DEFAULT_POLICY = AlgorithmClassifier.compile(null);
 
     public static void main(String[] args) throws Exception
     {
@@ -47,19 +47,13 @@ public class CryptoScannerWithCallGraph
                 "/Users/narensolanki/fips-crypto-audit/src/main/resources/fips-rules.yaml");
 
         List<CryptoRule> rules = RuleLoader.load(rulePath);
+        AnalysisProfile profile = args.length > 0 ? AnalysisProfile.parse(args[0]) : AnalysisProfile.SPARK;
 
         // Soot setup
-        Options.v().set_prepend_classpath(true);
-        Options.v().set_process_dir(Collections.singletonList(targetPath));
-        Options.v().set_allow_phantom_refs(true);
-        Options.v().set_output_format(Options.output_format_none);
-        Options.v().set_whole_program(true);
-        Options.v().set_no_bodies_for_excluded(true);
-        Options.v().setPhaseOption("cg.spark", "on");
-        Options.v().setPhaseOption("jb", "use-original-names:true");
+        CallGraphResolver.configure(Collections.singletonList(targetPath), profile);
 
         Scene.v().loadNecessaryClasses();
-        PackManager.v().runPacks();
+        System.out.println(CallGraphResolver.build(profile));
 
         analyze(rules);
     }
@@ -93,6 +87,8 @@ public class CryptoScannerWithCallGraph
                         if (!target.getDeclaringClass().getName().equals(rule.getClassName()))
                             continue;
                         if (!target.getName().equals(rule.getMethodName())) continue;
+                        // Predicate-only rules need PolicyEvaluator; this scanner only traces algorithm names
+                        if (!rule.hasAlgorithmArg()) continue;
                         if (invoke.getArgCount() <= rule.getAlgoArgIndex()) continue;
 
                         int line = getLineNumber(unit);
@@ -123,7 +119,7 @@ public class CryptoScannerWithCallGraph
                             Value providerArg = invoke.getArg(rule.getProviderArgIndex());
                             if (providerArg instanceof StringConstant psc) {
                                 providerValue = psc.value;
-                                providerStatus = FIPS_PROVIDERS.contains(
+                                providerStatus = DEFAULT_POLICY.isApprovedProvider(
                                         providerValue) ? "FIPS" : "⚠️ Non-FIPS";
                             } else {
                                 providerValue = "&lt;unknown>";
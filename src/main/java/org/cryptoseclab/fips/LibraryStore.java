@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.LibrarySummary;
+import org.cryptoseclab.fips.model.CryptoRule;
+import org.cryptoseclab.fips.model.FindingStore;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.report.FindingRunFile;
+import org.cryptoseclab.fips.rule.RuleLoader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Findings and {@link LibrarySummary}s of third-party jars, addressed by the SHA-256 of the
+ * jar and shared by every scan on the host that runs the same rules and profile. A dependency
+ * is analyzed once, in its own {@link ScanSession}; after that, scans of any project analyze
+ * only their application code and check its calls into the library against the summaries.
+ * <p>
+ * Layout: {@code <root>/<rules fingerprint>-<profile>-<jdk>/<jar sha256>.lib}, where {@code <jdk>}
+ * is the SHA-256 of the JDK model or {@code runtime<feature version>}: the JDK classes shape the
+ * hierarchy and the call edges a summary is built from. Entries are written
+ * to a temporary file and moved into place, so concurrent scans never read half an entry.
+ */
+public class LibraryStore {
+
+    private static final int MAGIC = 0x4649504c; // "FIPL"
+    private static final int FORMAT = 4;
+    private static final Comparator<LibrarySummary> SUMMARY_ORDER = Comparator
+            .comparing(LibrarySummary::className)
+            .thenComparing(LibrarySummary::methodName)
+            .thenComparing(LibrarySummary::descriptor)
+            .thenComparingInt(LibrarySummary::paramIndex)
+            .thenComparingInt(LibrarySummary::ruleIndex)
+            .thenComparingInt(LibrarySummary::ruleArg);
+
+    public record Library(List<ScanFinding> findings, List<LibrarySummary> summaries) {
+    }
+
+    /**
+     * @param derivedRules rules that check application calls into the libraries, from their summaries
+     */
+    public record Resolved(List<ScanFinding> findings, List<CryptoRule> derivedRules, int hits, int misses,
+                           long millis) {
+
+        public String describe() {
+            return String.format("📚 Dependencies: %d jars, %d from the library store, %d analyzed | %d findings"
+                    + " | %d summary rules | %d ms", hits + misses, hits, misses, findings.size(), derivedRules.size(), millis);
+        }
+    }
+
+    private final Path root;
+    private final Path jdkModel;
+
+    /**
+     * @param jdkModel loaded instead of the running JDK when a jar is analyzed; may be {@code null}
+     */
+    public LibraryStore(Path root, Path jdkModel) {
+        this.root = root;
+        this.jdkModel = jdkModel;
+    }
+
+    /**
+     * Looks every jar up in the store, analyzing and storing the ones it does not hold yet.
+     */
+    public Resolved resolve(List<Path> jars, RuleLoader.PolicyRules rules, AnalysisProfile profile) throws IOException {
+        long start = System.nanoTime();
+        Path dir = directory(rules, profile);
+        FindingStore findings = new FindingStore();
+        Set<LibrarySummary> summaries = new LinkedHashSet<>();
+        int hits = 0;
+        for (Path jar : jars) {
+            if (!Files.isRegularFile(jar)) throw new IllegalArgumentException("Dependency jar does not exist: " + jar);
+            Path entry = dir.resolve(sha256(jar) + ".lib");
+            Library library = read(entry);
+            if (library != null) {
+                hits++;
+            } else {
+                library = analyze(jar, rules, profile, jdkModel);
+                try {
+                    write(entry, library);
+                } catch (IOException e) {
+                    // A read-only or full store only costs the next scan another analysis
+                    System.err.println("⚠️ Library store not updated for " + jar + ": " + e.getMessage());
+                }
+            }
+            String artifact = jar.getFileName().toString();
+            for (ScanFinding finding : library.findings()) findings.add(finding.withArtifact(artifact));
+            summaries.addAll(library.summaries());
+        }
+
+        List<CryptoRule> derived = new ArrayList<>();
+        for (LibrarySummary summary : summaries) {
+            CryptoRule rule = summary.derive(rules.rules());
+            if (rule != null) derived.add(rule);
+        }
+        return new Resolved(findings.asList(), derived, hits, jars.size() - hits, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    Path directory(RuleLoader.PolicyRules rules, AnalysisProfile profile) throws IOException {
+        String jdk = jdkModel == null ? "runtime" + Runtime.version().feature() : sha256(jdkModel).substring(0, 16);
+        return root.resolve(rules.fingerprint().substring(0, 16) + "-" + profile.name().toLowerCase(Locale.ROOT) + "-" + jdk);
+    }
+
+    private static Library analyze(Path jar, RuleLoader.PolicyRules rules, AnalysisProfile profile, Path jdkModel) {
+        ScanPipeline.LibraryScan scan;
+        try (ScanSession session = new ScanSession(rules, profile, false, jdkModel)) {
+            scan = session.scanLibrary(jar.toString());
+        }
+        List<LibrarySummary> summaries = new ArrayList<>(scan.summaries());
+        summaries.sort(SUMMARY_ORDER);
+        return new Library(scan.findings(), summaries);
+    }
+
+    /**
+     * @return {@code null} when the entry is missing or unreadable
+     */
+    static Library read(Path entry) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) return null;
+            FindingStore findings = new FindingStore();
+            for (int i = in.readInt(); i > 0; i--) findings.add(FindingRunFile.readFinding(in));
+            List<LibrarySummary> summaries = new ArrayList<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                summaries.add(new LibrarySummary(in.readUTF(), in.readUTF(), in.readUTF(), in.readInt(), in.readInt(),
+                        in.readInt()));
+            }
+            return new Library(findings.asList(), summaries);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            // Truncated or foreign; analyzed again and overwritten
+            return null;
+        }
+    }
+
+    static void write(Path entry, Library library) throws IOException {
+        Files.createDirectories(entry.getParent());
+        Path temp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeInt(library.findings().size());
+                for (ScanFinding finding : library.findings()) FindingRunFile.writeFinding(out, finding);
+                out.writeInt(library.summaries().size());
+                for (LibrarySummary summary : library.summaries()) {
+                    out.writeUTF(summary.className());
+                    out.writeUTF(summary.methodName());
+                    out.writeUTF(summary.descriptor());
+                    out.writeInt(summary.paramIndex());
+                    out.writeInt(summary.ruleIndex());
+                    out.writeInt(summary.ruleArg());
+                }
+            }
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static String sha256(Path jar) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(jar)) {
+            byte[] buffer = new byte[64 * 1024];
+            for (int n; (n = in.read(buffer)) > 0; ) digest.update(buffer, 0, n);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -17,52 +17,261 @@
 
 package org.cryptoseclab.fips;
 
-import org.cryptoseclab.fips.analysis.CryptoAnalyzer;
-import org.cryptoseclab.fips.analysis.RuleBasedAnalyzer;
-import org.cryptoseclab.fips.model.CryptoRule;
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.CallPathIndex;
+import org.cryptoseclab.fips.analysis.IrCache;
+import org.cryptoseclab.fips.analysis.JdkModel;
+import org.cryptoseclab.fips.analysis.ReachabilityFilter;
+import org.cryptoseclab.fips.analysis.SceneLoader;
+import org.cryptoseclab.fips.model.PolicySet;
 import org.cryptoseclab.fips.model.ScanFinding;
-import org.cryptoseclab.fips.report.HtmlReportWriter;
-import org.cryptoseclab.fips.report.ReportWriter;
+import org.cryptoseclab.fips.report.BinaryReportReader;
+import org.cryptoseclab.fips.report.FindingCollector;
+import org.cryptoseclab.fips.report.FindingDiff;
+import org.cryptoseclab.fips.report.FindingSummary;
+import org.cryptoseclab.fips.report.ReportFormat;
 import org.cryptoseclab.fips.rule.RuleLoader;
-import soot.G;
-import soot.PackManager;
-import soot.Scene;
-import soot.options.Options;
 
+import java.io.IOException;
 import java.nio.file.Path;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Main {
+
+    private static final String DEFAULT_TARGET = "/Users/narensolanki/fips-crypto-audit/target/classes";
+    private static final String DEFAULT_RULES = "/Users/narensolanki/fips-crypto-audit/src/main/resources/fips-rules.yaml";
+    private static final Path DEFAULT_IR_CACHE = Path.of(".fips-cache", "ir");
+    private static final Path DEFAULT_LIBRARY_STORE = Path.of(System.getProperty("user.home"), ".fips-cache", "libraries");
+
     public static void main(String[] args) throws Exception {
-//        if (args.length < 2) {
-//            System.err.println("Usage: java -jar scanner.jar <classes-path> <rules.yaml>");
-//            System.exit(1);
-//        }
-
-        G.reset();
-        String targetPath = "/Users/narensolanki/fips-crypto-audit/target/classes";
-        Path rulePath = Path.of(
-                "/Users/narensolanki/fips-crypto-audit/src/main/resources/fips-rules.yaml");
-
-        List<CryptoRule> rules = RuleLoader.load(rulePath);
-
-        Options.v().set_prepend_classpath(true);
-        Options.v().set_process_dir(Collections.singletonList(targetPath));
-        Options.v().set_allow_phantom_refs(true);
-        Options.v().set_output_format(Options.output_format_none);
-        Options.v().set_whole_program(true);
-        Options.v().set_no_bodies_for_excluded(true);
-        Options.v().setPhaseOption("cg.spark", "on");
-        Options.v().setPhaseOption("jb", "use-original-names:true");
-
-        Scene.v().loadNecessaryClasses();
-        PackManager.v().runPacks();
-
-        CryptoAnalyzer analyzer = new RuleBasedAnalyzer();
-        List<ScanFinding> findings = analyzer.analyze(rules, Scene.v().getCallGraph());
-
-        ReportWriter writer = new HtmlReportWriter();
-        writer.write(findings, Path.of("fips-report.html"));
+        // Usage: java -jar scanner.jar [classes-path|jar|war] [rules.yaml] [--profile=cha|rta|vta|spark] [--compare-profiles]
+        //                                [--no-fast-path] [--policy=<name>=<rules.yaml>]... [--report-policy=<name>]...
+        //                                [--format=html,json,csv,binary] [--output=<report-base-path>] [--chunked[=<heap-mb>]]
+        //                                [--ir-cache[=<dir>]] [--deps=<jar>,...] [--library-store=<dir>]
+        //                                [--jdk-model=<model.jar>] [--parallel=<n>]
+        //                                [--reachable-from=main,handlers,public-api] [--tag-unreachable]
+        //                                [--call-paths[=<max-depth>]] [--baseline=<report.fdb>]
+        //        java -jar scanner.jar <current.fdb> --baseline=<report.fdb> [--format=...] [--output=...]
+        //            With a baseline, the added, removed and unchanged findings are reported as well and the exit
+        //            code is 1 when a flagged finding (forbidden algorithm or non-FIPS provider) was added
+        //        java -jar scanner.jar --watch [classes-path] [rules.yaml] [--profile=...] [--format=...] [--output=...]
+        //                                [--ir-cache[=<dir>]]
+        //        java -jar scanner.jar --batch=<manifest> [rules.yaml] [--parallel=<n>] [--memory-budget=<mb>]
+        //                                [--output=<report-dir>] [--format=...] [--profile=...] [--policy=...]...
+        //                                [--jdk-model=<model.jar>]
+        //        java -jar scanner.jar --build-jdk-model=<model.jar> [<extra.Class>...]
+        //        java -jar scanner.jar --daemon[=<socket>] [rules.yaml] [--profile=...] [--output=<report-dir>]
+        List<String> positional = new ArrayList<>();
+        AnalysisProfile profile = AnalysisProfile.SPARK;
+        boolean compareProfiles = false;
+        boolean fastPath = true;
+        boolean watch = false;
+        Path daemonSocket = null;
+        Map<String, Path> policyFiles = new LinkedHashMap<>();
+        List<String> reportPolicies = new ArrayList<>();
+        List<ReportFormat> formats = new ArrayList<>();
+        Path output = null;
+        Path batchManifest = null;
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int memoryBudgetMb = 0;
+        Integer chunkBudgetMb = null;
+        IrCache irCache = null;
+        List<Path> dependencies = new ArrayList<>();
+        Path libraryStore = DEFAULT_LIBRARY_STORE;
+        Path jdkModel = null;
+        Path buildJdkModel = null;
+        String reachableFrom = null;
+        boolean tagUnreachable = false;
+        int callPathDepth = 0;
+        Path baseline = null;
+        for (String arg : args) {
+            if (arg.startsWith("--policy=")) {
+                String[] policy = arg.substring("--policy=".length()).split("=", 2);
+                if (policy.length != 2) throw new IllegalArgumentException("Expected --policy=<name>=<rules.yaml>: " + arg);
+                policyFiles.put(policy[0], Path.of(policy[1]));
+            } else if (arg.startsWith("--report-policy=")) {
+                reportPolicies.add(arg.substring("--report-policy=".length()));
+            } else if (arg.startsWith("--profile=")) {
+                profile = AnalysisProfile.parse(arg.substring("--profile=".length()));
+            } else if (arg.equals("--compare-profiles")) {
+                compareProfiles = true;
+            } else if (arg.equals("--no-fast-path")) {
+                fastPath = false;
+            } else if (arg.startsWith("--format=")) {
+                for (String format : arg.substring("--format=".length()).split(",")) {
+                    formats.add(ReportFormat.parse(format));
+                }
+            } else if (arg.startsWith("--output=")) {
+                output = Path.of(arg.substring("--output=".length()));
+            } else if (arg.startsWith("--batch=")) {
+                batchManifest = Path.of(arg.substring("--batch=".length()));
+            } else if (arg.startsWith("--parallel=")) {
+                parallelism = Integer.parseInt(arg.substring("--parallel=".length()));
+            } else if (arg.startsWith("--memory-budget=")) {
+                memoryBudgetMb = Integer.parseInt(arg.substring("--memory-budget=".length()));
+            } else if (arg.equals("--chunked")) {
+                chunkBudgetMb = (int) (Runtime.getRuntime().maxMemory() * 3 / 4 / (1024 * 1024));
+            } else if (arg.startsWith("--chunked=")) {
+                chunkBudgetMb = Integer.parseInt(arg.substring("--chunked=".length()));
+            } else if (arg.equals("--ir-cache")) {
+                irCache = new IrCache(DEFAULT_IR_CACHE);
+            } else if (arg.startsWith("--ir-cache=")) {
+                irCache = new IrCache(Path.of(arg.substring("--ir-cache=".length())));
+            } else if (arg.startsWith("--deps=")) {
+                for (String jar : arg.substring("--deps=".length()).split(",")) {
+                    if (!jar.isBlank()) dependencies.add(Path.of(jar.strip()));
+                }
+            } else if (arg.startsWith("--library-store=")) {
+                libraryStore = Path.of(arg.substring("--library-store=".length()));
+            } else if (arg.startsWith("--jdk-model=")) {
+                jdkModel = Path.of(arg.substring("--jdk-model=".length()));
+            } else if (arg.startsWith("--build-jdk-model=")) {
+                buildJdkModel = Path.of(arg.substring("--build-jdk-model=".length()));
+            } else if (arg.startsWith("--reachable-from=")) {
+                reachableFrom = arg.substring("--reachable-from=".length());
+            } else if (arg.equals("--tag-unreachable")) {
+                tagUnreachable = true;
+            } else if (arg.equals("--call-paths")) {
+                callPathDepth = CallPathIndex.DEFAULT_MAX_DEPTH;
+            } else if (arg.startsWith("--call-paths=")) {
+                callPathDepth = Integer.parseInt(arg.substring("--call-paths=".length()));
+            } else if (arg.startsWith("--baseline=")) {
+                baseline = Path.of(arg.substring("--baseline=".length()));
+            } else if (arg.equals("--watch")) {
+                watch = true;
+            } else if (arg.equals("--daemon")) {
+                daemonSocket = ScanDaemon.DEFAULT_SOCKET;
+            } else if (arg.startsWith("--daemon=")) {
+                daemonSocket = Path.of(arg.substring("--daemon=".length()));
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (formats.isEmpty()) formats.add(ReportFormat.HTML);
+
+        if (buildJdkModel != null) {
+            System.out.println("✅ " + JdkModel.build(buildJdkModel, positional).describe() + ": " + buildJdkModel);
+            return;
+        }
+        if (jdkModel != null) {
+            String builtOn = JdkModel.manifest(jdkModel).getProperty("java.version");
+            if (Runtime.Version.parse(builtOn).feature() != Runtime.version().feature()) {
+                System.err.println("⚠️ JDK model " + jdkModel + " was built on Java " + builtOn + ", running on " + Runtime.version());
+            }
+        }
+
+        if (daemonSocket != null) {
+            Path daemonRules = Path.of(positional.isEmpty() ? DEFAULT_RULES : positional.get(0));
+            new ScanDaemon(daemonSocket, output != null ? output : Path.of("fips-daemon"), daemonRules, profile).serve();
+            return;
+        }
+
+        if (batchManifest != null) {
+            boolean multiPolicy = !policyFiles.isEmpty();
+            if (!multiPolicy) policyFiles.put("default", Path.of(positional.isEmpty() ? DEFAULT_RULES : positional.get(0)));
+            RuleLoader.PolicyRules policyRules = RuleLoader.loadPolicies(policyFiles);
+            new BatchScanner(policyRules, multiPolicy ? policyRules.policies() : null, reportPolicies, profile, fastPath,
+                    formats, output != null ? output : Path.of("fips-batch"), parallelism, memoryBudgetMb, jdkModel)
+                    .run(BatchScanner.readManifest(batchManifest));
+            return;
+        }
+        if (output == null) output = Path.of("fips-report");
+
+        if (baseline != null && !positional.isEmpty() && positional.get(0).endsWith(".fdb")) {
+            try (BinaryReportReader current = BinaryReportReader.open(Path.of(positional.get(0)))) {
+                PolicySet policies = current.policies().isEmpty() ? null : new PolicySet(current.policies());
+                exit(compareToBaseline(baseline, current.asList(), policies, formats, output));
+            }
+            return;
+        }
+
+        String targetPath = positional.size() > 0 ? positional.get(0) : DEFAULT_TARGET;
+        Path rulePath = Path.of(positional.size() > 1 ? positional.get(1) : DEFAULT_RULES);
+
+        boolean multiPolicy = !policyFiles.isEmpty();
+        if (!multiPolicy) policyFiles.put("default", rulePath);
+        if (watch) {
+            new ScanWatcher(Path.of(targetPath), policyFiles, multiPolicy, reportPolicies, profile, formats, output, irCache)
+                    .watch();
+            return;
+        }
+        RuleLoader.PolicyRules policyRules = RuleLoader.loadPolicies(policyFiles);
+        PolicySet policies = multiPolicy ? policyRules.policies() : null;
+        List<ScanFinding> libraryFindings = List.of();
+        if (!dependencies.isEmpty()) {
+            LibraryStore.Resolved libraries = new LibraryStore(libraryStore, jdkModel).resolve(dependencies, policyRules, profile);
+            System.out.println(libraries.describe());
+            libraryFindings = libraries.findings();
+            policyRules = policyRules.with(libraries.derivedRules());
+        }
+        ReachabilityFilter reachability = reachableFrom == null ? null : ReachabilityFilter.parse(reachableFrom, tagUnreachable);
+        ScanPipeline pipeline = new ScanPipeline(new SceneLoader(false, jdkModel), irCache, reachability,
+                callPathDepth);
+
+        if (compareProfiles) {
+            for (AnalysisProfile candidate : AnalysisProfile.values()) {
+                if (candidate == profile) continue;
+                System.out.println(pipeline.scanWithSoot(targetPath, policyRules, candidate, callGraph -> null,
+                        finding -> { }).describe());
+            }
+        }
+
+        FindingCollector collector = FindingCollector.forPolicies(policies, reportPolicies);
+        if (chunkBudgetMb != null) {
+            new ChunkedScanner(policyRules, profile, fastPath, chunkBudgetMb, jdkModel).scan(Path.of(targetPath), collector);
+        } else if (!compareProfiles && reachability == null && callPathDepth == 0 && ArchiveScanner.isArchive(Path.of(targetPath))) {
+            ArchiveScanner.Result result = new ArchiveScanner(policyRules, profile, fastPath, parallelism, jdkModel)
+                    .scan(Path.of(targetPath), collector);
+            System.out.println(result.describe());
+        } else {
+            ScanPipeline.Result result = pipeline.scan(targetPath, policyRules, profile, fastPath && !compareProfiles,
+                    collector);
+            if (result.fastPath() != null) System.out.println(result.fastPath().describe());
+            if (result.soot() != null) System.out.println(result.soot().describe());
+            if (result.soot() != null && result.soot().reachability() != null) {
+                System.out.println(result.soot().reachability().describe());
+            }
+            if (result.soot() != null && result.soot().callPaths() != null) {
+                System.out.println(result.soot().callPaths().stats().describe());
+            }
+        }
+        libraryFindings.forEach(collector);
+
+        List<ScanFinding> findings = collector.findings();
+        writeReports(findings, collector.summary(), policies, formats, output);
+        if (baseline != null) exit(compareToBaseline(baseline, findings, policies, formats, output));
+    }
+
+    private static void writeReports(List<ScanFinding> findings, FindingSummary summary, PolicySet policies,
+                                     List<ReportFormat> formats, Path output) {
+        for (ReportFormat format : formats) {
+            format.writer(policies).write(findings, summary, format.outputFor(output));
+        }
+    }
+
+    /**
+     * Reports the added, removed and unchanged findings next to {@code output}.
+     *
+     * @return the exit code for CI gates: 1 when a flagged finding was added
+     */
+    private static int compareToBaseline(Path baseline, List<ScanFinding> findings, PolicySet policies,
+                                         List<ReportFormat> formats, Path output) throws IOException {
+        try (BinaryReportReader previous = BinaryReportReader.open(baseline)) {
+            FindingDiff.Result diff = FindingDiff.diff(previous.asList(), findings);
+            System.out.println(diff.describe());
+            String name = output.getFileName().toString();
+            writeReports(diff.added(), diff.addedSummary(), policies, formats, output.resolveSibling(name + "-added"));
+            writeReports(diff.removed(), diff.removedSummary(), policies, formats, output.resolveSibling(name + "-removed"));
+            writeReports(diff.unchanged(), diff.unchangedSummary(), policies, formats,
+                    output.resolveSibling(name + "-unchanged"));
+            return diff.addedFlagged() > 0 ? 1 : 0;
+        }
+    }
+
+    private static void exit(int code) {
+        if (code != 0) System.exit(code);
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.SceneLoader;
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.report.FindingCollector;
+import org.cryptoseclab.fips.report.JsonReportWriter;
+import org.cryptoseclab.fips.report.ReportFormat;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived scanner listening on a Unix domain socket. The Soot Scene is kept warm between
+ * jobs (see {@link SceneLoader}), so JDK classes are resolved once per daemon rather than
+ * once per scan, and compiled rule sets are cached by file and modification time.
+ * <p>
+ * A job reads and writes files as the daemon's user, so only that user may connect: the
+ * socket is created {@code 0600} in a directory that must be {@code 0700} and owned by the
+ * user. Reports are written only inside the daemon's report directory; a job's
+ * {@code output} is resolved against it.
+ * <p>
+ * Protocol: one request per line, as a YAML/JSON flow mapping, answered by one JSON line.
+ * <pre>
+ * {target: /build/classes, rules: /etc/fips-rules.yaml, formats: [json, html], output: app/report}
+ * {target: ..., policies: {fips-140-3: a.yaml, internal: b.yaml}, reportPolicies: [internal], profile: cha}
+ * {command: ping} | {command: stats} | {command: shutdown}
+ * </pre>
+ * Jobs run one at a time because Soot keeps its state in a single global Scene.
+ */
+public class ScanDaemon {
+
+    public static final Path DEFAULT_SOCKET = Path.of(System.getProperty("user.home"), ".fips-cache", "daemon", "scan.sock");
+    private static final int RULE_CACHE_SIZE = 16;
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIR = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private final Path socketPath;
+    private final Path reportDir;
+    private final Path defaultRules;
+    private final AnalysisProfile defaultProfile;
+    private final ScanPipeline pipeline = new ScanPipeline(new SceneLoader(true));
+    private final Map<String, RuleLoader.PolicyRules> ruleCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RuleLoader.PolicyRules> eldest) {
+            return size() > RULE_CACHE_SIZE;
+        }
+    };
+    private final Object scanLock = new Object();
+    /** Numbers scan requests, for their log lines and default report names. */
+    private final AtomicInteger requestCounter = new AtomicInteger();
+    private volatile ServerSocketChannel server;
+    /** Set by a shutdown request; the server closes once its reply is written. */
+    private volatile boolean shuttingDown;
+    /** Completed jobs, guarded by {@code scanLock} with {@code totalJobMillis}. */
+    private int jobs;
+    private long totalJobMillis;
+
+    /**
+     * @param socketPath the socket to listen on; its directory is created owner-only if missing
+     * @param reportDir  the only directory jobs may write reports to
+     */
+    public ScanDaemon(Path socketPath, Path reportDir, Path defaultRules, AnalysisProfile defaultProfile) {
+        this.socketPath = socketPath.toAbsolutePath();
+        this.reportDir = reportDir.toAbsolutePath().normalize();
+        this.defaultRules = defaultRules;
+        this.defaultProfile = defaultProfile;
+    }
+
+    public void serve() throws IOException {
+        ownerOnlyDirectory(socketPath.getParent());
+        Files.createDirectories(reportDir);
+        // Left behind by a daemon that did not shut down cleanly; binding fails while it exists
+        Files.deleteIfExists(socketPath);
+        ExecutorService connections = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "scan-daemon-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (ServerSocketChannel socket = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            socket.bind(UnixDomainSocketAddress.of(socketPath), 50);
+            Files.setPosixFilePermissions(socketPath, OWNER_ONLY_FILE);
+            server = socket;
+            System.out.println("🔌 Scan daemon listening on " + socketPath + " | reports in " + reportDir);
+            while (socket.isOpen()) {
+                SocketChannel client;
+                try {
+                    client = socket.accept();
+                } catch (IOException e) {
+                    if (!socket.isOpen()) break;
+                    throw e;
+                }
+                connections.submit(() -> handle(client));
+            }
+        } finally {
+            connections.shutdownNow();
+            Files.deleteIfExists(socketPath);
+        }
+    }
+
+    /**
+     * Creates {@code dir} accessible only to the current user, or checks that an existing one
+     * is, so no other user can reach the socket or swap it for their own.
+     */
+    static void ownerOnlyDirectory(Path dir) throws IOException {
+        String user = System.getProperty("user.name");
+        try {
+            if (Files.notExists(dir, LinkOption.NOFOLLOW_LINKS)) {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIR));
+            }
+            PosixFileAttributes attributes = Files.readAttributes(dir, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (!attributes.isDirectory() || !attributes.owner().getName().equals(user)
+                    || !attributes.permissions().equals(OWNER_ONLY_DIR)) {
+                throw new IOException("Daemon socket directory must be a directory owned by " + user
+                        + " with mode 0700: " + dir);
+            }
+        } catch (UnsupportedOperationException e) {
+            throw new IOException("Daemon socket directory needs POSIX permissions to keep other users out: " + dir, e);
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try (client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(Channels.newOutputStream(client), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                out.println(respond(line));
+                if (shuttingDown) {
+                    // Closing before the reply is out lets serve() interrupt this thread, which closes the channel unsent
+                    server.close();
+                    break;
+                }
+                if (!server.isOpen()) break;
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Daemon connection failed: " + e.getMessage());
+        }
+    }
+
+    private String respond(String line) {
+        Map<String, Object> request;
+        try {
+            Object parsed = new Yaml(new SafeConstructor(new LoaderOptions())).load(line);
+            if (!(parsed instanceof Map<?, ?>)) return error("request must be a mapping");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = (Map<String, Object>) parsed;
+            request = map;
+        } catch (RuntimeException e) {
+            return error("malformed request: " + e.getMessage());
+        }
+
+        String command = String.valueOf(request.getOrDefault("command", "scan"));
+        try {
+            return switch (command) {
+                case "ping" -> "{\"status\": \"ok\"}";
+                case "stats" -> stats();
+                case "shutdown" -> {
+                    shuttingDown = true;
+                    yield "{\"status\": \"ok\", \"shutdown\": true}";
+                }
+                case "scan" -> scan(request);
+                default -> error("unknown command " + command);
+            };
+        } catch (Exception e) {
+            return error(e.getMessage());
+        }
+    }
+
+    private String scan(Map<String, Object> request) throws IOException {
+        Object target = request.get("target");
+        if (target == null) return error("missing target");
+        String targetPath = target.toString();
+        if (!Files.exists(Path.of(targetPath))) return error("target does not exist: " + targetPath);
+
+        int job = requestCounter.incrementAndGet();
+        AnalysisProfile profile = request.containsKey("profile")
+                ? AnalysisProfile.parse(request.get("profile").toString()) : defaultProfile;
+        boolean fastPath = !Boolean.FALSE.equals(request.get("fastPath"));
+        List<ReportFormat> formats = new ArrayList<>();
+        for (Object format : listOf(request.getOrDefault("formats", List.of("json")))) {
+            formats.add(ReportFormat.parse(format.toString()));
+        }
+        Path output = reportDir.resolve(String.valueOf(request.getOrDefault("output", "fips-report-" + job))).normalize();
+        if (!output.startsWith(reportDir) || output.equals(reportDir)) {
+            return error("output must be inside the report directory " + reportDir);
+        }
+
+        Map<String, Path> policyFiles = new LinkedHashMap<>();
+        if (request.get("policies") instanceof Map<?, ?> policies) {
+            policies.forEach((name, path) -> policyFiles.put(name.toString(), Path.of(path.toString())));
+        }
+        boolean multiPolicy = !policyFiles.isEmpty();
+        if (!multiPolicy) policyFiles.put("default", Path.of(String.valueOf(request.getOrDefault("rules", defaultRules))));
+
+        synchronized (scanLock) {
+            long start = System.nanoTime();
+            boolean[] cachedRules = new boolean[1];
+            RuleLoader.PolicyRules rules = rulesFor(policyFiles, cachedRules);
+            long rulesDone = System.nanoTime();
+
+            PolicySet policies = multiPolicy ? rules.policies() : null;
+            List<String> reportPolicies = new ArrayList<>();
+            for (Object name : listOf(request.getOrDefault("reportPolicies", List.of()))) reportPolicies.add(name.toString());
+            ScanPipeline.Result result = pipeline.scan(targetPath, rules, profile, fastPath,
+                    FindingCollector.forPolicies(policies, reportPolicies));
+            long scanDone = System.nanoTime();
+
+            List<ScanFinding> findings = result.findings();
+            Files.createDirectories(output.getParent());
+            StringJoiner reports = new StringJoiner(", ", "[", "]");
+            for (ReportFormat format : formats) {
+                Path reportPath = format.outputFor(output);
+                format.writer(policies).write(findings, result.summary(), reportPath);
+                reports.add(JsonReportWriter.quote(reportPath.toString()));
+            }
+            long done = System.nanoTime();
+            jobs++;
+            totalJobMillis += (done - start) / 1_000_000;
+
+            ScanPipeline.SootStage soot = result.soot();
+            String latency = String.format("{\"rules\": %d, \"fastPath\": %d, \"sceneLoad\": %d, \"callGraph\": %d, "
+                            + "\"analysis\": %d, \"scan\": %d, \"reports\": %d, \"total\": %d}",
+                    (rulesDone - start) / 1_000_000,
+                    result.fastPath() == null ? 0 : result.fastPath().millis(),
+                    soot == null ? 0 : soot.loadMillis(),
+                    soot == null ? 0 : soot.callGraph().bodyMillis() + soot.callGraph().callGraphMillis(),
+                    soot == null ? 0 : soot.analysisMillis(),
+                    (scanDone - rulesDone) / 1_000_000,
+                    (done - scanDone) / 1_000_000,
+                    (done - start) / 1_000_000);
+            System.out.printf("⏱️ job %d %s: %d findings | warm scene %s | rules %s | latency %s%n", job, targetPath,
+                    findings.size(), soot != null && soot.warm(), cachedRules[0] ? "cached" : "compiled", latency);
+            return String.format("{\"status\": \"ok\", \"job\": %d, \"findings\": %d, \"warmScene\": %s, "
+                            + "\"rulesCached\": %s, \"reports\": %s, \"latencyMillis\": %s}",
+                    job, findings.size(), soot != null && soot.warm(), cachedRules[0], reports, latency);
+        }
+    }
+
+    private RuleLoader.PolicyRules rulesFor(Map<String, Path> policyFiles, boolean[] cached) throws IOException {
+        StringBuilder key = new StringBuilder();
+        for (Map.Entry<String, Path> policy : policyFiles.entrySet()) {
+            Path path = policy.getValue().toAbsolutePath();
+            key.append(policy.getKey()).append('=').append(path).append('@')
+                    .append(Files.getLastModifiedTime(path).toMillis()).append(';');
+        }
+        RuleLoader.PolicyRules rules = ruleCache.get(key.toString());
+        cached[0] = rules != null;
+        if (rules == null) {
+            rules = RuleLoader.loadPolicies(policyFiles);
+            ruleCache.put(key.toString(), rules);
+        }
+        return rules;
+    }
+
+    private String stats() {
+        synchronized (scanLock) {
+            Runtime runtime = Runtime.getRuntime();
+            return String.format("{\"status\": \"ok\", \"jobs\": %d, \"averageJobMillis\": %d, \"cachedRuleSets\": %d, "
+                            + "\"heapUsedMb\": %d}",
+                    jobs, jobs == 0 ? 0 : totalJobMillis / jobs, ruleCache.size(),
+                    (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        }
+    }
+
+    private static List<?> listOf(Object value) {
+        return value instanceof List<?> list ? list : List.of(value);
+    }
+
+    private static String error(String message) {
+        return "{\"status\": \"error\", \"message\": " + JsonReportWriter.quote(message) + "}";
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.BodyManager;
+import org.cryptoseclab.fips.analysis.BytecodeFastPathAnalyzer;
+import org.cryptoseclab.fips.analysis.CallGraphResolver;
+import org.cryptoseclab.fips.analysis.CallGraphStats;
+import org.cryptoseclab.fips.analysis.CallPathIndex;
+import org.cryptoseclab.fips.analysis.FindingSink;
+import org.cryptoseclab.fips.analysis.IrCache;
+import org.cryptoseclab.fips.analysis.LibrarySummary;
+import org.cryptoseclab.fips.analysis.ReachabilityFilter;
+import org.cryptoseclab.fips.analysis.RuleBasedAnalyzer;
+import org.cryptoseclab.fips.analysis.SceneLoader;
+import org.cryptoseclab.fips.model.FindingStore;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.report.FindingCollector;
+import org.cryptoseclab.fips.report.FindingSummary;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import soot.EntryPoints;
+import soot.Scene;
+import soot.SootMethod;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.options.Options;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * One scan of a target: the bytecode fast path first (for class directories), then Soot for
+ * whatever the fast path deferred. Shared by the command line and {@link ScanDaemon}; the
+ * {@link SceneLoader} decides whether the Soot Scene is rebuilt or kept warm between scans.
+ */
+public class ScanPipeline {
+
+    /**
+     * @param store    the findings the {@link FindingCollector} kept
+     * @param summary  aggregated by the collector as the findings were emitted
+     * @param fastPath {@code null} when the fast path did not run; its findings are in the store
+     * @param soot     {@code null} when the fast path resolved every call site
+     */
+    public record Result(FindingStore store, FindingSummary summary, BytecodeFastPathAnalyzer.Result fastPath,
+                         SootStage soot) {
+
+        /**
+         * A read-only list of views over the {@link #store()}.
+         */
+        public List<ScanFinding> findings() {
+            return store.asList();
+        }
+    }
+
+    /**
+     * @param findings   findings of the Soot analysis
+     * @param resolved   those of them with a resolved algorithm
+     * @param waitMillis time spent waiting for another scan on this pipeline to finish
+     * @param irCache      {@code null} when no {@link IrCache} was used
+     * @param reachability {@code null} when no {@link ReachabilityFilter} was set
+     * @param callPaths    {@code null} unless call paths were asked for
+     */
+    public record SootStage(int findings, int resolved, CallGraphStats callGraph, long waitMillis, long loadMillis,
+                            long analysisMillis, BodyManager.Stats bodies, IrCache.Stats irCache, boolean warm,
+                            ReachabilityFilter.Stats reachability, CallPathIndex callPaths) {
+
+        public String describe() {
+            return callGraph.describe(findings, resolved)
+                    + String.format(" | bodies released %d", bodies.released())
+                    + (irCache == null ? "" : " | " + irCache.describe());
+        }
+    }
+
+    /**
+     * A dependency jar analyzed for the {@link LibraryStore}.
+     */
+    public record LibraryScan(List<ScanFinding> findings, SootStage soot, Set<LibrarySummary> summaries) {
+    }
+
+    private final SceneLoader sceneLoader;
+    private final IrCache irCache;
+    private final ReachabilityFilter reachability;
+    private final int callPathDepth;
+    private final Object sootLock = new Object();
+
+    public ScanPipeline(SceneLoader sceneLoader) {
+        this(sceneLoader, null);
+    }
+
+    /**
+     * @param irCache Jimple bodies kept across runs for repeat scans; may be {@code null}
+     */
+    public ScanPipeline(SceneLoader sceneLoader, IrCache irCache) {
+        this(sceneLoader, irCache, null, 0);
+    }
+
+    /**
+     * @param reachability  analyze only code reachable from its entry points; may be {@code null}.
+     *                      The fast path has no call graph, so Soot analyzes everything when set.
+     * @param callPathDepth attach to each finding a shortest call path of at most this many calls
+     *                      from an entry point (see {@link CallPathIndex}); 0 for none. Paths need
+     *                      the call graph, so Soot runs even when the fast path resolves every site.
+     */
+    public ScanPipeline(SceneLoader sceneLoader, IrCache irCache, ReachabilityFilter reachability, int callPathDepth) {
+        this.sceneLoader = sceneLoader;
+        this.irCache = irCache;
+        this.reachability = reachability;
+        this.callPathDepth = callPathDepth;
+    }
+
+    public Result scan(String targetPath, RuleLoader.PolicyRules rules, AnalysisProfile profile, boolean fastPath) {
+        return scan(targetPath, rules, profile, fastPath, new FindingCollector());
+    }
+
+    public Result scan(String targetPath, RuleLoader.PolicyRules rules, AnalysisProfile profile, boolean fastPath,
+                       FindingCollector collector) {
+        return scan(Path.of(targetPath), () -> targetPath, rules, profile, fastPath, collector);
+    }
+
+    public Result scan(Path classes, Supplier<String> sootTarget, RuleLoader.PolicyRules rules,
+                       AnalysisProfile profile, boolean fastPath) {
+        return scan(classes, sootTarget, rules, profile, fastPath, new FindingCollector());
+    }
+
+    /**
+     * @param classes    directory the fast path reads class files from; may be inside a zip file system
+     * @param sootTarget the same classes as a directory or jar on disk, asked for only if Soot has to run
+     * @param collector  receives each finding as it is emitted, fast path first
+     */
+    public Result scan(Path classes, Supplier<String> sootTarget, RuleLoader.PolicyRules rules,
+                       AnalysisProfile profile, boolean fastPath, FindingCollector collector) {
+        BytecodeFastPathAnalyzer.Result fast = null;
+        if (fastPath && reachability == null && Files.isDirectory(classes)) {
+            fast = new BytecodeFastPathAnalyzer(rules.evaluator()).analyze(rules.matcher(), classes);
+        }
+
+        SootStage soot = null;
+        if (fast == null || !fast.deferredMethods().isEmpty() || callPathDepth > 0) {
+            Set<String> deferred = fast == null ? null : fast.deferredMethods();
+            // Call paths come from Soot's call graph, so the fast path's findings are emitted by the Soot stage
+            soot = scanWithSoot(sootTarget.get(), rules, profile, callGraph -> deferred,
+                    new RuleBasedAnalyzer(rules.evaluator()), fast == null ? List.of() : fast.findings(), collector::accept);
+        } else {
+            fast.findings().forEach(collector);
+        }
+        return new Result(collector.store(), collector.summary(), fast == null ? null : fast.withoutFindings(), soot);
+    }
+
+    /**
+     * @param methodSelector picks the bytecode signatures to analyze ({@code null} for all)
+     *                       once the target is loaded and its call graph built
+     * @param sink           receives each finding as it is emitted
+     */
+    public SootStage scanWithSoot(String targetPath, RuleLoader.PolicyRules rules, AnalysisProfile profile,
+                                  Function<CallGraph, Set<String>> methodSelector, FindingSink sink) {
+        return scanWithSoot(targetPath, rules, profile, methodSelector, new RuleBasedAnalyzer(rules.evaluator()),
+                List.of(), sink);
+    }
+
+    /**
+     * Analyzes every class of a library and exports its {@link LibrarySummary}s. A library has
+     * no main method, so every method is a call-graph entry point.
+     */
+    public LibraryScan scanLibrary(String jarPath, RuleLoader.PolicyRules rules, AnalysisProfile profile) {
+        RuleBasedAnalyzer analyzer = new RuleBasedAnalyzer(rules.evaluator());
+        analyzer.exportSummaries(rules.rules());
+        FindingStore findings = new FindingStore();
+        SootStage soot = scanWithSoot(jarPath, rules, profile, callGraph -> null, analyzer, List.of(), findings::add);
+        return new LibraryScan(findings.asList(), soot, analyzer.summaries());
+    }
+
+    /**
+     * @param fastFindings emitted before the analysis, with their call paths once the call graph is built
+     */
+    private SootStage scanWithSoot(String targetPath, RuleLoader.PolicyRules rules, AnalysisProfile profile,
+                                   Function<CallGraph, Set<String>> methodSelector, RuleBasedAnalyzer analyzer,
+                                   List<ScanFinding> fastFindings, FindingSink sink) {
+        long waitStart = System.nanoTime();
+        synchronized (sootLock) {
+            long start = System.nanoTime();
+            List<String> processDirs = Collections.singletonList(targetPath);
+            boolean warm = sceneLoader.load(processDirs, profile);
+            Options.v().setPhaseOption("cg", "all-reachable:" + analyzer.exportsSummaries());
+            List<SootMethod> entryPoints = null;
+            if (reachability != null && !analyzer.exportsSummaries()) {
+                entryPoints = reachability.entryPointsOf(Scene.v().getApplicationClasses());
+                List<SootMethod> roots = new ArrayList<>(entryPoints);
+                roots.addAll(EntryPoints.v().implicit());
+                Scene.v().setEntryPoints(roots);
+                analyzer.filterReachable(reachability, entryPoints);
+            }
+            IrCache.Scan irScan = irCache == null ? null : irCache.begin(processDirs);
+            long loaded = System.nanoTime();
+            CallGraphStats stats = CallGraphResolver.build(profile, irScan);
+
+            long analysisStart = System.nanoTime();
+            CallPathIndex callPaths = null;
+            if (callPathDepth > 0 && !analyzer.exportsSummaries()) {
+                if (entryPoints == null) {
+                    entryPoints = new ArrayList<>();
+                    for (SootMethod method : Scene.v().getEntryPoints()) {
+                        if (method.getDeclaringClass().isApplicationClass()) entryPoints.add(method);
+                    }
+                }
+                callPaths = CallPathIndex.build(Scene.v().getCallGraph(), entryPoints, callPathDepth);
+            }
+            Set<String> onlyMethods = methodSelector.apply(Scene.v().getCallGraph());
+            if (onlyMethods != null) analyzer.restrictTo(onlyMethods);
+            CallPathIndex paths = callPaths;
+            FindingSink emit = paths == null ? sink : finding -> sink.accept(paths.attach(finding));
+            fastFindings.forEach(emit::accept);
+            int[] counts = new int[2];
+            analyzer.analyze(rules.matcher(), Scene.v().getCallGraph(), finding -> {
+                counts[0]++;
+                if (CallGraphStats.isResolved(finding)) counts[1]++;
+                emit.accept(finding);
+            });
+            long done = System.nanoTime();
+
+            return new SootStage(counts[0], counts[1], stats, (start - waitStart) / 1_000_000, (loaded - start) / 1_000_000,
+                    (done - analysisStart) / 1_000_000, analyzer.bodyStats(), irScan == null ? null : irScan.stats(), warm,
+                    analyzer.reachabilityStats(), callPaths);
+        }
+    }
+}
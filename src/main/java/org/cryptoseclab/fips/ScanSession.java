@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.JdkModel;
+import org.cryptoseclab.fips.analysis.SceneLoader;
+import org.cryptoseclab.fips.analysis.SootContext;
+import org.cryptoseclab.fips.report.FindingCollector;
+import org.cryptoseclab.fips.rule.RuleLoader;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A scan with its own Soot state ({@link SootContext}), rules, profile and results, so
+ * sessions on different threads can scan concurrently in one process. Compiled rules are
+ * immutable apart from thread-safe caches and may be shared between sessions. A session
+ * can scan several targets in turn; with {@code keepWarm} its Scene stays loaded between
+ * them. Closing the session releases its Scene.
+ */
+public class ScanSession implements AutoCloseable {
+
+    private final SootContext context = new SootContext();
+    private final RuleLoader.PolicyRules rules;
+    private final AnalysisProfile profile;
+    private final ScanPipeline pipeline;
+    private final List<ScanPipeline.Result> results = Collections.synchronizedList(new ArrayList<>());
+
+    public ScanSession(RuleLoader.PolicyRules rules, AnalysisProfile profile, boolean keepWarm) {
+        this(rules, profile, keepWarm, null);
+    }
+
+    /**
+     * @param jdkModel a {@link JdkModel} to load instead of the running JDK; may be {@code null}
+     */
+    public ScanSession(RuleLoader.PolicyRules rules, AnalysisProfile profile, boolean keepWarm, Path jdkModel) {
+        this.rules = rules;
+        this.profile = profile;
+        this.pipeline = new ScanPipeline(new SceneLoader(keepWarm, jdkModel));
+    }
+
+    public ScanPipeline.Result scan(String targetPath, boolean fastPath) {
+        return scan(targetPath, fastPath, new FindingCollector());
+    }
+
+    /**
+     * @param collector receives each finding as the scan emits it
+     */
+    public ScanPipeline.Result scan(String targetPath, boolean fastPath, FindingCollector collector) {
+        ScanPipeline.Result result = context.call(() -> pipeline.scan(targetPath, rules, profile, fastPath, collector));
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * @see ScanPipeline#scan(Path, Supplier, RuleLoader.PolicyRules, AnalysisProfile, boolean)
+     */
+    public ScanPipeline.Result scan(Path classes, Supplier<String> sootTarget, boolean fastPath) {
+        return scan(classes, sootTarget, fastPath, new FindingCollector());
+    }
+
+    /**
+     * @param collector receives each finding as the scan emits it
+     */
+    public ScanPipeline.Result scan(Path classes, Supplier<String> sootTarget, boolean fastPath,
+                                    FindingCollector collector) {
+        ScanPipeline.Result result = context.call(() -> pipeline.scan(classes, sootTarget, rules, profile, fastPath,
+                collector));
+        results.add(result);
+        return result;
+    }
+
+    public ScanPipeline.LibraryScan scanLibrary(String jarPath) {
+        return context.call(() -> pipeline.scanLibrary(jarPath, rules, profile));
+    }
+
+    public RuleLoader.PolicyRules rules() {
+        return rules;
+    }
+
+    public List<ScanPipeline.Result> results() {
+        return List.copyOf(results);
+    }
+
+    @Override
+    public void close() {
+        context.release();
+    }
+}
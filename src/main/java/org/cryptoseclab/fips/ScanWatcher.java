@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.ClassDependencies;
+import org.cryptoseclab.fips.analysis.IrCache;
+import org.cryptoseclab.fips.analysis.SceneLoader;
+import org.cryptoseclab.fips.model.FindingStore;
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.report.FindingCollector;
+import org.cryptoseclab.fips.report.ReportFormat;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches a classes directory and the rules files, re-analyzing after every build. A burst of
+ * file events is collected until the tree has been quiet for {@link #DEBOUNCE_MILLIS}. The
+ * target is reloaded into a warm Scene (see {@link SceneLoader}) and the call graph rebuilt,
+ * but only the changed classes and the classes whose traced values depend on them (see
+ * {@link ClassDependencies}) are analyzed again; findings of all other classes are kept.
+ * A change to a rules file recompiles the rules and re-analyzes everything.
+ */
+public class ScanWatcher {
+
+    private static final long DEBOUNCE_MILLIS = 300;
+
+    private final Path target;
+    private final Map<String, Path> policyFiles;
+    private final boolean multiPolicy;
+    private final List<String> reportPolicies;
+    private final AnalysisProfile profile;
+    private final List<ReportFormat> formats;
+    private final Path output;
+
+    private final ScanPipeline pipeline;
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+    /** The current findings, by class name; each class in emission order. */
+    private FindingStore current = new FindingStore();
+    private RuleLoader.PolicyRules rules;
+    private ClassDependencies dependencies = ClassDependencies.empty();
+
+    /**
+     * @param multiPolicy whether {@code policyFiles} came from {@code --policy} (reports then
+     *                    show policy columns)
+     * @param irCache     lets rebuilds skip body construction for unchanged classes; may be {@code null}
+     */
+    public ScanWatcher(Path target, Map<String, Path> policyFiles, boolean multiPolicy, List<String> reportPolicies,
+                       AnalysisProfile profile, List<ReportFormat> formats, Path output, IrCache irCache) {
+        this.target = target.toAbsolutePath().normalize();
+        this.policyFiles = policyFiles;
+        this.multiPolicy = multiPolicy;
+        this.reportPolicies = reportPolicies;
+        this.profile = profile;
+        this.formats = formats;
+        this.output = output;
+        this.pipeline = new ScanPipeline(new SceneLoader(true), irCache);
+    }
+
+    public void watch() throws IOException, InterruptedException {
+        if (!Files.isDirectory(target)) throw new IllegalArgumentException("Watch mode needs a classes directory: " + target);
+        rules = RuleLoader.loadPolicies(policyFiles);
+        rescan(null);
+
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            registerTree(watcher, target);
+            for (Path rulesFile : policyFiles.values()) {
+                register(watcher, rulesFile.toAbsolutePath().normalize().getParent());
+            }
+            System.out.println("👀 Watching " + target + " (Ctrl+C to stop)");
+
+            while (true) {
+                WatchKey key = watcher.take();
+                Set<Path> changed = new HashSet<>();
+                boolean overflow = false;
+                do {
+                    overflow |= collect(watcher, key, changed);
+                } while ((key = watcher.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null);
+
+                onChange(changed, overflow);
+            }
+        }
+    }
+
+    private void onChange(Set<Path> changed, boolean overflow) {
+        boolean rulesChanged = false;
+        for (Path rulesFile : policyFiles.values()) {
+            rulesChanged |= changed.contains(rulesFile.toAbsolutePath().normalize());
+        }
+        if (rulesChanged) {
+            try {
+                rules = RuleLoader.loadPolicies(policyFiles);
+                System.out.println("🔄 Rules reloaded");
+            } catch (Exception e) {
+                System.err.println("❌ Keeping previous rules, reload failed: " + e.getMessage());
+                rulesChanged = false;
+            }
+        }
+
+        Set<String> changedClasses = new HashSet<>();
+        for (Path path : changed) {
+            String name = path.getFileName().toString();
+            if (path.startsWith(target) && name.endsWith(".class")) changedClasses.add(className(path));
+        }
+        if (rulesChanged || overflow) {
+            rescan(null);
+        } else if (!changedClasses.isEmpty()) {
+            rescan(changedClasses);
+        }
+    }
+
+    /**
+     * @param changedClasses classes whose files changed, or {@code null} to analyze everything
+     */
+    private void rescan(Set<String> changedClasses) {
+        long start = System.nanoTime();
+        Set<String> affected = new HashSet<>();
+        FindingStore fresh = new FindingStore();
+        ScanPipeline.SootStage soot;
+        try {
+            soot = pipeline.scanWithSoot(target.toString(), rules, profile, callGraph -> {
+                ClassDependencies previous = dependencies;
+                dependencies = ClassDependencies.build(Scene.v().getApplicationClasses(), callGraph);
+                if (changedClasses == null) return null;
+
+                // Edges of the old build matter too: a removed call still changes the callee's findings
+                affected.addAll(previous.affectedBy(changedClasses));
+                affected.addAll(dependencies.affectedBy(changedClasses));
+                Set<String> methods = new HashSet<>();
+                for (String name : affected) {
+                    SootClass cls = Scene.v().getSootClassUnsafe(name, false);
+                    if (cls == null || !cls.isApplicationClass()) continue;
+                    for (SootMethod method : cls.getMethods()) methods.add(method.getBytecodeSignature());
+                }
+                return methods;
+            }, fresh::add);
+        } catch (RuntimeException e) {
+            // Typically a half-written class file; the next build event triggers another attempt
+            System.err.println("❌ Analysis failed, waiting for the next change: " + e.getMessage());
+            return;
+        }
+
+        current = replace(changedClasses == null ? new FindingStore() : current, affected, fresh);
+        int findings = writeReports();
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (changedClasses == null) {
+            System.out.printf("🔁 Full scan: %d findings | load %d ms | call graph %d ms | analysis %d ms | total %d ms%n",
+                    findings, soot.loadMillis(), soot.callGraph().bodyMillis() + soot.callGraph().callGraphMillis(),
+                    soot.analysisMillis(), millis);
+        } else {
+            System.out.printf("🔁 %d changed, %d re-analyzed: %d findings | load %d ms | call graph %d ms | analysis %d ms"
+                            + " | total %d ms%n", changedClasses.size(), affected.size(), findings, soot.loadMillis(),
+                    soot.callGraph().bodyMillis() + soot.callGraph().callGraphMillis(), soot.analysisMillis(), millis);
+        }
+        if (soot.irCache() != null) System.out.println("🗄️ " + soot.irCache().describe());
+    }
+
+    /**
+     * The findings of the classes not {@code affected}, then the {@code fresh} ones, by class name.
+     */
+    public static FindingStore replace(FindingStore current, Set<String> affected, FindingStore fresh) {
+        Map<String, BitSet> currentRows = current.groupBy(FindingStore.Column.CLASS);
+        Map<String, BitSet> freshRows = fresh.groupBy(FindingStore.Column.CLASS);
+        Set<String> classes = new TreeSet<>(freshRows.keySet());
+        for (String name : currentRows.keySet()) {
+            if (!affected.contains(name)) classes.add(name);
+        }
+        FindingStore next = new FindingStore(current.size() + fresh.size());
+        for (String name : classes) {
+            BitSet rows = affected.contains(name) ? null : currentRows.get(name);
+            if (rows != null) rows.stream().forEach(row -> next.add(current.get(row)));
+            rows = freshRows.get(name);
+            if (rows != null) rows.stream().forEach(row -> next.add(fresh.get(row)));
+        }
+        return next;
+    }
+
+    /**
+     * Writes the reports of the current findings, summarized as they are selected.
+     *
+     * @return the number of findings
+     */
+    private int writeReports() {
+        PolicySet policies = multiPolicy ? rules.policies() : null;
+        FindingCollector collector = FindingCollector.forPolicies(policies, reportPolicies);
+        current.asList().forEach(collector);
+        for (ReportFormat format : formats) {
+            format.writer(policies).write(collector.findings(), collector.summary(), format.outputFor(output));
+        }
+        return current.size();
+    }
+
+    /**
+     * @return whether events were lost and the change set is incomplete
+     */
+    private boolean collect(WatchService watcher, WatchKey key, Set<Path> changed) {
+        Path dir = watchedDirs.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null) {
+                overflow = true;
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            changed.add(path);
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                // A new package: watch it, and take the classes already written into it
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.forEach(changed::add);
+                    registerTree(watcher, path);
+                } catch (IOException e) {
+                    overflow = true;
+                }
+            }
+        }
+        if (!key.reset()) watchedDirs.remove(key);
+        return overflow;
+    }
+
+    private void registerTree(WatchService watcher, Path root) throws IOException {
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (Path dir : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                register(watcher, dir);
+            }
+        }
+    }
+
+    private void register(WatchService watcher, Path dir) throws IOException {
+        WatchKey key = dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirs.put(key, dir);
+    }
+
+    private String className(Path classFile) {
+        String relative = target.relativize(classFile).toString();
+        return relative.substring(0, relative.length() - ".class".length()).replace(classFile.getFileSystem().getSeparator(), ".");
+    }
+}
@@ -90,7 +90,8 @@ public class SootCryptoScanner
             }
         }));
 
-        PackManager.v().runPacks();
+        // The check is intraprocedural: only jb and jtp are needed, no call graph
+        PackManager.v().runBodyPacks();
     }
 
     // Custom class for backward constant resolution
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.Body;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.SootMethodRef;
+import soot.Unit;
+import soot.jimple.AssignStmt;
+import soot.jimple.InvokeExpr;
+import soot.jimple.Stmt;
+import soot.jimple.toolkits.callgraph.CallGraph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single traversal over all application bodies. Each body is retrieved once, every invoke
+ * or assign statement is dispatched to the registered {@link StatementCheck}s, and the body
+ * is then released through the {@link BodyManager}.
+ * Which checks care about an invoke target is decided once per distinct target and kept in
+ * a shared dispatch index, so adding checks does not add traversals.
+ */
+public class AnalysisBus {
+
+    private static final StatementCheck[] NO_CHECKS = new StatementCheck[0];
+
+    private final List<StatementCheck> checks = new ArrayList<>();
+    private final Map<SootMethodRef, StatementCheck[]> dispatchIndex = new HashMap<>();
+    private StatementCheck[] assignChecks = NO_CHECKS;
+    private Set<String> onlyMethods;
+    private ReachabilityFilter reachability;
+    private Collection<SootMethod> entryPoints;
+    private ReachabilityFilter.Stats reachabilityStats;
+    private int sites;
+
+    public AnalysisBus register(StatementCheck check) {
+        checks.add(check);
+        return this;
+    }
+
+    /**
+     * Limits the traversal to the given methods (by bytecode signature).
+     */
+    public void restrictTo(Set<String> bytecodeSignatures) {
+        this.onlyMethods = bytecodeSignatures;
+    }
+
+    /**
+     * Skips, or tags the findings of, methods not reachable from {@code entryPoints}.
+     */
+    public void filterReachable(ReachabilityFilter filter, Collection<SootMethod> entryPoints) {
+        this.reachability = filter;
+        this.entryPoints = entryPoints;
+    }
+
+    /**
+     * Reachability of the last {@link #run}; {@code null} without a {@link ReachabilityFilter}.
+     */
+    public ReachabilityFilter.Stats reachabilityStats() {
+        return reachabilityStats;
+    }
+
+    public AnalysisContext run(CallGraph callGraph, FindingSink sink) {
+        BodyManager bodies = new BodyManager();
+        AnalysisContext context = new AnalysisContext(callGraph,
+                FieldWriteIndex.build(Scene.v().getApplicationClasses()), bodies);
+        assignChecks = checks.stream().filter(StatementCheck::wantsAssignments).toArray(StatementCheck[]::new);
+        dispatchIndex.clear();
+
+        List<SootMethod> concrete = new ArrayList<>();
+        for (SootClass cls : Scene.v().getApplicationClasses()) {
+            for (SootMethod method : cls.getMethods()) {
+                if (method.isConcrete()) concrete.add(method);
+            }
+        }
+        long reachStart = System.nanoTime();
+        BitSet reachable = reachability == null ? null : ReachabilityFilter.reachable(callGraph, entryPoints, concrete);
+        long reachMillis = (System.nanoTime() - reachStart) / 1_000_000;
+
+        List<SootMethod> toVisit = new ArrayList<>();
+        BitSet unreachable = new BitSet();
+        int skippedSites = 0;
+        for (int id = 0; id < concrete.size(); id++) {
+            SootMethod method = concrete.get(id);
+            if (onlyMethods != null && !onlyMethods.contains(method.getBytecodeSignature())) continue;
+            if (reachable != null && !reachable.get(id)) {
+                if (!reachability.tagUnreachable()) {
+                    skippedSites += cryptoSites(method);
+                    continue;
+                }
+                unreachable.set(toVisit.size());
+            }
+            toVisit.add(method);
+        }
+
+        bodies.start(toVisit, concrete);
+        sites = 0;
+        int[] tagged = {0};
+        FindingSink tagging = finding -> {
+            tagged[0]++;
+            sink.accept(ReachabilityFilter.tag(finding));
+        };
+        long reachableNanos = 0;
+        long unreachableNanos = 0;
+        for (int i = 0; i < toVisit.size(); i++) {
+            SootMethod method = toVisit.get(i);
+            long visitStart = System.nanoTime();
+            visitBody(context, method, unreachable.get(i) ? tagging : sink);
+            bodies.visited(method);
+            if (unreachable.get(i)) {
+                unreachableNanos += System.nanoTime() - visitStart;
+            } else {
+                reachableNanos += System.nanoTime() - visitStart;
+            }
+        }
+
+        if (reachable != null) {
+            long savedMillis = sites == 0 ? 0 : reachableNanos / sites * skippedSites / 1_000_000;
+            reachabilityStats = new ReachabilityFilter.Stats(entryPoints.size(), concrete.size(), reachable.cardinality(),
+                    skippedSites, savedMillis, tagged[0], unreachableNanos / 1_000_000, reachMillis);
+        }
+        return context;
+    }
+
+    /**
+     * Call sites some check wants, counted without running the checks.
+     */
+    private int cryptoSites(SootMethod method) {
+        if (!method.hasActiveBody()) return 0;
+        int count = 0;
+        for (Unit unit : method.getActiveBody().getUnits()) {
+            if (unit instanceof Stmt stmt && stmt.containsInvokeExpr()
+                    && checksFor(stmt.getInvokeExpr().getMethodRef()).length > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void visitBody(AnalysisContext context, SootMethod method, FindingSink sink) {
+        Body body = context.bodies().visit(method);
+        if (body == null) return;
+
+        for (Unit unit : body.getUnits()) {
+            if (!(unit instanceof Stmt stmt)) continue;
+
+            if (stmt.containsInvokeExpr()) {
+                InvokeExpr invoke = stmt.getInvokeExpr();
+                StatementCheck[] interested = checksFor(invoke.getMethodRef());
+                if (interested.length > 0) sites++;
+                for (StatementCheck check : interested) {
+                    check.visitInvoke(context, method, stmt, invoke, sink);
+                }
+            }
+            if (assignChecks.length > 0 && stmt instanceof AssignStmt assign) {
+                for (StatementCheck check : assignChecks) {
+                    check.visitAssign(context, method, assign, sink);
+                }
+            }
+        }
+    }
+
+    private StatementCheck[] checksFor(SootMethodRef target) {
+        StatementCheck[] cached = dispatchIndex.get(target);
+        if (cached != null) return cached;
+
+        List<StatementCheck> interested = new ArrayList<>(1);
+        for (StatementCheck check : checks) {
+            if (check.wantsInvoke(target)) interested.add(check);
+        }
+        StatementCheck[] result = interested.isEmpty() ? NO_CHECKS : interested.toArray(NO_CHECKS);
+        dispatchIndex.put(target, result);
+        return result;
+    }
+}
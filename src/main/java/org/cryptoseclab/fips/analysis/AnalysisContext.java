@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.Unit;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.tagkit.LineNumberTag;
+
+/**
+ * Per-scan state shared by all checks on an {@link AnalysisBus}.
+ */
+public class AnalysisContext {
+
+    private final CallGraph callGraph;
+    private final FieldWriteIndex fieldIndex;
+    private final BodyManager bodies;
+    private final ValueTracer tracer;
+
+    public AnalysisContext(CallGraph callGraph, FieldWriteIndex fieldIndex, BodyManager bodies) {
+        this.callGraph = callGraph;
+        this.fieldIndex = fieldIndex;
+        this.bodies = bodies;
+        this.tracer = new ValueTracer(callGraph, fieldIndex, bodies);
+    }
+
+    public CallGraph callGraph() {
+        return callGraph;
+    }
+
+    public FieldWriteIndex fieldIndex() {
+        return fieldIndex;
+    }
+
+    public BodyManager bodies() {
+        return bodies;
+    }
+
+    public ValueTracer tracer() {
+        return tracer;
+    }
+
+    public static int lineNumber(Unit unit) {
+        if (unit.hasTag("LineNumberTag")) {
+            LineNumberTag tag = (LineNumberTag) unit.getTag("LineNumberTag");
+            return tag.getLineNumber();
+        }
+        return -1;
+    }
+}
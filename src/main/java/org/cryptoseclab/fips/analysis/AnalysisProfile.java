@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.options.Options;
+
+import java.util.Locale;
+
+/**
+ * Named call-graph construction profiles, ordered from cheapest to most precise.
+ * Each profile only switches on the Soot phase that builds its call graph.
+ */
+public enum AnalysisProfile {
+    CHA("cg.cha", "enabled:true"),
+    RTA("cg.spark", "enabled:true", "rta:true", "on-fly-cg:false"),
+    VTA("cg.spark", "enabled:true", "vta:true"),
+    SPARK("cg.spark", "enabled:true");
+
+    private final String phase;
+    private final String[] phaseOptions;
+
+    AnalysisProfile(String phase, String... phaseOptions) {
+        this.phase = phase;
+        this.phaseOptions = phaseOptions;
+    }
+
+    /**
+     * Switches the call-graph phases to this profile, undoing whatever profile was applied
+     * before (options outlive a scan when the Scene is kept warm).
+     */
+    public void apply(Options options) {
+        options.setPhaseOption("cg.cha", "enabled:false");
+        options.setPhaseOption("cg.spark", "enabled:false");
+        options.setPhaseOption("cg.spark", "rta:false");
+        options.setPhaseOption("cg.spark", "vta:false");
+        options.setPhaseOption("cg.spark", "on-fly-cg:true");
+        for (String option : phaseOptions) {
+            options.setPhaseOption(phase, option);
+        }
+    }
+
+    public static AnalysisProfile parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown analysis profile: " + name + " (expected cha, rta, vta or spark)");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.Body;
+import soot.Local;
+import soot.SootField;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.AssignStmt;
+import soot.jimple.FieldRef;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Releases Jimple bodies during the analysis pass. Every body the call graph loaded stays
+ * live until the {@link AnalysisBus} has visited its method; bodies of methods it will not
+ * visit are released up front. Soot drops a method's source once its body is built, so a
+ * released body cannot be rebuilt; before releasing, the manager keeps the little that
+ * {@link ValueTracer} reads from bodies of other methods (parameter names and which locals
+ * are loaded from fields), so traces through released methods resolve exactly as before.
+ */
+public final class BodyManager {
+
+    public record Stats(int released, int summaryLookups) {
+    }
+
+    /** What a trace needs from a released body. */
+    private record TraceSummary(String[] parameterNames, Map<String, SootField> fieldLoads) {
+    }
+
+    private final Set<SootMethod> pending = new HashSet<>();
+    private final Map<SootMethod, TraceSummary> summaries = new HashMap<>();
+    private int summaryLookups;
+
+    /**
+     * Marks the methods the bus will visit and releases every other loaded body of {@code all}.
+     */
+    public void start(Collection<SootMethod> toVisit, Collection<SootMethod> all) {
+        pending.addAll(toVisit);
+        for (SootMethod method : all) {
+            if (!pending.contains(method)) release(method);
+        }
+    }
+
+    /**
+     * The body to visit, loading it if needed; {@code null} when it cannot be built.
+     */
+    public Body visit(SootMethod method) {
+        try {
+            return method.retrieveActiveBody();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * The visit of {@code method} is complete; its body is no longer needed.
+     */
+    public void visited(SootMethod method) {
+        pending.remove(method);
+        release(method);
+    }
+
+    private void release(SootMethod method) {
+        if (!method.hasActiveBody()) return;
+        Body body = method.getActiveBody();
+
+        List<Local> params = body.getParameterLocals();
+        String[] names = new String[params.size()];
+        for (int i = 0; i < names.length; i++) names[i] = params.get(i).getName();
+        Map<String, SootField> fieldLoads = new HashMap<>();
+        for (Unit unit : body.getUnits()) {
+            if (unit instanceof AssignStmt assign && assign.getLeftOp() instanceof Local lhs
+                    && assign.getRightOp() instanceof FieldRef ref) {
+                fieldLoads.putIfAbsent(lhs.getName(), ref.getField());
+            }
+        }
+
+        summaries.put(method, new TraceSummary(names, fieldLoads.isEmpty() ? Map.of() : fieldLoads));
+        method.releaseActiveBody();
+    }
+
+    /**
+     * Whether {@code method} has (or had) a body; library and phantom methods are not traced into.
+     */
+    public boolean hasBody(SootMethod method) {
+        return method.hasActiveBody() || summaries.containsKey(method);
+    }
+
+    /**
+     * Index of the parameter held by local {@code name}, or -1.
+     */
+    public int parameterIndex(SootMethod method, String name) {
+        if (method.hasActiveBody()) {
+            List<Local> params = method.getActiveBody().getParameterLocals();
+            for (int i = 0; i < params.size(); i++) {
+                if (params.get(i).getName().equals(name)) return i;
+            }
+            return -1;
+        }
+        TraceSummary summary = summary(method);
+        if (summary == null) return -1;
+        for (int i = 0; i < summary.parameterNames().length; i++) {
+            if (summary.parameterNames()[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * The field of the first {@code name = <field>} assignment in {@code method}, or {@code null}.
+     */
+    public SootField fieldLoadedInto(SootMethod method, String name) {
+        if (method.hasActiveBody()) {
+            for (Unit unit : method.getActiveBody().getUnits()) {
+                if (unit instanceof AssignStmt assign && assign.getLeftOp() instanceof Local lhs
+                        && lhs.getName().equals(name) && assign.getRightOp() instanceof FieldRef ref) {
+                    return ref.getField();
+                }
+            }
+            return null;
+        }
+        TraceSummary summary = summary(method);
+        return summary == null ? null : summary.fieldLoads().get(name);
+    }
+
+    private TraceSummary summary(SootMethod method) {
+        TraceSummary summary = summaries.get(method);
+        if (summary != null) summaryLookups++;
+        return summary;
+    }
+
+    public Stats stats() {
+        return new Stats(summaries.size(), summaryLookups);
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.ArgPredicate;
+import org.cryptoseclab.fips.model.CryptoRule;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.rule.PolicyEvaluator;
+import org.cryptoseclab.fips.rule.RuleMatcher;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.SourceInterpreter;
+import org.objectweb.asm.tree.analysis.SourceValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Raw-bytecode engine for the common case of a crypto call whose arguments are string or
+ * integral constants, either passed directly ({@code ldc "MD5"; invokestatic}) or through a local of
+ * the same method with a single reaching constant store. It reads class files with ASM and needs
+ * neither Jimple nor a call graph, and reports exactly the findings {@link RuleBasedAnalyzer}
+ * would report for the same sites.
+ * <p>
+ * Methods with at least one call site it cannot resolve are handed over as a whole, by
+ * bytecode signature, so {@link RuleBasedAnalyzer} can analyze them without reporting the
+ * same site twice.
+ * <p>
+ * Calls through subtypes of a rule class are matched using the supertypes declared in the
+ * scanned class files, continued into the JDK and the scanner's own classpath.
+ */
+public class BytecodeFastPathAnalyzer {
+
+    /**
+     * @param resolved number of findings, kept by {@link #withoutFindings()}
+     */
+    public record Result(List<ScanFinding> findings, int resolved, Set<String> deferredMethods, int classes,
+                         long millis) {
+
+        /**
+         * The statistics alone, for callers that handed the findings on.
+         */
+        public Result withoutFindings() {
+            return new Result(List.of(), resolved, deferredMethods, classes, millis);
+        }
+
+        public String describe() {
+            return String.format("fast path: %d classes in %d ms | %d findings resolved | %d methods deferred to Soot",
+                    classes, millis, resolved, deferredMethods.size());
+        }
+    }
+
+    private record ClassResult(List<ScanFinding> findings, List<String> deferredMethods) {
+    }
+
+    private record Resolved(String value, String note) {
+    }
+
+    private final PolicyEvaluator evaluator;
+
+    public BytecodeFastPathAnalyzer() {
+        this(PolicyEvaluator.defaults());
+    }
+
+    public BytecodeFastPathAnalyzer(PolicyEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    public Result analyze(List<CryptoRule> rules, Path classesDir) {
+        return analyze(RuleMatcher.compile(rules), classesDir);
+    }
+
+    public Result analyze(RuleMatcher matcher, Path classesDir) {
+        long start = System.nanoTime();
+
+        List<Path> classFiles;
+        try (Stream<Path> walk = Files.walk(classesDir)) {
+            classFiles = walk.filter(p -> p.toString().endsWith(".class")).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list class files under " + classesDir, e);
+        }
+
+        Hierarchy hierarchy = new Hierarchy(matcher);
+        classFiles.parallelStream().forEach(hierarchy::addClassFile);
+
+        List<ClassResult> results = classFiles.parallelStream()
+                .map(file -> analyzeClass(file, hierarchy))
+                .collect(Collectors.toList());
+
+        List<ScanFinding> findings = new ArrayList<>();
+        Set<String> deferred = new HashSet<>();
+        for (ClassResult result : results) {
+            findings.addAll(result.findings());
+            deferred.addAll(result.deferredMethods());
+        }
+        return new Result(findings, findings.size(), deferred, classFiles.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private ClassResult analyzeClass(Path classFile, Hierarchy hierarchy) {
+        ClassNode classNode = new ClassNode();
+        try {
+            new ClassReader(Files.readAllBytes(classFile)).accept(classNode, ClassReader.SKIP_FRAMES);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ Fast path skipped unreadable class file " + classFile + ": " + e.getMessage());
+            return new ClassResult(Collections.emptyList(), Collections.emptyList());
+        }
+
+        List<ScanFinding> findings = new ArrayList<>();
+        List<String> deferred = new ArrayList<>();
+        for (MethodNode method : classNode.methods) {
+            if (method.instructions.size() == 0 || !callsRuleTarget(method, hierarchy)) continue;
+
+            List<ScanFinding> methodFindings = analyzeMethod(classNode, method, hierarchy);
+            if (methodFindings == null) {
+                deferred.add(bytecodeSignature(classNode.name, method.name, method.desc));
+            } else {
+                findings.addAll(methodFindings);
+            }
+        }
+        return new ClassResult(findings, deferred);
+    }
+
+    private boolean callsRuleTarget(MethodNode method, Hierarchy hierarchy) {
+        for (AbstractInsnNode insn : method.instructions) {
+            if (insn instanceof MethodInsnNode call && rulesFor(call, hierarchy).length > 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the findings of one method, or {@code null} if any matching call site needs Soot.
+     */
+    private List<ScanFinding> analyzeMethod(ClassNode owner, MethodNode method, Hierarchy hierarchy) {
+        Frame<SourceValue>[] frames;
+        try {
+            frames = new Analyzer<>(new SourceInterpreter()).analyze(owner.name, method);
+        } catch (AnalyzerException e) {
+            return null;
+        }
+
+        String className = owner.name.replace('/', '.');
+        String subSignature = subSignature(method.name, method.desc);
+        List<ScanFinding> findings = new ArrayList<>();
+        int line = -1;
+
+        for (AbstractInsnNode insn : method.instructions) {
+            if (insn instanceof LineNumberNode lineNode) {
+                line = lineNode.line;
+                continue;
+            }
+            if (!(insn instanceof MethodInsnNode call)) continue;
+            CryptoRule[] candidates = rulesFor(call, hierarchy);
+            if (candidates.length == 0) continue;
+
+            Frame<SourceValue> frame = frames[method.instructions.indexOf(insn)];
+            if (frame == null) continue; // unreachable code
+            int argCount = Type.getArgumentTypes(call.desc).length;
+            int firstArg = frame.getStackSize() - argCount;
+
+            for (CryptoRule rule : candidates) {
+                String algorithmValue = null;
+                String note = null;
+                if (rule.hasAlgorithmArg()) {
+                    Resolved algorithm = resolve(frame.getStack(firstArg + rule.getAlgoArgIndex()), method, frames);
+                    if (algorithm == null) return null;
+                    algorithmValue = algorithm.value();
+                    note = algorithm.note();
+                }
+
+                List<ArgPredicate> predicates = rule.getArgPredicates();
+                String[] argValues = new String[predicates.size()];
+                for (int i = 0; i < argValues.length; i++) {
+                    Resolved arg = resolve(frame.getStack(firstArg + predicates.get(i).getArgIndex()), method, frames);
+                    if (arg == null) return null;
+                    argValues[i] = arg.value();
+                    if (note == null) note = arg.note();
+                }
+                if (algorithmValue == null) algorithmValue = PolicyEvaluator.describeArguments(rule, argValues);
+
+                String provider = "none";
+                Integer providerIndex = rule.getProviderArgIndex();
+                if (providerIndex != null && argCount > providerIndex) {
+                    Resolved resolvedProvider = resolve(frame.getStack(firstArg + providerIndex), method, frames);
+                    if (resolvedProvider == null) return null;
+                    provider = resolvedProvider.value();
+                }
+
+                String receiverAlgorithm = null;
+                if (rule.needsReceiverAlgorithm() && call.getOpcode() != Opcodes.INVOKESTATIC) {
+                    receiverAlgorithm = receiverAlgorithm(frame.getStack(firstArg - 1), method, frames);
+                    if (receiverAlgorithm == null) return null;
+                }
+
+                PolicyEvaluator.Verdict verdict = evaluator.evaluate(rule, algorithmValue, provider, argValues,
+                        receiverAlgorithm);
+                findings.add(new ScanFinding(rule.getCategory(), className, subSignature, algorithmValue,
+                        note, line, provider, verdict.providerStatus(), verdict.algorithmStatus(),
+                        verdict.violationMask(), null, null, false));
+            }
+        }
+        return findings;
+    }
+
+    private Resolved resolve(SourceValue value, MethodNode method, Frame<SourceValue>[] frames) {
+        if (value.insns.size() != 1) return null;
+        AbstractInsnNode producer = value.insns.iterator().next();
+
+        String direct = constantOf(producer);
+        if (direct != null) {
+            return new Resolved(direct, "direct constant");
+        }
+        if (producer instanceof VarInsnNode load && isLoad(load.getOpcode())) {
+            // Only a single reaching store of a constant: Soot's copy propagation folds exactly
+            // that case into a direct constant, so both engines report the site the same way
+            Frame<SourceValue> loadFrame = frames[method.instructions.indexOf(load)];
+            SourceValue stores = loadFrame.getLocal(load.var);
+            if (stores.insns.size() != 1) return null; // method parameter or several stores
+            AbstractInsnNode store = stores.insns.iterator().next();
+            if (!(store instanceof VarInsnNode) || !isStore(store.getOpcode())) return null;
+            Frame<SourceValue> storeFrame = frames[method.instructions.indexOf(store)];
+            SourceValue stored = storeFrame.getStack(storeFrame.getStackSize() - 1);
+            if (stored.insns.size() != 1) return null;
+            String constant = constantOf(stored.insns.iterator().next());
+            return constant == null ? null : new Resolved(constant, "direct constant");
+        }
+        return null;
+    }
+
+    /**
+     * As {@link ValueTracer#receiverAlgorithm}: the constant algorithm of the {@code getInstance}
+     * call that produced the receiver, directly or through a local with a single reaching store.
+     */
+    private String receiverAlgorithm(SourceValue receiver, MethodNode method, Frame<SourceValue>[] frames) {
+        if (receiver.insns.size() != 1) return null;
+        AbstractInsnNode producer = receiver.insns.iterator().next();
+        if (producer instanceof VarInsnNode load && load.getOpcode() == Opcodes.ALOAD) {
+            SourceValue stores = frames[method.instructions.indexOf(load)].getLocal(load.var);
+            if (stores.insns.size() != 1) return null;
+            AbstractInsnNode store = stores.insns.iterator().next();
+            if (store.getOpcode() != Opcodes.ASTORE) return null;
+            Frame<SourceValue> storeFrame = frames[method.instructions.indexOf(store)];
+            SourceValue stored = storeFrame.getStack(storeFrame.getStackSize() - 1);
+            if (stored.insns.size() != 1) return null;
+            producer = stored.insns.iterator().next();
+        }
+        if (!(producer instanceof MethodInsnNode factory) || factory.getOpcode() != Opcodes.INVOKESTATIC
+                || !factory.name.equals("getInstance")) {
+            return null;
+        }
+        int factoryArgs = Type.getArgumentTypes(factory.desc).length;
+        if (factoryArgs == 0) return null;
+        Frame<SourceValue> factoryFrame = frames[method.instructions.indexOf(factory)];
+        Resolved algorithm = resolve(factoryFrame.getStack(factoryFrame.getStackSize() - factoryArgs), method, frames);
+        return algorithm == null ? null : algorithm.value();
+    }
+
+    /**
+     * String form of a string or integral constant push, as {@link ValueTracer#constantValue}.
+     */
+    private static String constantOf(AbstractInsnNode insn) {
+        if (insn instanceof LdcInsnNode ldc) {
+            return ldc.cst instanceof String || ldc.cst instanceof Integer || ldc.cst instanceof Long
+                    ? ldc.cst.toString() : null;
+        }
+        if (insn instanceof IntInsnNode push && push.getOpcode() != Opcodes.NEWARRAY) {
+            return Integer.toString(push.operand);
+        }
+        int opcode = insn.getOpcode();
+        if (opcode >= Opcodes.ICONST_M1 && opcode <= Opcodes.ICONST_5) return Integer.toString(opcode - Opcodes.ICONST_0);
+        if (opcode == Opcodes.LCONST_0 || opcode == Opcodes.LCONST_1) return Integer.toString(opcode - Opcodes.LCONST_0);
+        return null;
+    }
+
+    private static boolean isLoad(int opcode) {
+        return opcode == Opcodes.ALOAD || opcode == Opcodes.ILOAD || opcode == Opcodes.LLOAD;
+    }
+
+    private static boolean isStore(int opcode) {
+        return opcode == Opcodes.ASTORE || opcode == Opcodes.ISTORE || opcode == Opcodes.LSTORE;
+    }
+
+    private static CryptoRule[] rulesFor(MethodInsnNode call, Hierarchy hierarchy) {
+        return hierarchy.rulesFor(call.owner, call.name, call.desc);
+    }
+
+    /**
+     * Same format as {@code SootMethod.getBytecodeSignature()}.
+     */
+    static String bytecodeSignature(String internalOwner, String name, String desc) {
+        return "<" + internalOwner.replace('/', '.') + ": " + name + desc + ">";
+    }
+
+    private static String subSignature(String name, String desc) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Type.getReturnType(desc).getClassName()).append(' ').append(name).append('(');
+        Type[] args = Type.getArgumentTypes(desc);
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(args[i].getClassName());
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * Supertypes of the scanned classes (read from class file headers) and of the classes
+     * visible to the scanner, with rule matches memoized per call target.
+     */
+    private static final class Hierarchy {
+        private static final String[] NONE = new String[0];
+
+        private final RuleMatcher matcher;
+        private final Map<String, String[]> directSupertypes = new ConcurrentHashMap<>();
+        private final Map<String, String[]> ruleSupertypes = new ConcurrentHashMap<>();
+        private final Map<String, CryptoRule[]> rulesByTarget = new ConcurrentHashMap<>();
+
+        Hierarchy(RuleMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        void addClassFile(Path classFile) {
+            try {
+                ClassReader reader = new ClassReader(Files.readAllBytes(classFile));
+                directSupertypes.put(reader.getClassName(), supertypesOf(reader));
+            } catch (IOException | RuntimeException e) {
+                // reported when the class itself is analyzed
+            }
+        }
+
+        CryptoRule[] rulesFor(String owner, String name, String desc) {
+            String key = owner + "." + name + desc;
+            CryptoRule[] cached = rulesByTarget.get(key);
+            if (cached != null) return cached;
+            CryptoRule[] rules = matcher.match(owner.replace('/', '.'), name, desc, ruleSupertypes(owner));
+            rulesByTarget.put(key, rules);
+            return rules;
+        }
+
+        private String[] ruleSupertypes(String internalName) {
+            String[] cached = ruleSupertypes.get(internalName);
+            if (cached != null) return cached;
+
+            Set<String> result = new LinkedHashSet<>();
+            for (String supertype : direct(internalName)) {
+                String dotted = supertype.replace('/', '.');
+                if (matcher.targetsClass(dotted)) result.add(dotted);
+                result.addAll(List.of(ruleSupertypes(supertype)));
+            }
+            String[] supertypes = result.isEmpty() ? NONE : result.toArray(NONE);
+            ruleSupertypes.put(internalName, supertypes);
+            return supertypes;
+        }
+
+        private String[] direct(String internalName) {
+            String[] known = directSupertypes.get(internalName);
+            if (known != null) return known;
+
+            String[] supertypes = NONE;
+            try (InputStream in = ClassLoader.getSystemResourceAsStream(internalName + ".class")) {
+                if (in != null) supertypes = supertypesOf(new ClassReader(in));
+            } catch (IOException | RuntimeException e) {
+                // unknown library type: only its own name can match
+            }
+            directSupertypes.put(internalName, supertypes);
+            return supertypes;
+        }
+
+        private static String[] supertypesOf(ClassReader reader) {
+            List<String> supertypes = new ArrayList<>(List.of(reader.getInterfaces()));
+            if (reader.getSuperName() != null) supertypes.add(0, reader.getSuperName());
+            return supertypes.toArray(NONE);
+        }
+    }
+}
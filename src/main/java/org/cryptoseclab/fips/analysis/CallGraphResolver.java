@@ -17,6 +17,86 @@
 
 package org.cryptoseclab.fips.analysis;
 
+import soot.PackManager;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.options.Options;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configures Soot for a scan and builds the call graph for an {@link AnalysisProfile}.
+ * Only the application bodies and the {@code cg} pack are run; none of the other
+ * whole-program or body packs are needed by the analyzers.
+ */
 public class CallGraphResolver
 {
+    public static void configure(List<String> processDirs, AnalysisProfile profile)
+    {
+        configure(processDirs, profile, null);
+    }
+
+    /**
+     * @param jdkModel a {@link JdkModel} jar to load instead of the running JDK; may be {@code null}
+     */
+    public static void configure(List<String> processDirs, AnalysisProfile profile, Path jdkModel)
+    {
+        if (jdkModel == null) {
+            Options.v().set_prepend_classpath(true);
+        } else {
+            Options.v().set_prepend_classpath(false);
+            Options.v().set_soot_classpath(jdkModel.toString());
+        }
+        Options.v().set_process_dir(processDirs);
+        Options.v().set_allow_phantom_refs(true);
+        Options.v().set_output_format(Options.output_format_none);
+        Options.v().set_whole_program(true);
+        Options.v().set_no_bodies_for_excluded(true);
+        Options.v().set_keep_line_number(true);
+        Options.v().setPhaseOption("jb", "use-original-names:true");
+        profile.apply(Options.v());
+    }
+
+    public static CallGraphStats build(AnalysisProfile profile)
+    {
+        return build(profile, null);
+    }
+
+    /**
+     * @param irCache rebuilds cached application bodies and stores the others; may be {@code null}
+     */
+    public static CallGraphStats build(AnalysisProfile profile, IrCache.Scan irCache)
+    {
+        long start = System.nanoTime();
+        if (irCache != null) irCache.install();
+        for (SootClass cls : new ArrayList<>(Scene.v().getApplicationClasses())) {
+            long classStart = System.nanoTime();
+            for (SootMethod method : new ArrayList<>(cls.getMethods())) {
+                if (!method.isConcrete()) continue;
+                try {
+                    method.retrieveActiveBody();
+                } catch (Exception ignored) {
+                }
+            }
+            if (irCache != null) irCache.built(cls, System.nanoTime() - classStart);
+        }
+        if (irCache != null) irCache.store();
+        long bodiesDone = System.nanoTime();
+
+        PackManager.v().getPack("cg").apply();
+        long cgDone = System.nanoTime();
+
+        CallGraph callGraph = Scene.v().getCallGraph();
+        return new CallGraphStats(
+                profile,
+                (bodiesDone - start) / 1_000_000,
+                (cgDone - bodiesDone) / 1_000_000,
+                callGraph.size(),
+                Scene.v().getReachableMethods().size()
+        );
+    }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.ScanFinding;
+
+/**
+ * Cost of building the call graph under one profile.
+ */
+public record CallGraphStats(AnalysisProfile profile, long bodyMillis, long callGraphMillis, int edges,
+                             int reachableMethods) {
+
+    /**
+     * @param resolved findings whose algorithm was resolved, see {@link #isResolved}
+     */
+    public String describe(int findings, int resolved) {
+        double rate = findings == 0 ? 100.0 : 100.0 * resolved / findings;
+        return String.format("%-5s bodies %6d ms | call graph %6d ms | %8d edges | %7d reachable | resolved %d/%d (%.1f%%)",
+                profile, bodyMillis, callGraphMillis, edges, reachableMethods, resolved, findings, rate);
+    }
+
+    public static boolean isResolved(ScanFinding finding) {
+        return !"unresolved".equals(finding.resolvedAlgorithm);
+    }
+}
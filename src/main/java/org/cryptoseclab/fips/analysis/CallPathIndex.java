@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.CallPath;
+import org.cryptoseclab.fips.model.ScanFinding;
+import soot.SootMethod;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shortest call paths from the entry points to every application method, for the evidence of
+ * findings. One breadth-first search starts from all entry points at once and stops at
+ * {@code maxDepth} calls; each method reached gets a {@link CallPath} node pointing at the
+ * node of the caller it was first reached from. That predecessor table is shared by all
+ * findings, so the cost does not grow with their number. Keyed by method name, the index
+ * outlives the Scene it was built from.
+ */
+public final class CallPathIndex {
+
+    public static final int DEFAULT_MAX_DEPTH = 16;
+
+    /**
+     * @param findings findings passed to {@link #attach}
+     * @param withPath those a path was attached to
+     */
+    public record Stats(int entryPoints, int methods, int maxDepth, int findings, int withPath, long millis) {
+
+        public String describe() {
+            return String.format("call paths: %d methods within %d calls of %d entry points | %d/%d findings"
+                    + " have a path | %d ms", methods, maxDepth, entryPoints, withPath, findings, millis);
+        }
+    }
+
+    private final Map<String, CallPath> paths;
+    private final int entryPoints;
+    private final int maxDepth;
+    private final long buildNanos;
+    private long attachNanos;
+    private int attached;
+    private int withPath;
+
+    private CallPathIndex(Map<String, CallPath> paths, int entryPoints, int maxDepth, long buildNanos) {
+        this.paths = paths;
+        this.entryPoints = entryPoints;
+        this.maxDepth = maxDepth;
+        this.buildNanos = buildNanos;
+    }
+
+    public static CallPathIndex build(CallGraph callGraph, Collection<SootMethod> entryPoints, int maxDepth) {
+        long start = System.nanoTime();
+        Map<SootMethod, CallPath> reached = new IdentityHashMap<>();
+        Deque<SootMethod> work = new ArrayDeque<>();
+        for (SootMethod method : entryPoints) {
+            if (reached.putIfAbsent(method, new CallPath(name(method), null)) == null) work.add(method);
+        }
+        while (!work.isEmpty()) {
+            SootMethod method = work.poll();
+            CallPath path = reached.get(method);
+            if (path.depth >= maxDepth) continue;
+            Iterator<Edge> edges = callGraph.edgesOutOf(method);
+            while (edges.hasNext()) {
+                SootMethod target = edges.next().tgt();
+                if (reached.containsKey(target)) continue;
+                reached.put(target, new CallPath(name(target), path));
+                work.add(target);
+            }
+        }
+
+        Map<String, CallPath> paths = new HashMap<>();
+        for (Map.Entry<SootMethod, CallPath> entry : reached.entrySet()) {
+            if (entry.getKey().getDeclaringClass().isApplicationClass()) paths.put(entry.getValue().method, entry.getValue());
+        }
+        return new CallPathIndex(paths, entryPoints.size(), maxDepth, System.nanoTime() - start);
+    }
+
+    public CallPath pathTo(String className, String subSignature) {
+        return paths.get(className + ": " + subSignature);
+    }
+
+    /**
+     * The findings with the path to their method, where there is one.
+     */
+    public List<ScanFinding> attach(List<ScanFinding> findings) {
+        List<ScanFinding> attached = new ArrayList<>(findings.size());
+        for (ScanFinding finding : findings) attached.add(attach(finding));
+        return attached;
+    }
+
+    /**
+     * The finding with the path to its method, if there is one; for findings as they are emitted.
+     */
+    public ScanFinding attach(ScanFinding finding) {
+        long start = System.nanoTime();
+        CallPath path = pathTo(finding.className, finding.methodName);
+        attached++;
+        if (path != null) withPath++;
+        attachNanos += System.nanoTime() - start;
+        return path == null ? finding : finding.withCallPath(path);
+    }
+
+    /**
+     * The build and the findings attached so far.
+     */
+    public Stats stats() {
+        return new Stats(entryPoints, paths.size(), maxDepth, attached, withPath,
+                (buildNanos + attachNanos) / 1_000_000);
+    }
+
+    private static String name(SootMethod method) {
+        return method.getDeclaringClass().getName() + ": " + method.getSubSignature();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Heap estimates for a Soot scan and the partition of a large target into chunks that each
+ * fit a heap budget. A Scene costs a fixed base (the resolved JDK classes) plus an amount
+ * proportional to the application bytecode (Jimple bodies, call graph). Chunks are cut
+ * along packages, which keeps most constant flows inside one chunk; a package too large
+ * for the budget on its own is split by class name.
+ */
+public final class ChunkPlanner {
+
+    public static final int SCENE_BASE_MB = 256;
+    public static final int MB_PER_BYTECODE_MB = 24;
+    private static final long MB = 1024 * 1024;
+
+    public record ClassEntry(String name, long bytes) {
+
+        public String packageName() {
+            int dot = name.lastIndexOf('.');
+            return dot < 0 ? "" : name.substring(0, dot);
+        }
+
+        /** Path of the class file relative to a classes root or jar. */
+        public String entryName() {
+            return name.replace('.', '/') + ".class";
+        }
+    }
+
+    public record Chunk(int index, List<ClassEntry> classes, long bytes) {
+
+        public int estimatedMb() {
+            return estimateMb(bytes);
+        }
+    }
+
+    private ChunkPlanner() {
+    }
+
+    public static int estimateMb(long bytecodeBytes) {
+        return (int) (SCENE_BASE_MB + bytecodeBytes * MB_PER_BYTECODE_MB / MB);
+    }
+
+    /**
+     * Class files of a classes directory or jar.
+     */
+    public static List<ClassEntry> listClasses(Path target) throws IOException {
+        List<ClassEntry> classes = new ArrayList<>();
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.walk(target)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String relative = target.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                    if (!relative.endsWith(".class") || relative.endsWith("module-info.class")) continue;
+                    classes.add(new ClassEntry(className(relative), Files.size(file)));
+                }
+            }
+        } else {
+            try (JarFile jar = new JarFile(target.toFile())) {
+                for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); ) {
+                    JarEntry entry = entries.nextElement();
+                    String name = entry.getName();
+                    if (!name.endsWith(".class") || name.endsWith("module-info.class")) continue;
+                    classes.add(new ClassEntry(className(name), Math.max(0, entry.getSize())));
+                }
+            }
+        }
+        return classes;
+    }
+
+    static String className(String entryName) {
+        return entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.');
+    }
+
+    public static List<Chunk> plan(List<ClassEntry> classes, int heapBudgetMb) {
+        long maxBytes = (heapBudgetMb - SCENE_BASE_MB) * MB / MB_PER_BYTECODE_MB;
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Heap budget of " + heapBudgetMb + " MB is below the "
+                    + SCENE_BASE_MB + " MB a Soot Scene needs before any application class");
+        }
+
+        Map<String, List<ClassEntry>> packages = new TreeMap<>();
+        for (ClassEntry cls : classes) {
+            packages.computeIfAbsent(cls.packageName(), p -> new ArrayList<>()).add(cls);
+        }
+
+        List<Chunk> chunks = new ArrayList<>();
+        List<ClassEntry> current = new ArrayList<>();
+        long currentBytes = 0;
+        for (List<ClassEntry> pkg : packages.values()) {
+            pkg.sort((a, b) -> a.name().compareTo(b.name()));
+            long pkgBytes = pkg.stream().mapToLong(ClassEntry::bytes).sum();
+            // Keep a package together when it fits a chunk of its own
+            if (currentBytes + pkgBytes > maxBytes && !current.isEmpty() && pkgBytes <= maxBytes) {
+                chunks.add(new Chunk(chunks.size(), current, currentBytes));
+                current = new ArrayList<>();
+                currentBytes = 0;
+            }
+            for (ClassEntry cls : pkg) {
+                if (currentBytes + cls.bytes() > maxBytes && !current.isEmpty()) {
+                    chunks.add(new Chunk(chunks.size(), current, currentBytes));
+                    current = new ArrayList<>();
+                    currentBytes = 0;
+                }
+                current.add(cls);
+                currentBytes += cls.bytes();
+            }
+        }
+        if (!current.isEmpty()) chunks.add(new Chunk(chunks.size(), current, currentBytes));
+        return chunks;
+    }
+}
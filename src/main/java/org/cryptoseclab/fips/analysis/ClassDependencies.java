@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.SootClass;
+import soot.SootField;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.AssignStmt;
+import soot.jimple.FieldRef;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Which application classes the findings of other classes depend on, keyed by class name so
+ * it outlives the Scene it was built from. {@link ValueTracer} climbs call edges from a callee
+ * to its callers and follows field loads to the writers of the field, so a class affects its
+ * (transitive) callees and the readers of every field it writes.
+ */
+public final class ClassDependencies {
+
+    private final Map<String, Set<String>> affects;
+
+    private ClassDependencies(Map<String, Set<String>> affects) {
+        this.affects = affects;
+    }
+
+    public static ClassDependencies empty() {
+        return new ClassDependencies(Collections.emptyMap());
+    }
+
+    /**
+     * Requires the application bodies to be loaded, as they are once the call graph is built.
+     */
+    public static ClassDependencies build(Collection<SootClass> classes, CallGraph callGraph) {
+        Map<String, Set<String>> affects = new HashMap<>();
+        Map<SootField, Set<String>> writers = new HashMap<>();
+        Map<SootField, Set<String>> readers = new HashMap<>();
+
+        for (SootClass cls : classes) {
+            String name = cls.getName();
+            for (SootMethod method : cls.getMethods()) {
+                if (!method.hasActiveBody()) continue;
+
+                Iterator<Edge> edges = callGraph.edgesOutOf(method);
+                while (edges.hasNext()) {
+                    SootClass callee = edges.next().tgt().getDeclaringClass();
+                    if (callee != cls && callee.isApplicationClass()) link(affects, name, callee.getName());
+                }
+                for (Unit unit : method.getActiveBody().getUnits()) {
+                    if (!(unit instanceof AssignStmt assign)) continue;
+                    if (assign.getLeftOp() instanceof FieldRef ref) {
+                        writers.computeIfAbsent(ref.getField(), f -> new HashSet<>()).add(name);
+                    } else if (assign.getRightOp() instanceof FieldRef ref) {
+                        readers.computeIfAbsent(ref.getField(), f -> new HashSet<>()).add(name);
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<SootField, Set<String>> write : writers.entrySet()) {
+            Set<String> fieldReaders = readers.get(write.getKey());
+            if (fieldReaders == null) continue;
+            for (String writer : write.getValue()) {
+                for (String reader : fieldReaders) {
+                    if (!writer.equals(reader)) link(affects, writer, reader);
+                }
+            }
+        }
+        return new ClassDependencies(affects);
+    }
+
+    private static void link(Map<String, Set<String>> affects, String from, String to) {
+        affects.computeIfAbsent(from, k -> new HashSet<>()).add(to);
+    }
+
+    /**
+     * The given classes plus every class whose findings may change with them.
+     */
+    public Set<String> affectedBy(Collection<String> changed) {
+        Set<String> affected = new HashSet<>(changed);
+        Deque<String> work = new ArrayDeque<>(changed);
+        while (!work.isEmpty()) {
+            for (String dependent : affects.getOrDefault(work.pop(), Collections.emptySet())) {
+                if (affected.add(dependent)) work.push(dependent);
+            }
+        }
+        return affected;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.Body;
+import soot.Local;
+import soot.SootClass;
+import soot.SootField;
+import soot.SootMethod;
+import soot.Unit;
+import soot.Value;
+import soot.jimple.AssignStmt;
+import soot.jimple.FieldRef;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Program-wide index of field writes, built in one parallel pass over all application bodies.
+ * Every written field (static or instance) gets a dense id; per id we keep the constants
+ * stored into it, the parameters of the writing methods that flow into it (constructors and
+ * setters) and whether any other, untraceable value is stored. String and integral constants
+ * are both kept in their string form (see {@link ValueTracer#constantValue}).
+ */
+public final class FieldWriteIndex {
+
+    private static final int[] NO_CODES = new int[0];
+
+    private final Map<SootField, Integer> fieldIds;
+    private final String[] constantPool;
+    private final int[][] constantsByField;
+    private final ParameterWrite[][] parameterWritesByField;
+    private final BitSet opaqueWrites;
+
+    /** A write {@code field = <parameter paramIndex of method>}. */
+    public record ParameterWrite(SootMethod method, int paramIndex) {
+    }
+
+    private FieldWriteIndex(Map<SootField, Integer> fieldIds, String[] constantPool, int[][] constantsByField,
+                            ParameterWrite[][] parameterWritesByField, BitSet opaqueWrites) {
+        this.fieldIds = fieldIds;
+        this.constantPool = constantPool;
+        this.constantsByField = constantsByField;
+        this.parameterWritesByField = parameterWritesByField;
+        this.opaqueWrites = opaqueWrites;
+    }
+
+    public static FieldWriteIndex build(Collection<SootClass> classes) {
+        List<SootMethod> methods = new ArrayList<>();
+        for (SootClass cls : classes) {
+            for (SootMethod method : cls.getMethods()) {
+                if (method.isConcrete()) methods.add(method);
+            }
+        }
+
+        // Pool threads are outside the scan's Soot context and would otherwise see another Scene
+        SootContext context = SootContext.current();
+        List<FieldWrite> writes = methods.parallelStream()
+                .flatMap(method -> (context == null ? collectWrites(method)
+                        : context.call(() -> collectWrites(method))).stream())
+                .collect(Collectors.toList());
+
+        // Merge sequentially so ids and pool codes are dense and deterministic
+        Map<SootField, Integer> fieldIds = new HashMap<>();
+        Map<String, Integer> poolCodes = new HashMap<>();
+        List<String> pool = new ArrayList<>();
+        List<int[]> constants = new ArrayList<>();
+        List<List<ParameterWrite>> parameterWrites = new ArrayList<>();
+        BitSet opaque = new BitSet();
+
+        for (FieldWrite write : writes) {
+            int id = fieldIds.computeIfAbsent(write.field(), f -> {
+                constants.add(NO_CODES);
+                parameterWrites.add(null);
+                return fieldIds.size();
+            });
+            if (write.constant() != null) {
+                int code = poolCodes.computeIfAbsent(write.constant(), c -> {
+                    pool.add(c);
+                    return pool.size() - 1;
+                });
+                constants.set(id, addDistinct(constants.get(id), code));
+            } else if (write.parameterWrite() != null) {
+                if (parameterWrites.get(id) == null) parameterWrites.set(id, new ArrayList<>(1));
+                parameterWrites.get(id).add(write.parameterWrite());
+            } else {
+                opaque.set(id);
+            }
+        }
+
+        ParameterWrite[][] parameterWritesByField = new ParameterWrite[parameterWrites.size()][];
+        for (int i = 0; i < parameterWritesByField.length; i++) {
+            List<ParameterWrite> list = parameterWrites.get(i);
+            parameterWritesByField[i] = list == null ? null : list.toArray(new ParameterWrite[0]);
+        }
+        return new FieldWriteIndex(fieldIds, pool.toArray(new String[0]), constants.toArray(new int[0][]),
+                parameterWritesByField, opaque);
+    }
+
+    /**
+     * Returns the value of a field when every write stores the same constant.
+     */
+    public String uniqueConstant(SootField field) {
+        Integer id = fieldIds.get(field);
+        if (id == null || opaqueWrites.get(id) || parameterWritesByField[id] != null) return null;
+        int[] codes = constantsByField[id];
+        return codes.length == 1 ? constantPool[codes[0]] : null;
+    }
+
+    public List<String> constants(SootField field) {
+        Integer id = fieldIds.get(field);
+        if (id == null) return Collections.emptyList();
+        int[] codes = constantsByField[id];
+        List<String> values = new ArrayList<>(codes.length);
+        for (int code : codes) values.add(constantPool[code]);
+        return values;
+    }
+
+    public List<ParameterWrite> parameterWrites(SootField field) {
+        Integer id = fieldIds.get(field);
+        if (id == null || parameterWritesByField[id] == null) return Collections.emptyList();
+        return Arrays.asList(parameterWritesByField[id]);
+    }
+
+    public boolean hasOpaqueWrites(SootField field) {
+        Integer id = fieldIds.get(field);
+        return id != null && opaqueWrites.get(id);
+    }
+
+    public boolean isIndexed(SootField field) {
+        return fieldIds.containsKey(field);
+    }
+
+    public int size() {
+        return fieldIds.size();
+    }
+
+    private static List<FieldWrite> collectWrites(SootMethod method) {
+        Body body;
+        try {
+            body = method.hasActiveBody() ? method.getActiveBody() : method.retrieveActiveBody();
+        } catch (Exception e) {
+            return Collections.emptyList();
+        }
+
+        List<Local> params = body.getParameterLocals();
+        Map<Local, String> constantLocals = null;
+        List<FieldWrite> writes = null;
+
+        for (Unit unit : body.getUnits()) {
+            if (!(unit instanceof AssignStmt assign)) continue;
+            if (!(assign.getLeftOp() instanceof FieldRef ref)) continue;
+
+            if (writes == null) writes = new ArrayList<>();
+            SootField field = ref.getField();
+            Value rhs = assign.getRightOp();
+            String direct = ValueTracer.constantValue(rhs);
+            if (direct != null) {
+                writes.add(new FieldWrite(field, direct, null));
+                continue;
+            }
+            if (rhs instanceof Local local) {
+                int paramIndex = params.indexOf(local);
+                if (paramIndex != -1) {
+                    writes.add(new FieldWrite(field, null, new ParameterWrite(method, paramIndex)));
+                    continue;
+                }
+                if (constantLocals == null) constantLocals = singleConstantDefs(body);
+                String constant = constantLocals.get(local);
+                if (constant != null) {
+                    writes.add(new FieldWrite(field, constant, null));
+                    continue;
+                }
+            }
+            writes.add(new FieldWrite(field, null, null));
+        }
+        return writes == null ? Collections.emptyList() : writes;
+    }
+
+    private static Map<Local, String> singleConstantDefs(Body body) {
+        Map<Local, String> constants = new HashMap<>();
+        Map<Local, Integer> defCounts = new HashMap<>();
+        for (Unit unit : body.getUnits()) {
+            if (!(unit instanceof AssignStmt assign) || !(assign.getLeftOp() instanceof Local lhs)) continue;
+            defCounts.merge(lhs, 1, Integer::sum);
+            String constant = ValueTracer.constantValue(assign.getRightOp());
+            if (constant != null) constants.put(lhs, constant);
+        }
+        constants.keySet().removeIf(local -> defCounts.get(local) != 1);
+        return constants;
+    }
+
+    private static int[] addDistinct(int[] codes, int code) {
+        for (int existing : codes) {
+            if (existing == code) return codes;
+        }
+        int[] grown = Arrays.copyOf(codes, codes.length + 1);
+        grown[codes.length] = code;
+        return grown;
+    }
+
+    private record FieldWrite(SootField field, String constant, ParameterWrite parameterWrite) {
+    }
+}
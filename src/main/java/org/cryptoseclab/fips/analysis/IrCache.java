@@ -0,0 +1,1010 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.ArrayType;
+import soot.Body;
+import soot.BooleanConstant;
+import soot.BooleanType;
+import soot.ByteType;
+import soot.CharType;
+import soot.DoubleType;
+import soot.FloatType;
+import soot.IntType;
+import soot.Local;
+import soot.LongType;
+import soot.NullType;
+import soot.PackManager;
+import soot.PhaseOptions;
+import soot.RefType;
+import soot.Scene;
+import soot.ShortType;
+import soot.SootClass;
+import soot.SootFieldRef;
+import soot.SootMethod;
+import soot.SootMethodRef;
+import soot.Transform;
+import soot.Trap;
+import soot.Type;
+import soot.Unit;
+import soot.UnitBox;
+import soot.UnknownType;
+import soot.Value;
+import soot.ValueBox;
+import soot.VoidType;
+import soot.jimple.*;
+import soot.options.Options;
+import soot.tagkit.LineNumberTag;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of the Jimple bodies {@code jb} builds for application classes, so repeat
+ * scans skip body construction for unchanged classes. Entries are keyed by the SHA-256 of the
+ * class file and kept in one directory per fingerprint of the Soot options that shape bodies.
+ * Bodies are stored in a compact binary form (one string pool per class, locals and units by
+ * index) and rebuilt on a hit by a method source that only allocates the Jimple objects:
+ * no bytecode parsing, no type inference, no local splitting.
+ * <p>
+ * {@code jb} infers local types from the class hierarchy, so an entry also records the
+ * classes its bodies mention and a stamp of their supertypes; a hierarchy change elsewhere
+ * invalidates it. Classes that use helpers Soot synthesizes while building bodies (lambdas)
+ * are never cached, nor are bodies with constructs the format does not know.
+ */
+public final class IrCache {
+
+    private static final int MAGIC = 0x46495243;
+    private static final int FORMAT = 1;
+
+    // Statements
+    private static final byte IDENTITY = 1;
+    private static final byte ASSIGN = 2;
+    private static final byte INVOKE_STMT = 3;
+    private static final byte IF = 4;
+    private static final byte GOTO = 5;
+    private static final byte LOOKUP_SWITCH = 6;
+    private static final byte TABLE_SWITCH = 7;
+    private static final byte RETURN = 8;
+    private static final byte RETURN_VOID = 9;
+    private static final byte THROW = 10;
+    private static final byte ENTER_MONITOR = 11;
+    private static final byte EXIT_MONITOR = 12;
+    private static final byte NOP = 13;
+    private static final byte BREAKPOINT = 14;
+    private static final byte RET = 15;
+
+    // Values
+    private static final byte LOCAL = 1;
+    private static final byte STRING = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte NULL = 7;
+    private static final byte CLASS = 8;
+    private static final byte METHOD_HANDLE = 9;
+    private static final byte METHOD_TYPE = 10;
+    private static final byte THIS_REF = 11;
+    private static final byte PARAMETER_REF = 12;
+    private static final byte CAUGHT_EXCEPTION_REF = 13;
+    private static final byte STATIC_FIELD = 14;
+    private static final byte INSTANCE_FIELD = 15;
+    private static final byte ARRAY_REF = 16;
+    private static final byte BINOP = 17;
+    private static final byte NEG = 18;
+    private static final byte LENGTH = 19;
+    private static final byte CAST = 20;
+    private static final byte INSTANCE_OF = 21;
+    private static final byte NEW = 22;
+    private static final byte NEW_ARRAY = 23;
+    private static final byte NEW_MULTI_ARRAY = 24;
+    private static final byte STATIC_INVOKE = 25;
+    private static final byte VIRTUAL_INVOKE = 26;
+    private static final byte INTERFACE_INVOKE = 27;
+    private static final byte SPECIAL_INVOKE = 28;
+    private static final byte DYNAMIC_INVOKE = 29;
+    private static final byte BOOLEAN = 30;
+
+    /** Binary operators by code; the encoder writes the index of the first matching type. */
+    private static final List<Class<? extends BinopExpr>> BINOPS = List.of(AddExpr.class, SubExpr.class,
+            MulExpr.class, DivExpr.class, RemExpr.class, AndExpr.class, OrExpr.class, XorExpr.class, ShlExpr.class,
+            ShrExpr.class, UshrExpr.class, CmpExpr.class, CmpgExpr.class, CmplExpr.class, EqExpr.class, NeExpr.class,
+            GeExpr.class, GtExpr.class, LeExpr.class, LtExpr.class);
+
+    /**
+     * @param savedMillis body construction time recorded for the hits, minus the time spent
+     *                    rebuilding them from the cache
+     */
+    public record Stats(int hits, int misses, int stored, long rebuildMillis, long savedMillis) {
+
+        public String describe() {
+            int classes = hits + misses;
+            return String.format("IR cache %d/%d classes hit (%.0f%%), %d stored, rebuilt in %d ms, ~%d ms saved",
+                    hits, classes, classes == 0 ? 0.0 : 100.0 * hits / classes, stored, rebuildMillis, savedMillis);
+        }
+    }
+
+    private final Path root;
+
+    public IrCache(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Starts using the cache for the target just loaded into the Scene.
+     */
+    public Scan begin(List<String> processDirs) {
+        Map<String, String> hashes = new HashMap<>();
+        try {
+            for (String dir : processDirs) hashClasses(Path.of(dir), hashes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot hash " + processDirs, e);
+        }
+        return new Scan(root.resolve(fingerprint()), hashes);
+    }
+
+    /**
+     * The cache as seen by one scan: {@link #install} before the application bodies are
+     * retrieved, {@link #built} for each class afterwards, then {@link #store}.
+     */
+    public static final class Scan {
+
+        private final Path dir;
+        private final Map<String, String> hashes;
+        private final Map<String, Long> recordedNanos = new HashMap<>();
+        private final Map<String, Long> buildNanos = new HashMap<>();
+        private final Map<String, String> hierarchies = new HashMap<>();
+        private long rebuildNanos;
+        private int classes;
+        private int stored;
+
+        private Scan(Path dir, Map<String, String> hashes) {
+            this.dir = dir;
+            this.hashes = hashes;
+        }
+
+        /**
+         * Gives every method of a cached application class a source that rebuilds its body.
+         */
+        public void install() {
+            for (SootClass cls : Scene.v().getApplicationClasses()) {
+                String hash = hashes.get(cls.getName());
+                if (hash == null) continue;
+                classes++;
+                Entry entry = read(dir.resolve(hash + ".ir"), cls);
+                if (entry == null) continue;
+
+                for (SootMethod method : cls.getMethods()) {
+                    if (!method.isConcrete() || !entry.methods().containsKey(method.getSubSignature())) continue;
+                    byte[] code = entry.methods().get(method.getSubSignature());
+                    method.setSource((m, phase) -> {
+                        if (code == null) throw new IllegalStateException("No body could be built for " + m.getSignature());
+                        try {
+                            return new Decoder(m, entry.pool(), code).decode();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+                recordedNanos.put(cls.getName(), entry.buildNanos());
+            }
+        }
+
+        /**
+         * Time spent retrieving the bodies of {@code cls}, whether built or rebuilt from the cache.
+         */
+        public void built(SootClass cls, long nanos) {
+            if (recordedNanos.containsKey(cls.getName())) {
+                rebuildNanos += nanos;
+            } else {
+                buildNanos.put(cls.getName(), nanos);
+            }
+        }
+
+        /**
+         * Writes entries for the classes that missed, while their bodies are still loaded.
+         */
+        public void store() {
+            Set<String> synthetic = new HashSet<>();
+            for (SootClass cls : Scene.v().getApplicationClasses()) {
+                if (!hashes.containsKey(cls.getName())) synthetic.add(cls.getName());
+            }
+            for (SootClass cls : new ArrayList<>(Scene.v().getApplicationClasses())) {
+                String hash = hashes.get(cls.getName());
+                if (hash == null || recordedNanos.containsKey(cls.getName())) continue;
+                try {
+                    write(cls, dir.resolve(hash + ".ir"), synthetic);
+                    stored++;
+                } catch (RuntimeException | IOException e) {
+                    // Uncacheable or unwritable; built from bytecode again next time
+                }
+            }
+        }
+
+        public Stats stats() {
+            long recorded = recordedNanos.values().stream().mapToLong(Long::longValue).sum();
+            return new Stats(recordedNanos.size(), classes - recordedNanos.size(), stored,
+                    rebuildNanos / 1_000_000, Math.max(0, recorded - rebuildNanos) / 1_000_000);
+        }
+
+        private Entry read(Path file, SootClass cls) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT) return null;
+                long nanos = in.readLong();
+                long stamp = in.readLong();
+                String[] pool = new String[in.readInt()];
+                for (int i = 0; i < pool.length; i++) pool[i] = readString(in);
+                if (!pool[in.readInt()].equals(cls.getName())) return null;
+
+                Set<String> mentioned = new TreeSet<>();
+                for (int i = in.readInt(); i > 0; i--) mentioned.add(pool[in.readInt()]);
+                if (stamp(mentioned) != stamp) return null;
+
+                Map<String, byte[]> methods = new HashMap<>();
+                for (int i = in.readInt(); i > 0; i--) {
+                    String subSignature = pool[in.readInt()];
+                    int length = in.readInt();
+                    byte[] code = null;
+                    if (length >= 0) {
+                        code = new byte[length];
+                        in.readFully(code);
+                    }
+                    methods.put(subSignature, code);
+                }
+                return new Entry(nanos, pool, methods);
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException | RuntimeException e) {
+                // Unreadable or truncated; the class is built and the entry rewritten
+                return null;
+            }
+        }
+
+        private void write(SootClass cls, Path file, Set<String> synthetic) throws IOException {
+            Encoder encoder = new Encoder(synthetic);
+            encoder.mention(cls.getType());
+            List<String> subSignatures = new ArrayList<>();
+            List<byte[]> codes = new ArrayList<>();
+            for (SootMethod method : cls.getMethods()) {
+                if (!method.isConcrete()) continue;
+                subSignatures.add(method.getSubSignature());
+                codes.add(method.hasActiveBody() ? encoder.encode(method.getActiveBody()) : null);
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(encoder.string(cls.getName()));
+            List<String> mentioned = new ArrayList<>(encoder.mentioned);
+            out.writeInt(mentioned.size());
+            for (String name : mentioned) out.writeInt(encoder.string(name));
+            out.writeInt(subSignatures.size());
+            for (int i = 0; i < subSignatures.size(); i++) {
+                out.writeInt(encoder.string(subSignatures.get(i)));
+                byte[] code = codes.get(i);
+                out.writeInt(code == null ? -1 : code.length);
+                if (code != null) out.write(code);
+            }
+
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream header = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    header.writeInt(MAGIC);
+                    header.writeInt(FORMAT);
+                    header.writeLong(buildNanos.getOrDefault(cls.getName(), 0L));
+                    header.writeLong(stamp(encoder.mentioned));
+                    header.writeInt(encoder.pool.size());
+                    for (String s : encoder.pool) writeString(header, s);
+                    bytes.writeTo(header);
+                }
+                // Concurrent scans may store the same class; either copy is complete
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        /**
+         * Digest of the supertypes of every mentioned class, as far as the Scene knows them.
+         */
+        private long stamp(Set<String> mentioned) {
+            MessageDigest digest = sha256();
+            for (String name : mentioned) {
+                digest.update(hierarchy(name).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            byte[] hash = digest.digest();
+            long stamp = 0;
+            for (int i = 0; i < 8; i++) stamp = (stamp << 8) | (hash[i] & 0xff);
+            return stamp;
+        }
+
+        private String hierarchy(String name) {
+            String cached = hierarchies.get(name);
+            if (cached != null) return cached;
+
+            SootClass cls = Scene.v().getSootClassUnsafe(name, false);
+            String hierarchy;
+            if (cls == null) {
+                hierarchy = name + "?";
+            } else if (cls.resolvingLevel() < SootClass.HIERARCHY) {
+                hierarchy = name + "~";
+            } else {
+                StringBuilder sb = new StringBuilder(name).append(cls.isInterface() ? 'i' : 'c');
+                if (cls.isPhantom()) sb.append('p');
+                sb.append('<');
+                if (cls.hasSuperclass()) sb.append(hierarchy(cls.getSuperclass().getName()));
+                for (String iface : new TreeSet<>(cls.getInterfaces().stream().map(SootClass::getName).toList())) {
+                    sb.append(',').append(hierarchy(iface));
+                }
+                hierarchy = sb.append('>').toString();
+            }
+            hierarchies.put(name, hierarchy);
+            return hierarchy;
+        }
+    }
+
+    private record Entry(long buildNanos, String[] pool, Map<String, byte[]> methods) {
+    }
+
+    /**
+     * Encodes the bodies of one class; strings are shared through one pool per entry.
+     */
+    private static final class Encoder {
+
+        private final Set<String> synthetic;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<String> pool = new ArrayList<>();
+        private final Set<String> mentioned = new TreeSet<>();
+        private final Map<Local, Integer> locals = new IdentityHashMap<>();
+        private final Map<Unit, Integer> units = new IdentityHashMap<>();
+
+        Encoder(Set<String> synthetic) {
+            this.synthetic = synthetic;
+        }
+
+        int string(String s) {
+            return strings.computeIfAbsent(s, k -> {
+                pool.add(k);
+                return pool.size() - 1;
+            });
+        }
+
+        void mention(Type type) {
+            if (type instanceof ArrayType array) type = array.baseType;
+            if (type instanceof RefType ref) mentioned.add(ref.getClassName());
+        }
+
+        byte[] encode(Body body) throws IOException {
+            locals.clear();
+            units.clear();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(body.getLocalCount());
+            for (Local local : body.getLocals()) {
+                locals.put(local, locals.size());
+                out.writeInt(string(local.getName()));
+                type(local.getType(), out);
+            }
+            for (Unit unit : body.getUnits()) units.put(unit, units.size());
+
+            out.writeInt(units.size());
+            for (Unit unit : body.getUnits()) {
+                out.writeInt(AnalysisContext.lineNumber(unit));
+                stmt(unit, out);
+            }
+
+            out.writeInt(body.getTraps().size());
+            for (Trap trap : body.getTraps()) {
+                out.writeInt(string(checked(trap.getException().getName())));
+                mentioned.add(trap.getException().getName());
+                out.writeInt(units.get(trap.getBeginUnit()));
+                out.writeInt(units.get(trap.getEndUnit()));
+                out.writeInt(units.get(trap.getHandlerUnit()));
+            }
+            return bytes.toByteArray();
+        }
+
+        private void stmt(Unit unit, DataOutputStream out) throws IOException {
+            if (unit instanceof IdentityStmt identity) {
+                out.writeByte(IDENTITY);
+                value(identity.getLeftOp(), out);
+                value(identity.getRightOp(), out);
+            } else if (unit instanceof AssignStmt assign) {
+                out.writeByte(ASSIGN);
+                value(assign.getLeftOp(), out);
+                value(assign.getRightOp(), out);
+            } else if (unit instanceof InvokeStmt invoke) {
+                out.writeByte(INVOKE_STMT);
+                value(invoke.getInvokeExpr(), out);
+            } else if (unit instanceof IfStmt branch) {
+                out.writeByte(IF);
+                value(branch.getCondition(), out);
+                out.writeInt(units.get(branch.getTarget()));
+            } else if (unit instanceof GotoStmt jump) {
+                out.writeByte(GOTO);
+                out.writeInt(units.get(jump.getTarget()));
+            } else if (unit instanceof LookupSwitchStmt lookup) {
+                out.writeByte(LOOKUP_SWITCH);
+                value(lookup.getKey(), out);
+                out.writeInt(lookup.getTargetCount());
+                for (int i = 0; i < lookup.getTargetCount(); i++) {
+                    out.writeInt(lookup.getLookupValue(i));
+                    out.writeInt(units.get(lookup.getTarget(i)));
+                }
+                out.writeInt(units.get(lookup.getDefaultTarget()));
+            } else if (unit instanceof TableSwitchStmt table) {
+                out.writeByte(TABLE_SWITCH);
+                value(table.getKey(), out);
+                out.writeInt(table.getLowIndex());
+                out.writeInt(table.getHighIndex());
+                for (Unit target : table.getTargets()) out.writeInt(units.get(target));
+                out.writeInt(units.get(table.getDefaultTarget()));
+            } else if (unit instanceof ReturnStmt ret) {
+                out.writeByte(RETURN);
+                value(ret.getOp(), out);
+            } else if (unit instanceof ReturnVoidStmt) {
+                out.writeByte(RETURN_VOID);
+            } else if (unit instanceof ThrowStmt thrown) {
+                out.writeByte(THROW);
+                value(thrown.getOp(), out);
+            } else if (unit instanceof EnterMonitorStmt enter) {
+                out.writeByte(ENTER_MONITOR);
+                value(enter.getOp(), out);
+            } else if (unit instanceof ExitMonitorStmt exit) {
+                out.writeByte(EXIT_MONITOR);
+                value(exit.getOp(), out);
+            } else if (unit instanceof NopStmt) {
+                out.writeByte(NOP);
+            } else if (unit instanceof BreakpointStmt) {
+                out.writeByte(BREAKPOINT);
+            } else if (unit instanceof RetStmt ret) {
+                out.writeByte(RET);
+                value(ret.getStmtAddress(), out);
+            } else {
+                throw new IllegalArgumentException("Unsupported statement " + unit.getClass().getName());
+            }
+        }
+
+        private void value(Value value, DataOutputStream out) throws IOException {
+            if (value instanceof Local local) {
+                out.writeByte(LOCAL);
+                out.writeInt(locals.get(local));
+            } else if (value instanceof StringConstant constant) {
+                out.writeByte(STRING);
+                out.writeInt(string(constant.value));
+            } else if (value instanceof BooleanConstant constant) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(constant.value != 0);
+            } else if (value instanceof IntConstant constant) {
+                out.writeByte(INT);
+                out.writeInt(constant.value);
+            } else if (value instanceof LongConstant constant) {
+                out.writeByte(LONG);
+                out.writeLong(constant.value);
+            } else if (value instanceof FloatConstant constant) {
+                out.writeByte(FLOAT);
+                out.writeFloat(constant.value);
+            } else if (value instanceof DoubleConstant constant) {
+                out.writeByte(DOUBLE);
+                out.writeDouble(constant.value);
+            } else if (value instanceof NullConstant) {
+                out.writeByte(NULL);
+            } else if (value instanceof ClassConstant constant) {
+                out.writeByte(CLASS);
+                out.writeInt(string(constant.value));
+                mention(constant.toSootType());
+            } else if (value instanceof MethodHandle handle) {
+                out.writeByte(METHOD_HANDLE);
+                out.writeInt(handle.getKind());
+                if (handle.isFieldRef()) {
+                    fieldRef(handle.getFieldRef(), out);
+                } else {
+                    methodRef(handle.getMethodRef(), out);
+                }
+            } else if (value instanceof MethodType methodType) {
+                out.writeByte(METHOD_TYPE);
+                types(methodType.getParameterTypes(), out);
+                type(methodType.getReturnType(), out);
+            } else if (value instanceof ThisRef ref) {
+                out.writeByte(THIS_REF);
+                type(ref.getType(), out);
+            } else if (value instanceof ParameterRef ref) {
+                out.writeByte(PARAMETER_REF);
+                type(ref.getType(), out);
+                out.writeInt(ref.getIndex());
+            } else if (value instanceof CaughtExceptionRef) {
+                out.writeByte(CAUGHT_EXCEPTION_REF);
+            } else if (value instanceof StaticFieldRef ref) {
+                out.writeByte(STATIC_FIELD);
+                fieldRef(ref.getFieldRef(), out);
+            } else if (value instanceof InstanceFieldRef ref) {
+                out.writeByte(INSTANCE_FIELD);
+                value(ref.getBase(), out);
+                fieldRef(ref.getFieldRef(), out);
+            } else if (value instanceof ArrayRef ref) {
+                out.writeByte(ARRAY_REF);
+                value(ref.getBase(), out);
+                value(ref.getIndex(), out);
+            } else if (value instanceof BinopExpr binop) {
+                out.writeByte(BINOP);
+                out.writeByte(binopCode(binop));
+                value(binop.getOp1(), out);
+                value(binop.getOp2(), out);
+            } else if (value instanceof NegExpr neg) {
+                out.writeByte(NEG);
+                value(neg.getOp(), out);
+            } else if (value instanceof LengthExpr length) {
+                out.writeByte(LENGTH);
+                value(length.getOp(), out);
+            } else if (value instanceof CastExpr cast) {
+                out.writeByte(CAST);
+                type(cast.getCastType(), out);
+                value(cast.getOp(), out);
+            } else if (value instanceof InstanceOfExpr check) {
+                out.writeByte(INSTANCE_OF);
+                type(check.getCheckType(), out);
+                value(check.getOp(), out);
+            } else if (value instanceof NewExpr allocation) {
+                out.writeByte(NEW);
+                type(allocation.getBaseType(), out);
+            } else if (value instanceof NewArrayExpr array) {
+                out.writeByte(NEW_ARRAY);
+                type(array.getBaseType(), out);
+                value(array.getSize(), out);
+            } else if (value instanceof NewMultiArrayExpr array) {
+                out.writeByte(NEW_MULTI_ARRAY);
+                type(array.getBaseType(), out);
+                out.writeInt(array.getSizeCount());
+                for (Value size : array.getSizes()) value(size, out);
+            } else if (value instanceof DynamicInvokeExpr invoke) {
+                out.writeByte(DYNAMIC_INVOKE);
+                methodRef(invoke.getBootstrapMethodRef(), out);
+                out.writeInt(invoke.getBootstrapArgCount());
+                for (Value arg : invoke.getBootstrapArgs()) value(arg, out);
+                methodRef(invoke.getMethodRef(), out);
+                out.writeInt(invoke.getHandleTag());
+                args(invoke, out);
+            } else if (value instanceof InvokeExpr invoke) {
+                if (invoke instanceof StaticInvokeExpr) {
+                    out.writeByte(STATIC_INVOKE);
+                } else if (invoke instanceof VirtualInvokeExpr) {
+                    out.writeByte(VIRTUAL_INVOKE);
+                } else if (invoke instanceof InterfaceInvokeExpr) {
+                    out.writeByte(INTERFACE_INVOKE);
+                } else if (invoke instanceof SpecialInvokeExpr) {
+                    out.writeByte(SPECIAL_INVOKE);
+                } else {
+                    throw new IllegalArgumentException("Unsupported invoke " + invoke.getClass().getName());
+                }
+                methodRef(invoke.getMethodRef(), out);
+                if (invoke instanceof InstanceInvokeExpr instance) value(instance.getBase(), out);
+                args(invoke, out);
+            } else {
+                throw new IllegalArgumentException("Unsupported value " + value.getClass().getName());
+            }
+        }
+
+        private void args(InvokeExpr invoke, DataOutputStream out) throws IOException {
+            out.writeInt(invoke.getArgCount());
+            for (Value arg : invoke.getArgs()) value(arg, out);
+        }
+
+        private int binopCode(BinopExpr binop) {
+            for (int i = 0; i < BINOPS.size(); i++) {
+                if (BINOPS.get(i).isInstance(binop)) return i;
+            }
+            throw new IllegalArgumentException("Unsupported operator " + binop.getClass().getName());
+        }
+
+        private void methodRef(SootMethodRef ref, DataOutputStream out) throws IOException {
+            out.writeInt(string(checked(ref.getDeclaringClass().getName())));
+            mentioned.add(ref.getDeclaringClass().getName());
+            out.writeInt(string(ref.getName()));
+            types(ref.getParameterTypes(), out);
+            type(ref.getReturnType(), out);
+            out.writeBoolean(ref.isStatic());
+        }
+
+        private void fieldRef(SootFieldRef ref, DataOutputStream out) throws IOException {
+            out.writeInt(string(checked(ref.declaringClass().getName())));
+            mentioned.add(ref.declaringClass().getName());
+            out.writeInt(string(ref.name()));
+            type(ref.type(), out);
+            out.writeBoolean(ref.isStatic());
+        }
+
+        private void types(List<Type> types, DataOutputStream out) throws IOException {
+            out.writeInt(types.size());
+            for (Type type : types) type(type, out);
+        }
+
+        private void type(Type type, DataOutputStream out) throws IOException {
+            mention(type);
+            out.writeInt(string(type.toString()));
+        }
+
+        /**
+         * Rejects references to classes that exist only because {@code jb} synthesized them.
+         */
+        private String checked(String className) {
+            if (synthetic.contains(className)) throw new IllegalStateException("Synthesized class " + className);
+            return className;
+        }
+    }
+
+    /**
+     * Rebuilds one body. Branch targets may point forward, so they are patched once every
+     * unit exists.
+     */
+    private static final class Decoder {
+
+        private final Jimple jimple = Jimple.v();
+        private final SootMethod method;
+        private final String[] pool;
+        private final DataInputStream in;
+        private final List<UnitBox> targetBoxes = new ArrayList<>();
+        private final List<Integer> targetIndexes = new ArrayList<>();
+        private Local[] locals;
+
+        Decoder(SootMethod method, String[] pool, byte[] code) {
+            this.method = method;
+            this.pool = pool;
+            this.in = new DataInputStream(new ByteArrayInputStream(code));
+        }
+
+        Body decode() throws IOException {
+            JimpleBody body = jimple.newBody(method);
+            locals = new Local[in.readInt()];
+            for (int i = 0; i < locals.length; i++) {
+                locals[i] = jimple.newLocal(string(), type());
+                body.getLocals().add(locals[i]);
+            }
+
+            Unit[] units = new Unit[in.readInt()];
+            for (int i = 0; i < units.length; i++) {
+                int line = in.readInt();
+                units[i] = stmt();
+                if (line >= 0) units[i].addTag(new LineNumberTag(line));
+                body.getUnits().add(units[i]);
+            }
+            for (int i = 0; i < targetBoxes.size(); i++) targetBoxes.get(i).setUnit(units[targetIndexes.get(i)]);
+
+            for (int i = in.readInt(); i > 0; i--) {
+                SootClass exception = Scene.v().getSootClass(string());
+                body.getTraps().add(jimple.newTrap(exception, units[in.readInt()], units[in.readInt()], units[in.readInt()]));
+            }
+            return body;
+        }
+
+        private Unit stmt() throws IOException {
+            byte op = in.readByte();
+            return switch (op) {
+                case IDENTITY -> jimple.newIdentityStmt(value(), value());
+                case ASSIGN -> jimple.newAssignStmt(value(), value());
+                case INVOKE_STMT -> jimple.newInvokeStmt(value());
+                case IF -> jimple.newIfStmt(value(), target());
+                case GOTO -> jimple.newGotoStmt(target());
+                case LOOKUP_SWITCH -> {
+                    Value key = value();
+                    List<IntConstant> lookupValues = new ArrayList<>();
+                    List<UnitBox> targets = new ArrayList<>();
+                    for (int i = in.readInt(); i > 0; i--) {
+                        lookupValues.add(IntConstant.v(in.readInt()));
+                        targets.add(target());
+                    }
+                    yield jimple.newLookupSwitchStmt(key, lookupValues, targets, target());
+                }
+                case TABLE_SWITCH -> {
+                    Value key = value();
+                    int low = in.readInt();
+                    int high = in.readInt();
+                    List<UnitBox> targets = new ArrayList<>();
+                    for (int i = low; i <= high; i++) targets.add(target());
+                    yield jimple.newTableSwitchStmt(key, low, high, targets, target());
+                }
+                case RETURN -> jimple.newReturnStmt(value());
+                case RETURN_VOID -> jimple.newReturnVoidStmt();
+                case THROW -> jimple.newThrowStmt(value());
+                case ENTER_MONITOR -> jimple.newEnterMonitorStmt(value());
+                case EXIT_MONITOR -> jimple.newExitMonitorStmt(value());
+                case NOP -> jimple.newNopStmt();
+                case BREAKPOINT -> jimple.newBreakpointStmt();
+                case RET -> jimple.newRetStmt(value());
+                default -> throw new IOException("Unknown IR statement " + op);
+            };
+        }
+
+        private UnitBox target() throws IOException {
+            UnitBox box = jimple.newStmtBox(null);
+            targetBoxes.add(box);
+            targetIndexes.add(in.readInt());
+            return box;
+        }
+
+        private Value value() throws IOException {
+            byte tag = in.readByte();
+            return switch (tag) {
+                case LOCAL -> locals[in.readInt()];
+                case STRING -> StringConstant.v(string());
+                case BOOLEAN -> BooleanConstant.v(in.readBoolean());
+                case INT -> IntConstant.v(in.readInt());
+                case LONG -> LongConstant.v(in.readLong());
+                case FLOAT -> FloatConstant.v(in.readFloat());
+                case DOUBLE -> DoubleConstant.v(in.readDouble());
+                case NULL -> NullConstant.v();
+                case CLASS -> ClassConstant.v(string());
+                case METHOD_HANDLE -> {
+                    int kind = in.readInt();
+                    yield MethodHandle.isFieldRef(kind) ? MethodHandle.v(fieldRef(), kind) : MethodHandle.v(methodRef(), kind);
+                }
+                case METHOD_TYPE -> {
+                    List<Type> parameterTypes = types();
+                    yield MethodType.v(parameterTypes, type());
+                }
+                case THIS_REF -> jimple.newThisRef((RefType) type());
+                case PARAMETER_REF -> {
+                    Type type = type();
+                    yield jimple.newParameterRef(type, in.readInt());
+                }
+                case CAUGHT_EXCEPTION_REF -> jimple.newCaughtExceptionRef();
+                case STATIC_FIELD -> jimple.newStaticFieldRef(fieldRef());
+                case INSTANCE_FIELD -> {
+                    Value base = value();
+                    yield jimple.newInstanceFieldRef(base, fieldRef());
+                }
+                case ARRAY_REF -> {
+                    Value base = value();
+                    yield jimple.newArrayRef(base, value());
+                }
+                case BINOP -> binop(in.readByte(), value(), value());
+                case NEG -> jimple.newNegExpr(value());
+                case LENGTH -> jimple.newLengthExpr(value());
+                case CAST -> {
+                    Type type = type();
+                    yield jimple.newCastExpr(value(), type);
+                }
+                case INSTANCE_OF -> {
+                    Type type = type();
+                    yield jimple.newInstanceOfExpr(value(), type);
+                }
+                case NEW -> jimple.newNewExpr((RefType) type());
+                case NEW_ARRAY -> {
+                    Type type = type();
+                    yield jimple.newNewArrayExpr(type, value());
+                }
+                case NEW_MULTI_ARRAY -> {
+                    ArrayType type = (ArrayType) type();
+                    List<Value> sizes = new ArrayList<>();
+                    for (int i = in.readInt(); i > 0; i--) sizes.add(value());
+                    yield jimple.newNewMultiArrayExpr(type, sizes);
+                }
+                case STATIC_INVOKE -> {
+                    SootMethodRef ref = methodRef();
+                    yield jimple.newStaticInvokeExpr(ref, args());
+                }
+                case VIRTUAL_INVOKE, INTERFACE_INVOKE, SPECIAL_INVOKE -> {
+                    SootMethodRef ref = methodRef();
+                    Local base = (Local) value();
+                    List<Value> args = args();
+                    if (tag == VIRTUAL_INVOKE) yield jimple.newVirtualInvokeExpr(base, ref, args);
+                    if (tag == INTERFACE_INVOKE) yield jimple.newInterfaceInvokeExpr(base, ref, args);
+                    yield jimple.newSpecialInvokeExpr(base, ref, args);
+                }
+                case DYNAMIC_INVOKE -> {
+                    SootMethodRef bootstrap = methodRef();
+                    List<Value> bootstrapArgs = args();
+                    SootMethodRef ref = methodRef();
+                    int handleTag = in.readInt();
+                    yield jimple.newDynamicInvokeExpr(bootstrap, bootstrapArgs, ref, handleTag, args());
+                }
+                default -> throw new IOException("Unknown IR value " + tag);
+            };
+        }
+
+        private Value binop(byte code, Value left, Value right) throws IOException {
+            return switch (code) {
+                case 0 -> jimple.newAddExpr(left, right);
+                case 1 -> jimple.newSubExpr(left, right);
+                case 2 -> jimple.newMulExpr(left, right);
+                case 3 -> jimple.newDivExpr(left, right);
+                case 4 -> jimple.newRemExpr(left, right);
+                case 5 -> jimple.newAndExpr(left, right);
+                case 6 -> jimple.newOrExpr(left, right);
+                case 7 -> jimple.newXorExpr(left, right);
+                case 8 -> jimple.newShlExpr(left, right);
+                case 9 -> jimple.newShrExpr(left, right);
+                case 10 -> jimple.newUshrExpr(left, right);
+                case 11 -> jimple.newCmpExpr(left, right);
+                case 12 -> jimple.newCmpgExpr(left, right);
+                case 13 -> jimple.newCmplExpr(left, right);
+                case 14 -> jimple.newEqExpr(left, right);
+                case 15 -> jimple.newNeExpr(left, right);
+                case 16 -> jimple.newGeExpr(left, right);
+                case 17 -> jimple.newGtExpr(left, right);
+                case 18 -> jimple.newLeExpr(left, right);
+                case 19 -> jimple.newLtExpr(left, right);
+                default -> throw new IOException("Unknown IR operator " + code);
+            };
+        }
+
+        private List<Value> args() throws IOException {
+            int count = in.readInt();
+            List<Value> args = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) args.add(value());
+            return args;
+        }
+
+        private SootMethodRef methodRef() throws IOException {
+            SootClass declaring = Scene.v().getSootClass(string());
+            String name = string();
+            List<Type> parameterTypes = types();
+            Type returnType = type();
+            return Scene.v().makeMethodRef(declaring, name, parameterTypes, returnType, in.readBoolean());
+        }
+
+        private SootFieldRef fieldRef() throws IOException {
+            SootClass declaring = Scene.v().getSootClass(string());
+            String name = string();
+            Type type = type();
+            return Scene.v().makeFieldRef(declaring, name, type, in.readBoolean());
+        }
+
+        private List<Type> types() throws IOException {
+            int count = in.readInt();
+            List<Type> types = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) types.add(type());
+            return types;
+        }
+
+        private Type type() throws IOException {
+            return parseType(string());
+        }
+
+        private String string() throws IOException {
+            return pool[in.readInt()];
+        }
+    }
+
+    /**
+     * Inverse of {@link Type#toString()} for the types {@code jb} produces.
+     */
+    static Type parseType(String name) {
+        if (name.endsWith("[]")) {
+            int dimensions = 0;
+            int end = name.length();
+            while (name.startsWith("[]", end - 2)) {
+                dimensions++;
+                end -= 2;
+            }
+            return ArrayType.v(parseType(name.substring(0, end)), dimensions);
+        }
+        return switch (name) {
+            case "boolean" -> BooleanType.v();
+            case "byte" -> ByteType.v();
+            case "char" -> CharType.v();
+            case "short" -> ShortType.v();
+            case "int" -> IntType.v();
+            case "long" -> LongType.v();
+            case "float" -> FloatType.v();
+            case "double" -> DoubleType.v();
+            case "void" -> VoidType.v();
+            case "null_type" -> NullType.v();
+            case "unknown" -> UnknownType.v();
+            default -> RefType.v(name);
+        };
+    }
+
+    /**
+     * Everything that changes the bodies {@code jb} builds from the same bytecode.
+     */
+    private static String fingerprint() {
+        StringBuilder options = new StringBuilder("format=").append(FORMAT)
+                .append(";soot=").append(Scene.class.getPackage().getImplementationVersion())
+                .append(";lines=").append(Options.v().keep_line_number())
+                .append(";phantoms=").append(Options.v().allow_phantom_refs())
+                .append(";jb=").append(new TreeMap<>(PhaseOptions.v().getPhaseOptions("jb")));
+        for (Transform transform : PackManager.v().getPack("jb")) {
+            options.append(';').append(transform.getPhaseName()).append('=')
+                    .append(new TreeMap<>(PhaseOptions.v().getPhaseOptions(transform)));
+        }
+        return HexFormat.of().formatHex(sha256().digest(options.toString().getBytes(StandardCharsets.UTF_8)), 0, 8);
+    }
+
+    private static void hashClasses(Path target, Map<String, String> hashes) throws IOException {
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.walk(target)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String relative = target.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                    if (!relative.endsWith(".class") || relative.endsWith("module-info.class")) continue;
+                    try (InputStream in = Files.newInputStream(file)) {
+                        hashes.put(ChunkPlanner.className(relative), hash(in));
+                    }
+                }
+            }
+        } else if (Files.isRegularFile(target)) {
+            try (JarFile jar = new JarFile(target.toFile())) {
+                for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); ) {
+                    JarEntry entry = entries.nextElement();
+                    String name = entry.getName();
+                    if (!name.endsWith(".class") || name.endsWith("module-info.class")) continue;
+                    try (InputStream in = jar.getInputStream(entry)) {
+                        hashes.put(ChunkPlanner.className(name), hash(in));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String hash(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        for (int n; (n = in.read(buffer)) > 0; ) digest.update(buffer, 0, n);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
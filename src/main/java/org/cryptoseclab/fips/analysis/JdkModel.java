@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.Attribute;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.RecordComponentVisitor;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.TypePath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * A stub model of the JDK that scans load instead of the real one. Scans never need JDK
+ * bytecode: {@code java.*} and {@code javax.*} are excluded and only resolved to signatures,
+ * yet prepending the JDK makes Soot index every module and resolve the non-excluded
+ * {@code jdk.internal} classes the basic classes pull in down to their bodies. The model keeps
+ * what the analysis reads from the JDK (class hierarchy, fields and non-private method
+ * signatures) for the {@code java.*} and {@code javax.*} classes of {@code java.base}, which
+ * hold the JCA, plus any extra classes asked for and the supertypes of everything kept.
+ * Method bodies are replaced by {@code throw null}. Whatever the model lacks is phantom.
+ */
+public final class JdkModel {
+
+    public static final String MANIFEST = "META-INF/fips-jdk-model.properties";
+
+    private static final String API_MODULE = "java.base";
+    private static final List<String> JCA_PACKAGES = List.of("java/security/", "javax/crypto/", "javax/net/ssl/");
+
+    /**
+     * @param entryPoints JCA classes with a {@code getInstance} factory, i.e. the usual rule targets
+     */
+    public record Stats(int classes, long bytes, long millis, Set<String> entryPoints) {
+
+        public String describe() {
+            return String.format("JDK model: %d classes, %d crypto entry points, %d KB in %d ms",
+                    classes, entryPoints.size(), bytes / 1024, millis);
+        }
+    }
+
+    private JdkModel() {
+    }
+
+    /**
+     * Writes the model of the running JDK to {@code jar}.
+     *
+     * @param extraClasses further classes (dotted names) to keep from any module
+     */
+    public static Stats build(Path jar, Collection<String> extraClasses) throws IOException {
+        long start = System.nanoTime();
+        FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        List<Path> modules;
+        try (Stream<Path> dirs = Files.list(jrt.getPath("/modules"))) {
+            modules = dirs.toList();
+        }
+
+        Deque<String> work = new ArrayDeque<>();
+        Path api = jrt.getPath("/modules", API_MODULE);
+        try (Stream<Path> files = Files.walk(api)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = api.relativize(file).toString();
+                if ((name.startsWith("java/") || name.startsWith("javax/")) && name.endsWith(".class")) {
+                    work.add(name.substring(0, name.length() - ".class".length()));
+                }
+            }
+        }
+        for (String extra : extraClasses) work.add(extra.replace('.', '/'));
+
+        Set<String> written = new TreeSet<>();
+        Set<String> entryPoints = new TreeSet<>();
+        Files.createDirectories(jar.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(jar.toAbsolutePath().getParent(), jar.getFileName().toString(), ".tmp");
+        try {
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(temp))) {
+                while (!work.isEmpty()) {
+                    String internalName = work.poll();
+                    if (written.contains(internalName)) continue;
+                    byte[] classFile = read(modules, internalName);
+                    if (classFile == null) continue;
+                    written.add(internalName);
+
+                    StubWriter stub = new StubWriter();
+                    new ClassReader(classFile).accept(stub, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                    if (stub.superName != null) work.add(stub.superName);
+                    if (stub.interfaces != null) work.addAll(List.of(stub.interfaces));
+                    if (stub.entryPoint) entryPoints.add(internalName.replace('/', '.'));
+
+                    out.putNextEntry(new JarEntry(internalName + ".class"));
+                    out.write(stub.writer.toByteArray());
+                    out.closeEntry();
+                }
+
+                Properties manifest = new Properties();
+                manifest.setProperty("java.version", System.getProperty("java.version"));
+                manifest.setProperty("java.vendor", System.getProperty("java.vendor"));
+                manifest.setProperty("classes", Integer.toString(written.size()));
+                manifest.setProperty("entryPoints", String.join(",", entryPoints));
+                out.putNextEntry(new JarEntry(MANIFEST));
+                manifest.store(out, "FIPS crypto audit JDK model");
+                out.closeEntry();
+            }
+            Files.move(temp, jar, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new Stats(written.size(), Files.size(jar), (System.nanoTime() - start) / 1_000_000, entryPoints);
+    }
+
+    /**
+     * The properties a model was built with; a model built on another JDK release still
+     * works, but signatures added or removed since then are missing or stale.
+     */
+    public static Properties manifest(Path jar) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            JarEntry entry = file.getJarEntry(MANIFEST);
+            if (entry == null) throw new IOException("Not a JDK model: " + jar);
+            Properties manifest = new Properties();
+            try (InputStream in = file.getInputStream(entry)) {
+                manifest.load(in);
+            }
+            return manifest;
+        }
+    }
+
+    private static byte[] read(List<Path> modules, String internalName) throws IOException {
+        for (Path module : modules) {
+            Path file = module.resolve(internalName + ".class");
+            if (Files.exists(file)) return Files.readAllBytes(file);
+        }
+        return null;
+    }
+
+    /**
+     * Copies a class without private members, debug information, generic signatures,
+     * annotations or code.
+     */
+    private static final class StubWriter extends ClassVisitor {
+
+        final ClassWriter writer;
+        String superName;
+        String[] interfaces;
+        boolean entryPoint;
+        private boolean jca;
+
+        StubWriter() {
+            this(new ClassWriter(0));
+        }
+
+        private StubWriter(ClassWriter writer) {
+            super(Opcodes.ASM9, writer);
+            this.writer = writer;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.superName = superName;
+            this.interfaces = interfaces;
+            this.jca = JCA_PACKAGES.stream().anyMatch(name::startsWith) && (access & Opcodes.ACC_PUBLIC) != 0;
+            super.visit(version, access, name, null, superName, interfaces);
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            if ((access & Opcodes.ACC_PRIVATE) != 0) return null;
+            FieldVisitor field = super.visitField(access, name, descriptor, null, value);
+            field.visitEnd();
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            if ((access & Opcodes.ACC_PRIVATE) != 0) return null;
+            if (jca && name.equals("getInstance") && (access & (Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC))
+                    == (Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC)) {
+                entryPoint = true;
+            }
+            MethodVisitor method = super.visitMethod(access, name, descriptor, null, exceptions);
+            if ((access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0) {
+                method.visitCode();
+                method.visitInsn(Opcodes.ACONST_NULL);
+                method.visitInsn(Opcodes.ATHROW);
+                method.visitMaxs(1, localSlots(access, descriptor));
+            }
+            method.visitEnd();
+            return null;
+        }
+
+        private static int localSlots(int access, String descriptor) {
+            int slots = (Type.getArgumentsAndReturnSizes(descriptor) >> 2) - 1;
+            return (access & Opcodes.ACC_STATIC) != 0 ? slots : slots + 1;
+        }
+
+        // Only the hierarchy and member signatures are modelled
+        @Override
+        public void visitSource(String source, String debug) {
+        }
+
+        @Override
+        public void visitNestHost(String nestHost) {
+        }
+
+        @Override
+        public void visitNestMember(String nestMember) {
+        }
+
+        @Override
+        public void visitPermittedSubclass(String permittedSubclass) {
+        }
+
+        @Override
+        public void visitOuterClass(String owner, String name, String descriptor) {
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access) {
+        }
+
+        @Override
+        public RecordComponentVisitor visitRecordComponent(String name, String descriptor, String signature) {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public void visitAttribute(Attribute attribute) {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.ArgPredicate;
+import org.cryptoseclab.fips.model.CryptoRule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A library method that passes one of its parameters into an argument of a rule target, e.g.
+ * a helper whose first parameter reaches {@code Cipher.getInstance}. Application calls to the
+ * method are checked like calls to the target itself, so the library need not be analyzed
+ * again.
+ *
+ * @param descriptor JVM descriptor of the library method
+ * @param ruleIndex  position of the rule in the rule set the summary was exported under
+ * @param ruleArg    the rule's algorithm or predicate argument that receives the parameter
+ */
+public record LibrarySummary(String className, String methodName, String descriptor, int paramIndex,
+                             int ruleIndex, int ruleArg) {
+
+    /**
+     * The rule this summary stands for, retargeted at the library method and keeping only the
+     * argument the parameter feeds; {@code null} when the rule set no longer has that argument.
+     */
+    public CryptoRule derive(List<CryptoRule> rules) {
+        if (ruleIndex >= rules.size()) return null;
+        CryptoRule rule = rules.get(ruleIndex);
+        CryptoRule derived = new CryptoRule();
+        derived.setCategory(rule.getCategory());
+        derived.setClassName(className);
+        derived.setMethodName(methodName);
+        derived.setDescriptor(descriptor);
+        derived.setMatchSubtypes(rule.isMatchSubtypes());
+        derived.addPolicies(rule.getPolicyMask());
+        derived.setAlgoArgIndex(ruleArg == rule.getAlgoArgIndex() ? paramIndex : -1);
+
+        List<ArgPredicate> predicates = new ArrayList<>();
+        for (ArgPredicate predicate : rule.getArgPredicates()) {
+            if (predicate.getArgIndex() != ruleArg) continue;
+            ArgPredicate copy = new ArgPredicate();
+            copy.setArgIndex(paramIndex);
+            copy.setName(predicate.getName());
+            copy.setMin(predicate.getMin());
+            copy.setMax(predicate.getMax());
+            copy.setOneOf(predicate.getOneOf());
+            copy.setNoneOf(predicate.getNoneOf());
+            predicates.add(copy);
+        }
+        derived.setArgPredicates(predicates);
+        return derived.hasAlgorithmArg() || !predicates.isEmpty() ? derived : null;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.ArgPredicate;
+import org.cryptoseclab.fips.model.CryptoRule;
+import soot.Local;
+import soot.SootMethod;
+import soot.SootMethodRef;
+import soot.Value;
+import soot.jimple.InvokeExpr;
+import soot.jimple.Stmt;
+import soot.jimple.toolkits.callgraph.Edge;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the {@link LibrarySummary}s of the analyzed classes: rule arguments that are
+ * parameters of the calling method, followed up call-graph edges to callers that pass
+ * their own parameters on, the way {@link ValueTracer} follows them back.
+ */
+public class ParameterFlowCheck implements StatementCheck {
+
+    private record Flow(SootMethod method, int paramIndex, int ruleIndex, int ruleArg) {
+    }
+
+    private final RuleCheck ruleCheck;
+    private final Map<CryptoRule, Integer> ruleIndexes = new IdentityHashMap<>();
+    private final Set<Flow> flows = new HashSet<>();
+
+    /**
+     * @param rules the rules {@code ruleCheck} matches, which summaries refer to by position
+     */
+    public ParameterFlowCheck(RuleCheck ruleCheck, List<CryptoRule> rules) {
+        this.ruleCheck = ruleCheck;
+        for (int i = 0; i < rules.size(); i++) ruleIndexes.put(rules.get(i), i);
+    }
+
+    @Override
+    public boolean wantsInvoke(SootMethodRef target) {
+        return ruleCheck.rulesFor(target).length > 0;
+    }
+
+    @Override
+    public void visitInvoke(AnalysisContext context, SootMethod method, Stmt stmt, InvokeExpr invoke, FindingSink sink) {
+        for (CryptoRule rule : ruleCheck.rulesFor(invoke.getMethodRef())) {
+            Integer ruleIndex = ruleIndexes.get(rule);
+            if (ruleIndex == null) continue;
+            if (rule.hasAlgorithmArg()) addFlow(context, method, invoke, rule.getAlgoArgIndex(), ruleIndex, rule.getAlgoArgIndex());
+            for (ArgPredicate predicate : rule.getArgPredicates()) {
+                addFlow(context, method, invoke, predicate.getArgIndex(), ruleIndex, predicate.getArgIndex());
+            }
+        }
+    }
+
+    private void addFlow(AnalysisContext context, SootMethod method, InvokeExpr invoke, int argIndex, int ruleIndex,
+                         int ruleArg) {
+        if (argIndex >= invoke.getArgCount() || !(invoke.getArg(argIndex) instanceof Local local)) return;
+        int paramIndex = context.bodies().parameterIndex(method, local.getName());
+        if (paramIndex >= 0) flows.add(new Flow(method, paramIndex, ruleIndex, ruleArg));
+    }
+
+    /**
+     * Summaries of every method a caller outside the analyzed classes could pass a value through.
+     */
+    public Set<LibrarySummary> summaries(AnalysisContext context) {
+        Set<Flow> reached = new HashSet<>(flows);
+        Deque<Flow> work = new ArrayDeque<>(flows);
+        while (!work.isEmpty()) {
+            Flow flow = work.pop();
+            Iterator<Edge> edges = context.callGraph().edgesInto(flow.method());
+            while (edges.hasNext()) {
+                Edge edge = edges.next();
+                SootMethod caller = edge.src();
+                if (!caller.getDeclaringClass().isApplicationClass()) continue;
+                if (!(edge.srcUnit() instanceof Stmt stmt) || !stmt.containsInvokeExpr()) continue;
+
+                InvokeExpr invoke = stmt.getInvokeExpr();
+                if (flow.paramIndex() >= invoke.getArgCount()) continue;
+                Value arg = invoke.getArg(flow.paramIndex());
+                if (!(arg instanceof Local local)) continue;
+                int paramIndex = context.bodies().parameterIndex(caller, local.getName());
+                Flow next = new Flow(caller, paramIndex, flow.ruleIndex(), flow.ruleArg());
+                if (paramIndex >= 0 && reached.add(next)) work.push(next);
+            }
+        }
+
+        Set<LibrarySummary> summaries = new HashSet<>();
+        for (Flow flow : reached) {
+            SootMethod method = flow.method();
+            if (method.isPrivate() || method.isStaticInitializer()) continue;
+            summaries.add(new LibrarySummary(method.getDeclaringClass().getName(), method.getName(),
+                    RuleCheck.descriptor(method), flow.paramIndex(), flow.ruleIndex(), flow.ruleArg()));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.ScanFinding;
+import soot.ArrayType;
+import soot.RefType;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.VoidType;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+import soot.tagkit.AnnotationTag;
+import soot.tagkit.Host;
+import soot.tagkit.Tag;
+import soot.tagkit.VisibilityAnnotationTag;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Restricts the analysis to application code reachable from configured entry points. The
+ * call graph is built from those entry points, and the application methods reachable in it
+ * are computed once per scan as a bitset over method IDs, so the {@link AnalysisBus} decides
+ * per method with a single bit test. Crypto call sites in unreachable methods are skipped
+ * before any tracing, or, with {@code tagUnreachable}, analyzed and reported as unreachable.
+ */
+public record ReachabilityFilter(Set<EntryKind> entryPoints, boolean tagUnreachable) {
+
+    public enum EntryKind {
+        /** {@code public static void main(String[])} of every application class. */
+        MAIN,
+        /** Spring, JAX-RS and servlet handlers, and the constructors of Spring components. */
+        HANDLERS,
+        /** Every public or protected method of a public class, for libraries. */
+        PUBLIC_API;
+
+        public static EntryKind parse(String name) {
+            return valueOf(name.strip().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    /**
+     * @param skippedSites   crypto call sites in unreachable methods that were not traced
+     * @param savedMillis    tracing time not spent on them, estimated from the traced sites
+     * @param taggedFindings findings reported as unreachable
+     * @param tagMillis      time spent analyzing unreachable methods when tagging
+     */
+    public record Stats(int entryPoints, int methods, int reachableMethods, int skippedSites, long savedMillis,
+                        int taggedFindings, long tagMillis, long millis) {
+
+        public String describe() {
+            String unreachable = String.format("reachability: %d entry points, %d/%d methods reachable in %d ms",
+                    entryPoints, reachableMethods, methods, millis);
+            if (taggedFindings > 0 || tagMillis > 0) {
+                return unreachable + String.format(" | %d findings tagged unreachable, %d ms spent on unreachable code",
+                        taggedFindings, tagMillis);
+            }
+            return unreachable + String.format(" | %d call sites skipped, ~%d ms tracing saved", skippedSites, savedMillis);
+        }
+    }
+
+    private static final List<String> HANDLER_ANNOTATIONS = List.of(
+            "Lorg/springframework/web/bind/annotation/",
+            "Lorg/springframework/scheduling/annotation/Scheduled;",
+            "Lorg/springframework/context/event/EventListener;",
+            "Lorg/springframework/context/annotation/Bean;",
+            "Lorg/springframework/kafka/annotation/KafkaListener;",
+            "Lorg/springframework/jms/annotation/JmsListener;",
+            "Ljavax/ws/rs/", "Ljakarta/ws/rs/",
+            "Ljavax/annotation/PostConstruct;", "Ljakarta/annotation/PostConstruct;");
+    private static final List<String> COMPONENT_ANNOTATIONS = List.of(
+            "Lorg/springframework/stereotype/",
+            "Lorg/springframework/web/bind/annotation/RestController;",
+            "Lorg/springframework/context/annotation/Configuration;",
+            "Lorg/springframework/boot/autoconfigure/SpringBootApplication;",
+            "Ljavax/ws/rs/Path;", "Ljakarta/ws/rs/Path;");
+    private static final List<String> SERVLET_TYPES = List.of(
+            "javax.servlet.Servlet", "javax.servlet.http.HttpServlet", "javax.servlet.GenericServlet",
+            "javax.servlet.Filter", "javax.servlet.ServletContextListener",
+            "jakarta.servlet.Servlet", "jakarta.servlet.http.HttpServlet", "jakarta.servlet.GenericServlet",
+            "jakarta.servlet.Filter", "jakarta.servlet.ServletContextListener");
+
+    /**
+     * @param spec comma-separated entry point kinds, e.g. {@code main,handlers}
+     */
+    public static ReachabilityFilter parse(String spec, boolean tagUnreachable) {
+        Set<EntryKind> kinds = EnumSet.noneOf(EntryKind.class);
+        for (String name : spec.split(",")) {
+            if (!name.isBlank()) kinds.add(EntryKind.parse(name));
+        }
+        if (kinds.isEmpty()) throw new IllegalArgumentException("No entry points given: " + spec);
+        return new ReachabilityFilter(kinds, tagUnreachable);
+    }
+
+    /**
+     * The concrete entry point methods of the given application classes.
+     */
+    public List<SootMethod> entryPointsOf(Collection<SootClass> classes) {
+        List<SootMethod> methods = new ArrayList<>();
+        for (SootClass cls : classes) {
+            boolean component = entryPoints.contains(EntryKind.HANDLERS) && hasAnnotation(cls, COMPONENT_ANNOTATIONS);
+            boolean servlet = entryPoints.contains(EntryKind.HANDLERS) && isServlet(cls);
+            boolean api = entryPoints.contains(EntryKind.PUBLIC_API) && cls.isPublic();
+            for (SootMethod method : cls.getMethods()) {
+                if (!method.isConcrete()) continue;
+                if (entryPoints.contains(EntryKind.MAIN) && isMain(method)
+                        || entryPoints.contains(EntryKind.HANDLERS) && hasAnnotation(method, HANDLER_ANNOTATIONS)
+                        || component && method.isConstructor()
+                        || servlet && method.isPublic() && !method.isStatic()
+                        || api && (method.isPublic() || method.isProtected())) {
+                    methods.add(method);
+                }
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Which of {@code methods} are reachable from {@code entryPoints} over the edges of
+     * {@code callGraph}, by position in {@code methods}. Soot no longer numbers methods, so
+     * the position is the method ID.
+     */
+    public static BitSet reachable(CallGraph callGraph, Collection<SootMethod> entryPoints, List<SootMethod> methods) {
+        Map<SootMethod, Integer> ids = new IdentityHashMap<>();
+        for (int i = 0; i < methods.size(); i++) ids.put(methods.get(i), i);
+
+        BitSet reachable = new BitSet(methods.size());
+        Set<SootMethod> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<SootMethod> work = new ArrayDeque<>();
+        for (SootMethod method : entryPoints) {
+            if (seen.add(method)) work.push(method);
+        }
+        while (!work.isEmpty()) {
+            SootMethod method = work.pop();
+            Integer id = ids.get(method);
+            if (id != null) reachable.set(id);
+            Iterator<Edge> edges = callGraph.edgesOutOf(method);
+            while (edges.hasNext()) {
+                SootMethod target = edges.next().tgt();
+                if (seen.add(target)) work.push(target);
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Marks a finding of an unreachable method. The resolution is left as traced, so the same
+     * site reports the same resolution with or without {@code --tag-unreachable}.
+     */
+    public static ScanFinding tag(ScanFinding f) {
+        return f.asUnreachable();
+    }
+
+    private static boolean isMain(SootMethod method) {
+        return method.getName().equals("main") && method.isStatic() && method.isPublic()
+                && method.getReturnType() == VoidType.v() && method.getParameterCount() == 1
+                && method.getParameterType(0).equals(ArrayType.v(RefType.v("java.lang.String"), 1));
+    }
+
+    private static boolean isServlet(SootClass cls) {
+        for (SootClass current = cls; current != null; current = current.getSuperclassUnsafe()) {
+            if (SERVLET_TYPES.contains(current.getName())) return true;
+            for (SootClass iface : current.getInterfaces()) {
+                if (SERVLET_TYPES.contains(iface.getName())) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(Host host, List<String> prefixes) {
+        for (Tag tag : host.getTags()) {
+            if (!(tag instanceof VisibilityAnnotationTag annotations) || annotations.getAnnotations() == null) continue;
+            for (AnnotationTag annotation : annotations.getAnnotations()) {
+                for (String prefix : prefixes) {
+                    if (annotation.getType().startsWith(prefix)) return true;
+                }
+            }
+        }
+        return false;
+    }
+}
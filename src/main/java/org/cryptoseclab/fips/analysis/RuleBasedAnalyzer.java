@@ -3,193 +3,106 @@ package org.cryptoseclab.fips.analysis;
 
 import org.cryptoseclab.fips.model.CryptoRule;
 import org.cryptoseclab.fips.model.ScanFinding;
-import soot.*;
-import soot.jimple.*;
+import org.cryptoseclab.fips.rule.PolicyEvaluator;
+import org.cryptoseclab.fips.rule.RuleMatcher;
+import soot.SootMethod;
 import soot.jimple.toolkits.callgraph.CallGraph;
-import soot.jimple.toolkits.callgraph.Edge;
-import soot.tagkit.LineNumberTag;
 
 import java.util.*;
 
 public class RuleBasedAnalyzer implements CryptoAnalyzer {
 
-    private static final Set<String> FIPS_PROVIDERS = Set.of("SunPKCS11", "BCFIPS", "OpenJCEPlusFIPS");
-
-    @Override
-    public List<ScanFinding> analyze(List<CryptoRule> rules, CallGraph callGraph) {
-        List<ScanFinding> findings = new ArrayList<>();
-
-        for (SootClass cls : Scene.v().getApplicationClasses()) {
-            for (SootMethod method : cls.getMethods()) {
-                if (!method.isConcrete()) continue;
+    private final PolicyEvaluator evaluator;
+    private Set<String> onlyMethods;
+    private List<CryptoRule> summaryRules;
+    private Set<LibrarySummary> summaries = Set.of();
+    private BodyManager.Stats bodyStats;
+    private ReachabilityFilter reachability;
+    private Collection<SootMethod> entryPoints;
+    private ReachabilityFilter.Stats reachabilityStats;
+
+    public RuleBasedAnalyzer() {
+        this(PolicyEvaluator.defaults());
+    }
 
-                analyzeMethodBody(method, rules, callGraph, findings);
-            }
-        }
-        return findings;
+    public RuleBasedAnalyzer(PolicyEvaluator evaluator) {
+        this.evaluator = evaluator;
     }
 
-    private void analyzeMethodBody(SootMethod method, List<CryptoRule> rules, CallGraph callGraph, List<ScanFinding> findings) {
-        Body body;
-        try {
-            body = method.retrieveActiveBody();
-        } catch (Exception e) {
-            return;
-        }
-
-        for (Unit unit : body.getUnits()) {
-            //Focus only on statements that are method calls
-            if (!(unit instanceof Stmt stmt) || !stmt.containsInvokeExpr()) continue;
-
-            InvokeExpr invoke = stmt.getInvokeExpr();
-            for (CryptoRule rule : rules) {
-                if (!matchesRule(invoke, rule)) continue;
-
-                ScanFinding finding = buildFinding(rule, method, stmt, invoke, callGraph);
-                findings.add(finding);
-            }
-        }
+    /**
+     * Limits the analysis to the given methods (by bytecode signature), e.g. the ones the
+     * {@link BytecodeFastPathAnalyzer} could not resolve on its own.
+     */
+    public void restrictTo(Set<String> bytecodeSignatures) {
+        this.onlyMethods = bytecodeSignatures;
     }
 
-    private ScanFinding buildFinding(CryptoRule rule, SootMethod method, Stmt stmt, InvokeExpr invoke, CallGraph callGraph) {
-        int line = getLineNumber(stmt);
-
-        Value algoArg = invoke.getArg(rule.getAlgoArgIndex());
-        String[] algorithmResult = resolveAlgorithmArgument(algoArg, method, callGraph);
-        String algoValue = algorithmResult[0];
-        String resolutionNote = algorithmResult[1];
-
-        String[] providerResult = resolveProvider(invoke, rule);
-        String providerValue = providerResult[0];
-        String providerStatus = providerResult[1];
-
-        return new ScanFinding(
-                rule.getCategory(),
-                method.getDeclaringClass().getName(),
-                method.getSubSignature(),
-                algoValue,
-                resolutionNote,
-                line,
-                providerValue,
-                providerStatus
-        );
+    /**
+     * Also collects the {@link LibrarySummary}s of the analyzed classes, when they are a library.
+     *
+     * @param rules the rules the matcher was compiled from; summaries refer to them by position
+     */
+    public void exportSummaries(List<CryptoRule> rules) {
+        this.summaryRules = rules;
     }
 
-    private boolean matchesRule(InvokeExpr invoke, CryptoRule rule) {
-        SootMethod target = invoke.getMethod();
-        return target.getDeclaringClass().getName().equals(rule.getClassName())
-                && target.getName().equals(rule.getMethodName())
-                && invoke.getArgCount() > rule.getAlgoArgIndex();
+    /**
+     * Analyzes only methods reachable from {@code entryPoints}, see {@link ReachabilityFilter}.
+     */
+    public void filterReachable(ReachabilityFilter filter, Collection<SootMethod> entryPoints) {
+        this.reachability = filter;
+        this.entryPoints = entryPoints;
     }
 
-    private String[] resolveAlgorithmArgument(Value arg, SootMethod method, CallGraph cg) {
-        if (arg instanceof StringConstant sc) {
-            return new String[]{sc.value, "direct constant"};
-        } else if (arg instanceof Local local) {
-            Optional<String> resolved = resolveStringArg(method, local, cg, new HashSet<>());
-            return new String[]{resolved.orElse("unresolved"), resolved.isPresent() ? "traced recursively" : "parameter not traced"};
-        }
-        return new String[]{"unresolved", "unknown expression"};
+    public boolean exportsSummaries() {
+        return summaryRules != null;
     }
 
-    private String[] resolveProvider(InvokeExpr invoke, CryptoRule rule) {
-        if (rule.getProviderArgIndex() != null && invoke.getArgCount() > rule.getProviderArgIndex()) {
-            Value providerArg = invoke.getArg(rule.getProviderArgIndex());
-            if (providerArg instanceof StringConstant psc) {
-                String providerValue = psc.value;
-                String status = FIPS_PROVIDERS.contains(providerValue) ? "FIPS" : "⚠️ Non-FIPS";
-                return new String[]{providerValue, status};
-            } else {
-                return new String[]{"unknown", "unresolved"};
-            }
-        }
-        return new String[]{"none", "default"};
+    @Override
+    public List<ScanFinding> analyze(List<CryptoRule> rules, CallGraph callGraph) {
+        return analyze(RuleMatcher.compile(rules), callGraph);
     }
 
-    private Optional<String> resolveStringArg(SootMethod callee, Local local, CallGraph cg, Set<SootMethod> visited) {
-        int paramIndex = getParameterIndex(callee, local);
-        if (paramIndex == -1 || visited.contains(callee)) return Optional.empty();
-        visited.add(callee);
-
-        Iterator<Edge> edges = cg.edgesInto(callee);
-        while (edges.hasNext()) {
-            Edge edge = edges.next();
-            Unit srcUnit = edge.srcUnit();
-            if (srcUnit instanceof Stmt stmt && stmt.containsInvokeExpr()) {
-                InvokeExpr inv = stmt.getInvokeExpr();
-                if (paramIndex >= inv.getArgCount()) continue;
-
-                Value arg = inv.getArg(paramIndex);
-                if (arg instanceof StringConstant sc) {
-                    return Optional.of(sc.value);
-                } else if (arg instanceof Local l) {
-                    Optional<String> nested = resolveStringArg(edge.src(), l, cg, visited);
-                    if (nested.isPresent()) return nested;
-
-                    // Handle static field assigned to local
-                    Optional<String> fromField = resolveStaticFieldFromAssignments(edge.src(), l);
-                    if (fromField.isPresent()) return fromField;
-                }
-            }
-        }
-        return Optional.empty();
+    public List<ScanFinding> analyze(RuleMatcher matcher, CallGraph callGraph) {
+        List<ScanFinding> findings = new ArrayList<>();
+        analyze(matcher, callGraph, findings::add);
+        return findings;
     }
 
-    private Optional<String> resolveStaticFieldFromAssignments(SootMethod method, Local local) {
-        if (!method.hasActiveBody()) return Optional.empty();
-
-        for (Unit unit : method.retrieveActiveBody().getUnits()) {
-            if (unit instanceof AssignStmt assignStmt &&
-                    assignStmt.getLeftOp() instanceof Local lhs &&
-                    lhs.getName().equals(local.getName())) {
-
-                Value rhs = assignStmt.getRightOp();
-                if (rhs instanceof StaticFieldRef sfr) {
-                    return tryResolveStaticFinalField(sfr.getField());
-                }
-            }
-        }
-        return Optional.empty();
+    /**
+     * Hands each finding to {@code sink} as the check that found it reports it.
+     */
+    public void analyze(RuleMatcher matcher, CallGraph callGraph, FindingSink sink) {
+        RuleCheck ruleCheck = new RuleCheck(matcher, evaluator);
+        AnalysisBus bus = new AnalysisBus().register(ruleCheck);
+        ParameterFlowCheck flows = summaryRules == null ? null : new ParameterFlowCheck(ruleCheck, summaryRules);
+        if (flows != null) bus.register(flows);
+        if (onlyMethods != null) bus.restrictTo(onlyMethods);
+        if (reachability != null) bus.filterReachable(reachability, entryPoints);
+        AnalysisContext context = bus.run(callGraph, sink);
+        bodyStats = context.bodies().stats();
+        reachabilityStats = bus.reachabilityStats();
+        if (flows != null) summaries = flows.summaries(context);
     }
 
-    private Optional<String> tryResolveStaticFinalField(SootField field) {
-        SootClass declaringClass = field.getDeclaringClass();
-        if (!declaringClass.isApplicationClass()) return Optional.empty();
-
-        for (SootMethod method : declaringClass.getMethods()) {
-            if (!method.getName().equals("<clinit>")) continue;
-            try {
-                Body clinitBody = method.retrieveActiveBody();
-                for (Unit unit : clinitBody.getUnits()) {
-                    if (!(unit instanceof AssignStmt assignStmt)) continue;
-                    if (!(assignStmt.getLeftOp() instanceof StaticFieldRef lhs)) continue;
-                    if (!lhs.getField().equals(field)) continue;
-                    if (assignStmt.getRightOp() instanceof StringConstant sc) {
-                        return Optional.of(sc.value);
-                    }
-                }
-            } catch (Exception ignored) {
-            }
-        }
-        return Optional.empty();
+    /**
+     * Summaries found by the last {@link #analyze} run; empty unless {@link #exportSummaries} was called.
+     */
+    public Set<LibrarySummary> summaries() {
+        return summaries;
     }
 
-    private int getParameterIndex(SootMethod method, Local local) {
-        if (!method.hasActiveBody()) return -1;
-        List<Local> params = method.retrieveActiveBody().getParameterLocals();
-        for (int i = 0; i < params.size(); i++) {
-            if (params.get(i).getName().equals(local.getName())) {
-                return i;
-            }
-        }
-        return -1;
+    /**
+     * Reachability of the last {@link #analyze} run; {@code null} without a {@link ReachabilityFilter}.
+     */
+    public ReachabilityFilter.Stats reachabilityStats() {
+        return reachabilityStats;
     }
 
-    private int getLineNumber(Unit unit) {
-        if (unit.hasTag("LineNumberTag")) {
-            LineNumberTag tag = (LineNumberTag) unit.getTag("LineNumberTag");
-            return tag.getLineNumber();
-        }
-        return -1;
+    /**
+     * Bodies released during the last {@link #analyze} run.
+     */
+    public BodyManager.Stats bodyStats() {
+        return bodyStats;
     }
 }
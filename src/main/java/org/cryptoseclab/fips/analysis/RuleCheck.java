@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.ArgPredicate;
+import org.cryptoseclab.fips.model.CryptoRule;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.rule.PolicyEvaluator;
+import org.cryptoseclab.fips.rule.RuleMatcher;
+import soot.AbstractJasminClass;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.SootMethodRef;
+import soot.Value;
+import soot.jimple.InvokeExpr;
+import soot.jimple.Stmt;
+import soot.jimple.StringConstant;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports every call to a {@link CryptoRule} target together with its traced algorithm
+ * and provider arguments and its argument predicates, classified by the {@link PolicyEvaluator}.
+ */
+public class RuleCheck implements StatementCheck {
+
+    private final RuleMatcher matcher;
+    private final PolicyEvaluator evaluator;
+    private final Map<SootMethodRef, CryptoRule[]> rulesByTarget = new HashMap<>();
+    private SubtypeIndex subtypeIndex;
+
+    public RuleCheck(RuleMatcher matcher, PolicyEvaluator evaluator) {
+        this.matcher = matcher;
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public boolean wantsInvoke(SootMethodRef target) {
+        return rulesFor(target).length > 0;
+    }
+
+    @Override
+    public void visitInvoke(AnalysisContext context, SootMethod method, Stmt stmt, InvokeExpr invoke, FindingSink sink) {
+        for (CryptoRule rule : rulesFor(invoke.getMethodRef())) {
+            sink.accept(buildFinding(context, rule, method, stmt, invoke));
+        }
+    }
+
+    /**
+     * Rules for a call site's method reference. Matching the referenced rather than the resolved
+     * class keeps {@code matchSubtypes: false} effective for inherited methods called through a
+     * subclass, as on the fast path.
+     */
+    CryptoRule[] rulesFor(SootMethodRef target) {
+        CryptoRule[] cached = rulesByTarget.get(target);
+        if (cached != null) return cached;
+
+        if (subtypeIndex == null) subtypeIndex = SubtypeIndex.build(Scene.v().getClasses(), matcher);
+
+        SootClass declaringClass = target.getDeclaringClass();
+        CryptoRule[] matched = matcher.match(declaringClass.getName(), target.getName(),
+                AbstractJasminClass.jasminDescriptorOf(target),
+                subtypeIndex.ruleSupertypes(declaringClass));
+        rulesByTarget.put(target, matched);
+        return matched;
+    }
+
+    /**
+     * The JVM descriptor of {@code method}, as rules match it.
+     */
+    static String descriptor(SootMethod method) {
+        String signature = method.getBytecodeSignature();
+        return signature.substring(signature.indexOf('('), signature.length() - 1);
+    }
+
+    private ScanFinding buildFinding(AnalysisContext context, CryptoRule rule, SootMethod method, Stmt stmt, InvokeExpr invoke) {
+        int line = AnalysisContext.lineNumber(stmt);
+
+        String algoValue = null;
+        String resolutionNote = null;
+        if (rule.hasAlgorithmArg()) {
+            String[] algorithmResult = context.tracer().resolveConstant(invoke.getArg(rule.getAlgoArgIndex()), method);
+            algoValue = algorithmResult[0];
+            resolutionNote = algorithmResult[1];
+        }
+
+        List<ArgPredicate> predicates = rule.getArgPredicates();
+        String[] argValues = new String[predicates.size()];
+        for (int i = 0; i < argValues.length; i++) {
+            String[] argResult = context.tracer().resolveConstant(invoke.getArg(predicates.get(i).getArgIndex()), method);
+            argValues[i] = argResult[0];
+            if (resolutionNote == null) resolutionNote = argResult[1];
+        }
+        if (algoValue == null) algoValue = PolicyEvaluator.describeArguments(rule, argValues);
+
+        String providerValue = resolveProvider(invoke, rule);
+        String receiverAlgorithm = rule.needsReceiverAlgorithm() ? ValueTracer.receiverAlgorithm(method, invoke) : null;
+        PolicyEvaluator.Verdict verdict = evaluator.evaluate(rule, algoValue, providerValue, argValues, receiverAlgorithm);
+
+        return new ScanFinding(
+                rule.getCategory(),
+                method.getDeclaringClass().getName(),
+                method.getSubSignature(),
+                algoValue,
+                resolutionNote,
+                line,
+                providerValue,
+                verdict.providerStatus(),
+                verdict.algorithmStatus(),
+                verdict.violationMask(),
+                null,
+                null,
+                false
+        );
+    }
+
+    private String resolveProvider(InvokeExpr invoke, CryptoRule rule) {
+        if (rule.getProviderArgIndex() != null && invoke.getArgCount() > rule.getProviderArgIndex()) {
+            Value providerArg = invoke.getArg(rule.getProviderArgIndex());
+            if (providerArg instanceof StringConstant psc) {
+                return psc.value;
+            } else {
+                return "unknown";
+            }
+        }
+        return "none";
+    }
+}
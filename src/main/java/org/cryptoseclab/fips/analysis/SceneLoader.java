@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.ArrayType;
+import soot.EntryPoints;
+import soot.G;
+import soot.RefType;
+import soot.Scene;
+import soot.SootClass;
+import soot.VoidType;
+import soot.options.Options;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the classes of a scan target into the Soot {@link Scene}. A cold loader starts every
+ * scan from {@code G.reset()}. A warm loader keeps the Scene between scans: only application
+ * classes and the phantoms of missing dependencies are unloaded, together with everything
+ * derived from them (call graph, hierarchies, points-to), so JDK classes and their bodies
+ * stay resolved.
+ */
+public class SceneLoader {
+
+    private final boolean keepWarm;
+    private final Path jdkModel;
+    private boolean loaded;
+
+    public SceneLoader(boolean keepWarm) {
+        this(keepWarm, null);
+    }
+
+    /**
+     * @param jdkModel a {@link JdkModel} to load instead of the running JDK; may be {@code null}
+     */
+    public SceneLoader(boolean keepWarm, Path jdkModel) {
+        this.keepWarm = keepWarm;
+        this.jdkModel = jdkModel;
+    }
+
+    /**
+     * @return whether the classes were loaded into a warm Scene
+     */
+    public boolean load(List<String> processDirs, AnalysisProfile profile) {
+        if (!keepWarm || !loaded) {
+            G.reset();
+            CallGraphResolver.configure(processDirs, profile, jdkModel);
+            Scene.v().loadNecessaryClasses();
+            loaded = true;
+            return false;
+        }
+
+        try {
+            unloadApplication();
+            Options.v().set_process_dir(processDirs);
+            profile.apply(Options.v());
+            Scene.v().setSootClassPath(null);
+            Scene.v().setResolving(false);
+            resolveDanglingClasses();
+            Scene.v().loadNecessaryClasses();
+            selectMainClass();
+        } catch (RuntimeException e) {
+            // A half-unloaded Scene is unusable; start the next scan cold
+            loaded = false;
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * The Scene remembers the main class it picked for the first target and never looks
+     * again; pick it the way Soot does on a cold load (first application class declaring
+     * {@code main}), or fall back to the implicit entry points when the target has none.
+     */
+    private static void selectMainClass() {
+        Scene scene = Scene.v();
+        for (SootClass cls : scene.getApplicationClasses()) {
+            if (cls.declaresMethod("main", List.of(ArrayType.v(RefType.v("java.lang.String"), 1)), VoidType.v())) {
+                scene.setMainClass(cls);
+                return;
+            }
+        }
+        scene.setEntryPoints(EntryPoints.v().implicit());
+    }
+
+    /**
+     * Library classes first referenced late in the previous scan (e.g. from library bodies
+     * loaded for the call graph) may still be dangling; the next hierarchy needs signatures.
+     */
+    private static void resolveDanglingClasses() {
+        Scene scene = Scene.v();
+        for (SootClass cls : new ArrayList<>(scene.getClasses())) {
+            if (cls.resolvingLevel() < SootClass.SIGNATURES) {
+                scene.forceResolve(cls.getName(), SootClass.SIGNATURES);
+            }
+        }
+    }
+
+    private static void unloadApplication() {
+        Scene scene = Scene.v();
+        scene.releaseCallGraph();
+        scene.releaseReachableMethods();
+        scene.releasePointsToAnalysis();
+        scene.releaseSideEffectAnalysis();
+        scene.releaseClientAccessibilityOracle();
+        scene.releaseActiveHierarchy();
+        scene.releaseFastHierarchy();
+        scene.setEntryPoints(null);
+
+        // Excluded library packages (java.*, ...) are phantom under no_bodies_for_excluded and
+        // stay; other phantoms are missing dependencies of the previous target
+        List<SootClass> stale = new ArrayList<>(scene.getApplicationClasses());
+        for (SootClass cls : scene.getPhantomClasses()) {
+            if (!scene.isExcluded(cls)) stale.add(cls);
+        }
+        for (SootClass cls : stale) {
+            if (cls.isInScene()) scene.removeClass(cls);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.G;
+
+import java.util.function.Supplier;
+
+/**
+ * Private Soot global state for one scan. Soot reaches every singleton (Scene, Options,
+ * PackManager, ...) through {@link G#v()}; once a context exists, {@code G.v()} answers with
+ * the {@link G} of the context bound to the calling thread, and with a shared instance on
+ * threads outside any context, so code that does not use contexts keeps the single global.
+ * {@code G.reset()} inside a context only resets that context. The binding does not follow
+ * work handed to other threads (parallel streams, executors); such tasks must re-enter the
+ * {@link #current()} context through {@link #call}.
+ */
+public final class SootContext {
+
+    private static final ThreadLocal<SootContext> CURRENT = new ThreadLocal<>();
+    private static volatile G shared;
+    private static boolean installed;
+
+    private volatile G globals;
+
+    public SootContext() {
+        install();
+    }
+
+    private static synchronized void install() {
+        if (installed) return;
+        shared = G.v();
+        G.setGlobalObjectGetter(new G.GlobalObjectGetter() {
+            @Override
+            public G getG() {
+                SootContext context = CURRENT.get();
+                if (context == null) return shared;
+                G g = context.globals;
+                if (g == null) context.globals = g = new G();
+                return g;
+            }
+
+            @Override
+            public void reset() {
+                SootContext context = CURRENT.get();
+                if (context == null) {
+                    shared = new G();
+                } else {
+                    context.globals = new G();
+                }
+            }
+        });
+        installed = true;
+    }
+
+    /**
+     * The context bound to the calling thread, or {@code null} outside any context.
+     */
+    public static SootContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code action} on the calling thread with this context's Soot state.
+     */
+    public <T> T call(Supplier<T> action) {
+        SootContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Drops the Scene and everything else Soot holds for this context; a later
+     * {@link #call} starts from fresh state.
+     */
+    public void release() {
+        globals = null;
+    }
+}
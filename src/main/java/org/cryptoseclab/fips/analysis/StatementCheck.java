@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.SootMethod;
+import soot.SootMethodRef;
+import soot.jimple.AssignStmt;
+import soot.jimple.InvokeExpr;
+import soot.jimple.Stmt;
+
+/**
+ * A single check driven by the {@link AnalysisBus}. The bus walks each method body once and
+ * hands every statement to the checks that asked for it.
+ */
+public interface StatementCheck {
+
+    /**
+     * Whether invokes of {@code target} should be dispatched to this check. The target is the
+     * method as the call site names it, so a call through a subclass names the subclass even
+     * when the method is inherited. The bus asks once per distinct target and caches the
+     * answer in its dispatch index.
+     */
+    boolean wantsInvoke(SootMethodRef target);
+
+    void visitInvoke(AnalysisContext context, SootMethod method, Stmt stmt, InvokeExpr invoke, FindingSink sink);
+
+    default boolean wantsAssignments() {
+        return false;
+    }
+
+    default void visitAssign(AnalysisContext context, SootMethod method, AssignStmt stmt, FindingSink sink) {
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.rule.RuleMatcher;
+import soot.SootClass;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Subtype closure of every class a rule names, computed once per scan. Classes get dense
+ * ids and each rule class keeps a bitset of the ids of its (transitive) subclasses and
+ * implementers, so asking which rule classes a target's class extends is one bit test per
+ * rule class and never walks the hierarchy.
+ */
+public class SubtypeIndex {
+
+    private static final String[] NO_SUPERTYPES = new String[0];
+
+    private final Map<SootClass, Integer> classIds;
+    private final String[] ruleClasses;
+    private final BitSet[] subtypes;
+
+    private SubtypeIndex(Map<SootClass, Integer> classIds, String[] ruleClasses, BitSet[] subtypes) {
+        this.classIds = classIds;
+        this.ruleClasses = ruleClasses;
+        this.subtypes = subtypes;
+    }
+
+    public static SubtypeIndex build(Collection<SootClass> classes, RuleMatcher matcher) {
+        Map<SootClass, Integer> classIds = new HashMap<>();
+        Map<SootClass, Integer> ruleIds = new HashMap<>();
+        List<String> ruleClasses = new ArrayList<>();
+        for (SootClass cls : classes) {
+            classIds.put(cls, classIds.size());
+            if (matcher.targetsClass(cls.getName())) {
+                ruleIds.put(cls, ruleClasses.size());
+                ruleClasses.add(cls.getName());
+            }
+        }
+
+        BitSet[] subtypes = new BitSet[ruleClasses.size()];
+        for (int r = 0; r < subtypes.length; r++) subtypes[r] = new BitSet(classIds.size());
+        if (!ruleClasses.isEmpty()) {
+            // Rule classes among the supertypes of each class, memoized by class id
+            BitSet[] ruleAncestors = new BitSet[classIds.size()];
+            for (Map.Entry<SootClass, Integer> entry : classIds.entrySet()) {
+                BitSet ancestors = ruleAncestors(entry.getKey(), classIds, ruleIds, ruleAncestors);
+                int id = entry.getValue();
+                Integer self = ruleIds.get(entry.getKey());
+                for (int r = ancestors.nextSetBit(0); r >= 0; r = ancestors.nextSetBit(r + 1)) {
+                    if (self == null || self != r) subtypes[r].set(id);
+                }
+            }
+        }
+        return new SubtypeIndex(classIds, ruleClasses.toArray(NO_SUPERTYPES), subtypes);
+    }
+
+    private static BitSet ruleAncestors(SootClass cls, Map<SootClass, Integer> classIds,
+                                        Map<SootClass, Integer> ruleIds, BitSet[] memo) {
+        Integer id = classIds.get(cls);
+        if (id != null && memo[id] != null) return memo[id];
+
+        BitSet ancestors = new BitSet();
+        if (id != null) memo[id] = ancestors; // guards against malformed cyclic hierarchies
+        Integer self = ruleIds.get(cls);
+        if (self != null) ancestors.set(self);
+        if (cls.hasSuperclass()) ancestors.or(ruleAncestors(cls.getSuperclass(), classIds, ruleIds, memo));
+        for (SootClass iface : cls.getInterfaces()) {
+            ancestors.or(ruleAncestors(iface, classIds, ruleIds, memo));
+        }
+        return ancestors;
+    }
+
+    /**
+     * Names of the rule classes that {@code cls} strictly extends or implements.
+     */
+    public String[] ruleSupertypes(SootClass cls) {
+        Integer id = classIds.get(cls);
+        if (id == null) return NO_SUPERTYPES;
+
+        List<String> supertypes = null;
+        for (int r = 0; r < subtypes.length; r++) {
+            if (!subtypes[r].get(id)) continue;
+            if (supertypes == null) supertypes = new ArrayList<>(2);
+            supertypes.add(ruleClasses[r]);
+        }
+        return supertypes == null ? NO_SUPERTYPES : supertypes.toArray(NO_SUPERTYPES);
+    }
+
+    public int ruleClassCount() {
+        return ruleClasses.length;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.analysis;
+
+import soot.Local;
+import soot.SootField;
+import soot.SootMethod;
+import soot.Unit;
+import soot.Value;
+import soot.jimple.AssignStmt;
+import soot.jimple.InstanceInvokeExpr;
+import soot.jimple.IntConstant;
+import soot.jimple.InvokeExpr;
+import soot.jimple.LongConstant;
+import soot.jimple.StaticInvokeExpr;
+import soot.jimple.Stmt;
+import soot.jimple.StringConstant;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Constant tracing shared by all checks: parameters are followed back through call-graph
+ * edges, field loads through the {@link FieldWriteIndex}. String and integral constants are
+ * traced alike and returned in their string form.
+ */
+public class ValueTracer {
+
+    private final CallGraph cg;
+    private final FieldWriteIndex fieldIndex;
+    private final BodyManager bodies;
+
+    /**
+     * @param bodies answers for bodies the analysis pass has already released
+     */
+    public ValueTracer(CallGraph cg, FieldWriteIndex fieldIndex, BodyManager bodies) {
+        this.cg = cg;
+        this.fieldIndex = fieldIndex;
+        this.bodies = bodies;
+    }
+
+    /**
+     * The string form of a string or integral constant, {@code null} for anything else.
+     */
+    public static String constantValue(Value value) {
+        if (value instanceof StringConstant sc) return sc.value;
+        if (value instanceof IntConstant ic) return Integer.toString(ic.value);
+        if (value instanceof LongConstant lc) return Long.toString(lc.value);
+        return null;
+    }
+
+    /**
+     * Returns {value, resolution note} for a constant argument used in {@code method}.
+     */
+    public String[] resolveConstant(Value arg, SootMethod method) {
+        String constant = constantValue(arg);
+        if (constant != null) {
+            return new String[]{constant, "direct constant"};
+        } else if (arg instanceof Local local) {
+            Optional<String> resolved = resolveArg(method, local, new HashSet<>());
+            if (resolved.isPresent()) return new String[]{resolved.get(), "traced recursively"};
+
+            Optional<String> fromField = resolveFieldFromAssignments(method, local, new HashSet<>());
+            if (fromField.isPresent()) return new String[]{fromField.get(), "field write index"};
+            return new String[]{"unresolved", "parameter not traced"};
+        }
+        return new String[]{"unresolved", "unknown expression"};
+    }
+
+    /**
+     * The constant algorithm of the {@code getInstance} call that produced the receiver of
+     * {@code invoke}, when that call is the receiver's only definition in {@code method}.
+     */
+    public static String receiverAlgorithm(SootMethod method, InvokeExpr invoke) {
+        if (!(invoke instanceof InstanceInvokeExpr instance) || !(instance.getBase() instanceof Local base)
+                || !method.hasActiveBody()) {
+            return null;
+        }
+        Value definition = null;
+        for (Unit unit : method.getActiveBody().getUnits()) {
+            if (unit instanceof AssignStmt assign && assign.getLeftOp() == base) {
+                if (definition != null) return null;
+                definition = assign.getRightOp();
+            }
+        }
+        if (!(definition instanceof StaticInvokeExpr factory) || factory.getArgCount() == 0
+                || !factory.getMethodRef().getName().equals("getInstance")) {
+            return null;
+        }
+        return constantValue(factory.getArg(0));
+    }
+
+    private Optional<String> resolveArg(SootMethod callee, Local local, Set<SootMethod> visited) {
+        return resolveParameter(callee, bodies.parameterIndex(callee, local.getName()), visited);
+    }
+
+    private Optional<String> resolveParameter(SootMethod callee, int paramIndex, Set<SootMethod> visited) {
+        if (paramIndex == -1 || visited.contains(callee)) return Optional.empty();
+        visited.add(callee);
+
+        Iterator<Edge> edges = cg.edgesInto(callee);
+        while (edges.hasNext()) {
+            Edge edge = edges.next();
+            Unit srcUnit = edge.srcUnit();
+            if (srcUnit instanceof Stmt stmt && stmt.containsInvokeExpr()) {
+                InvokeExpr inv = stmt.getInvokeExpr();
+                if (paramIndex >= inv.getArgCount()) continue;
+
+                Value arg = inv.getArg(paramIndex);
+                String constant = constantValue(arg);
+                if (constant != null) {
+                    return Optional.of(constant);
+                } else if (arg instanceof Local l) {
+                    Optional<String> nested = resolveArg(edge.src(), l, visited);
+                    if (nested.isPresent()) return nested;
+
+                    // Handle static or instance field assigned to local
+                    Optional<String> fromField = resolveFieldFromAssignments(edge.src(), l, visited);
+                    if (fromField.isPresent()) return fromField;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> resolveFieldFromAssignments(SootMethod method, Local local, Set<SootMethod> visited) {
+        SootField field = bodies.fieldLoadedInto(method, local.getName());
+        return field == null ? Optional.empty() : resolveField(field, visited);
+    }
+
+    private Optional<String> resolveField(SootField field, Set<SootMethod> visited) {
+        String constant = fieldIndex.uniqueConstant(field);
+        if (constant != null) return Optional.of(constant);
+        if (!fieldIndex.isIndexed(field) || fieldIndex.hasOpaqueWrites(field)) return Optional.empty();
+
+        // Constants and values passed in through constructors or setters must all agree
+        Set<String> values = new HashSet<>(fieldIndex.constants(field));
+        for (FieldWriteIndex.ParameterWrite write : fieldIndex.parameterWrites(field)) {
+            SootMethod writer = write.method();
+            if (!bodies.hasBody(writer)) return Optional.empty();
+            Optional<String> traced = resolveParameter(writer, write.paramIndex(), visited);
+            if (traced.isEmpty()) return Optional.empty();
+            values.add(traced.get());
+        }
+        return values.size() == 1 ? Optional.of(values.iterator().next()) : Optional.empty();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One side (approved or forbidden) of an {@link AlgorithmPolicy}. Entries are matched case
+ * insensitively; a trailing {@code *} matches any suffix (e.g. {@code SHA3-*}).
+ */
+public class AlgorithmList {
+    private List<String> algorithms = new ArrayList<>();
+    private List<String> modes = new ArrayList<>();
+    private List<String> paddings = new ArrayList<>();
+    private List<String> providers = new ArrayList<>();
+
+    public List<String> getAlgorithms() {
+        return algorithms;
+    }
+
+    public void setAlgorithms(List<String> algorithms) {
+        this.algorithms = algorithms;
+    }
+
+    public List<String> getModes() {
+        return modes;
+    }
+
+    public void setModes(List<String> modes) {
+        this.modes = modes;
+    }
+
+    public List<String> getPaddings() {
+        return paddings;
+    }
+
+    public void setPaddings(List<String> paddings) {
+        this.paddings = paddings;
+    }
+
+    public List<String> getProviders() {
+        return providers;
+    }
+
+    public void setProviders(List<String> providers) {
+        this.providers = providers;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code algorithmPolicy} section of a rules file: which algorithms, cipher modes,
+ * paddings and providers a policy approves or forbids, plus aliases (including OIDs) that
+ * map alternative names onto a canonical entry.
+ */
+public class AlgorithmPolicy {
+    private AlgorithmList approved = new AlgorithmList();
+    private AlgorithmList forbidden = new AlgorithmList();
+    private Map<String, String> aliases = new LinkedHashMap<>();
+
+    public AlgorithmList getApproved() {
+        return approved;
+    }
+
+    public void setApproved(AlgorithmList approved) {
+        this.approved = approved;
+    }
+
+    public AlgorithmList getForbidden() {
+        return forbidden;
+    }
+
+    public void setForbidden(AlgorithmList forbidden) {
+        this.forbidden = forbidden;
+    }
+
+    public Map<String, String> getAliases() {
+        return aliases;
+    }
+
+    public void setAliases(Map<String, String> aliases) {
+        this.aliases = aliases;
+    }
+}
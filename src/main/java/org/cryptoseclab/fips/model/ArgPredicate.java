@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A typed check on one argument of a rule's target, e.g. a minimum key size or iteration
+ * count ({@code min}/{@code max}) or the allowed values of a string ({@code oneOf}/{@code noneOf}).
+ * The argument is resolved with the same constant tracing as algorithm names.
+ * <p>
+ * {@code minByAlgorithm} replaces {@code min} for calls on an object created by
+ * {@code getInstance(<algorithm>)}, e.g. a {@code KeyPairGenerator} for EC whose
+ * {@code initialize(256)} names a curve size rather than a modulus.
+ */
+public class ArgPredicate {
+    private int argIndex;
+    private String name;
+    private Long min;
+    private Long max;
+    private Map<String, Long> minByAlgorithm;
+    private List<String> oneOf;
+    private List<String> noneOf;
+
+    public int getArgIndex() {
+        return argIndex;
+    }
+
+    public void setArgIndex(int argIndex) {
+        this.argIndex = argIndex;
+    }
+
+    /**
+     * Label used in reports, e.g. "key size"; defaults to "arg N".
+     */
+    public String getName() {
+        return name != null ? name : "arg " + argIndex;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getMin() {
+        return min;
+    }
+
+    public void setMin(Long min) {
+        this.min = min;
+    }
+
+    public Map<String, Long> getMinByAlgorithm() {
+        return minByAlgorithm;
+    }
+
+    public void setMinByAlgorithm(Map<String, Long> minByAlgorithm) {
+        this.minByAlgorithm = minByAlgorithm;
+    }
+
+    public Long getMax() {
+        return max;
+    }
+
+    public void setMax(Long max) {
+        this.max = max;
+    }
+
+    public List<String> getOneOf() {
+        return oneOf;
+    }
+
+    public void setOneOf(List<String> oneOf) {
+        this.oneOf = oneOf;
+    }
+
+    public List<String> getNoneOf() {
+        return noneOf;
+    }
+
+    public void setNoneOf(List<String> noneOf) {
+        this.noneOf = noneOf;
+    }
+
+    public boolean isIntRange() {
+        return min != null || max != null || minByAlgorithm != null;
+    }
+
+    /**
+     * Returns why the resolved value fails this predicate, or {@code null} if it passes.
+     */
+    public String violation(String value) {
+        return violation(value, null);
+    }
+
+    /**
+     * @param receiverAlgorithm the algorithm the called object was created for, or {@code null}
+     *                          when it is not known; only consulted for {@code minByAlgorithm}
+     */
+    public String violation(String value, String receiverAlgorithm) {
+        if (isIntRange()) {
+            long number;
+            try {
+                number = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return getName() + " " + value + " is not an integer";
+            }
+            Long algorithmMin = minFor(receiverAlgorithm);
+            if (algorithmMin != null) {
+                if (number < algorithmMin) {
+                    return getName() + " " + number + " below " + algorithmMin + " for " + receiverAlgorithm;
+                }
+            } else if (min != null && number < min) {
+                return getName() + " " + number + " below " + min;
+            }
+            if (max != null && number > max) return getName() + " " + number + " above " + max;
+        }
+        if (oneOf != null && oneOf.stream().noneMatch(value::equalsIgnoreCase)) {
+            return getName() + " " + value + " not in " + oneOf;
+        }
+        if (noneOf != null && noneOf.stream().anyMatch(value::equalsIgnoreCase)) {
+            return getName() + " " + value + " not allowed";
+        }
+        return null;
+    }
+
+    private Long minFor(String algorithm) {
+        if (minByAlgorithm == null || algorithm == null) return null;
+        for (Map.Entry<String, Long> entry : minByAlgorithm.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(algorithm)) return entry.getValue();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return argIndex + ":" + getName() + "[" + min + "," + max + "]" + minByAlgorithm + oneOf + noneOf;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A shortest call path from an entry point to a method, as a chain of callers. Paths of
+ * methods reached through the same caller share that caller's node, so the paths of all
+ * findings together take no more nodes than there are reached methods.
+ */
+public final class CallPath {
+    /** {@code <class>: <sub-signature>} of the method. */
+    public final String method;
+    /** {@code null} at the entry point. */
+    public final CallPath caller;
+    public final int depth;
+
+    public CallPath(String method, CallPath caller) {
+        this.method = method;
+        this.caller = caller;
+        this.depth = caller == null ? 0 : caller.depth + 1;
+    }
+
+    /**
+     * The methods from the entry point down to this one.
+     */
+    public List<String> methods() {
+        List<String> methods = new ArrayList<>(depth + 1);
+        for (CallPath node = this; node != null; node = node.caller) methods.add(node.method);
+        Collections.reverse(methods);
+        return methods;
+    }
+}
@@ -17,14 +17,21 @@
 
 package org.cryptoseclab.fips.model;
 
+import java.util.Collections;
+import java.util.List;
+
 // CryptoRule.java
 public class CryptoRule
 {
     private String category;
     private String className;
     private String methodName;
-    private int algoArgIndex;
+    private String descriptor; // optional JVM descriptor pattern
+    private int algoArgIndex; // -1 when the target has no algorithm argument
     private Integer providerArgIndex; // optional
+    private boolean matchSubtypes = true;
+    private List<ArgPredicate> argPredicates = Collections.emptyList();
+    private long policyMask; // assigned by RuleLoader, not read from YAML
 
     // Getters and setters required for SnakeYAML
     public String getCategory()
@@ -57,6 +64,20 @@ public class CryptoRule
         this.methodName = methodName;
     }
 
+    /**
+     * Optional glob or {@code regex:} pattern over the JVM method descriptor; {@code null}
+     * matches every overload.
+     */
+    public String getDescriptor()
+    {
+        return descriptor;
+    }
+
+    public void setDescriptor(String descriptor)
+    {
+        this.descriptor = descriptor;
+    }
+
     public int getAlgoArgIndex()
     {
         return algoArgIndex;
@@ -76,5 +97,55 @@ public class CryptoRule
     {
         this.providerArgIndex = providerArgIndex;
     }
+
+    public List<ArgPredicate> getArgPredicates()
+    {
+        return argPredicates;
+    }
+
+    public void setArgPredicates(List<ArgPredicate> argPredicates)
+    {
+        this.argPredicates = argPredicates == null ? Collections.emptyList() : argPredicates;
+    }
+
+    public boolean hasAlgorithmArg()
+    {
+        return algoArgIndex >= 0;
+    }
+
+    /**
+     * Whether a predicate depends on the algorithm the called object was created for.
+     */
+    public boolean needsReceiverAlgorithm()
+    {
+        return argPredicates.stream().anyMatch(p -> p.getMinByAlgorithm() != null);
+    }
+
+    /**
+     * Whether calls to methods declared in subtypes of {@link #getClassName()} (subclasses,
+     * overrides, in-house facades) match as well.
+     */
+    public boolean isMatchSubtypes()
+    {
+        return matchSubtypes;
+    }
+
+    public void setMatchSubtypes(boolean matchSubtypes)
+    {
+        this.matchSubtypes = matchSubtypes;
+    }
+
+    /**
+     * Bitmask of the policies (see {@link PolicySet}) that contain this rule.
+     */
+    public long getPolicyMask()
+    {
+        return policyMask;
+    }
+
+    public void addPolicies(long mask)
+    {
+        this.policyMask |= mask;
+    }
 }
 
@@ -21,6 +21,7 @@ import java.util.List;
 
 public class CryptoRuleSet {
     private List<CryptoRule> rules;
+    private AlgorithmPolicy algorithmPolicy;
 
     public List<CryptoRule> getRules() {
         return rules;
@@ -29,4 +30,12 @@ public class CryptoRuleSet {
     public void setRules(List<CryptoRule> rules) {
         this.rules = rules;
     }
+
+    public AlgorithmPolicy getAlgorithmPolicy() {
+        return algorithmPolicy;
+    }
+
+    public void setAlgorithmPolicy(AlgorithmPolicy algorithmPolicy) {
+        this.algorithmPolicy = algorithmPolicy;
+    }
 }
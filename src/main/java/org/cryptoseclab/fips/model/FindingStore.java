@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Findings stored by column. Every string column is dictionary-encoded: each distinct value
+ * is kept once and rows hold its int code in a primitive array, so the class names, method
+ * signatures and statuses repeated across a large scan cost four bytes per row instead of a
+ * reference to yet another copy of the string. Group-by and filters work on the codes.
+ * {@link #asList()} hands {@link ScanFinding} views to code that expects a list; each view is
+ * created on access and shares the dictionary strings.
+ */
+public final class FindingStore {
+
+    /** In the order of the fields of {@link ScanFinding}. */
+    public enum Column {
+        CATEGORY, CLASS, METHOD, ALGORITHM, RESOLUTION, PROVIDER, PROVIDER_STATUS, ALGORITHM_STATUS, ARTIFACT
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+    }
+
+    private final Dictionary[] dictionaries = new Dictionary[COLUMNS.length];
+    private final int[][] codes = new int[COLUMNS.length][];
+    private int[] lines;
+    private long[] policyMasks;
+    /** Allocated with the first finding that has a call path. */
+    private CallPath[] callPaths;
+    private final BitSet unreachable = new BitSet();
+    private int size;
+
+    public FindingStore() {
+        this(16);
+    }
+
+    public FindingStore(int capacity) {
+        capacity = Math.max(capacity, 1);
+        for (int c = 0; c < COLUMNS.length; c++) {
+            dictionaries[c] = new Dictionary();
+            codes[c] = new int[capacity];
+        }
+        lines = new int[capacity];
+        policyMasks = new long[capacity];
+    }
+
+    public static FindingStore of(Collection<ScanFinding> findings) {
+        FindingStore store = new FindingStore(findings.size());
+        for (ScanFinding finding : findings) store.add(finding);
+        return store;
+    }
+
+    public void add(ScanFinding f) {
+        if (size == lines.length) grow();
+        String[] values = {f.category, f.className, f.methodName, f.resolvedAlgorithm, f.resolutionType, f.provider,
+                f.providerStatus, f.algorithmStatus, f.artifact};
+        for (int c = 0; c < COLUMNS.length; c++) codes[c][size] = dictionaries[c].encode(values[c]);
+        lines[size] = f.line;
+        policyMasks[size] = f.policyMask;
+        if (f.callPath != null && callPaths == null) callPaths = new CallPath[lines.length];
+        if (callPaths != null) callPaths[size] = f.callPath;
+        if (f.unreachable) unreachable.set(size);
+        size++;
+    }
+
+    private void grow() {
+        int capacity = lines.length * 2;
+        for (int c = 0; c < COLUMNS.length; c++) codes[c] = Arrays.copyOf(codes[c], capacity);
+        lines = Arrays.copyOf(lines, capacity);
+        policyMasks = Arrays.copyOf(policyMasks, capacity);
+        if (callPaths != null) callPaths = Arrays.copyOf(callPaths, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ScanFinding get(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException(row);
+        return new ScanFinding(value(Column.CATEGORY, row), value(Column.CLASS, row), value(Column.METHOD, row),
+                value(Column.ALGORITHM, row), value(Column.RESOLUTION, row), lines[row], value(Column.PROVIDER, row),
+                value(Column.PROVIDER_STATUS, row), value(Column.ALGORITHM_STATUS, row), policyMasks[row],
+                value(Column.ARTIFACT, row), callPaths == null ? null : callPaths[row], unreachable.get(row));
+    }
+
+    /**
+     * A read-only list of {@link ScanFinding} views over the rows.
+     */
+    public List<ScanFinding> asList() {
+        return new Rows(null);
+    }
+
+    /**
+     * A read-only list of {@link ScanFinding} views over the selected rows.
+     */
+    public List<ScanFinding> asList(BitSet rows) {
+        return new Rows(rows.stream().toArray());
+    }
+
+    public String value(Column column, int row) {
+        return dictionaries[column.ordinal()].values.get(codes[column.ordinal()][row]);
+    }
+
+    public long policyMask(int row) {
+        return policyMasks[row];
+    }
+
+    /**
+     * Number of distinct values in a column.
+     */
+    public int cardinality(Column column) {
+        return dictionaries[column.ordinal()].values.size();
+    }
+
+    /**
+     * The rows whose {@code column} is {@code value}.
+     */
+    public BitSet rows(Column column, String value) {
+        BitSet rows = new BitSet(size);
+        Integer code = dictionaries[column.ordinal()].codes.get(value);
+        if (code == null) return rows;
+        int[] columnCodes = codes[column.ordinal()];
+        for (int row = 0; row < size; row++) {
+            if (columnCodes[row] == code) rows.set(row);
+        }
+        return rows;
+    }
+
+    /**
+     * The rows that violate at least one of the policies in {@code mask}.
+     */
+    public BitSet violating(long mask) {
+        BitSet rows = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            if ((policyMasks[row] & mask) != 0) rows.set(row);
+        }
+        return rows;
+    }
+
+    /**
+     * The rows of each value of {@code column}, in first-seen order.
+     */
+    public Map<String, BitSet> groupBy(Column column) {
+        int[] columnCodes = codes[column.ordinal()];
+        BitSet[] groups = new BitSet[cardinality(column)];
+        for (int row = 0; row < size; row++) {
+            int code = columnCodes[row];
+            if (groups[code] == null) groups[code] = new BitSet();
+            groups[code].set(row);
+        }
+        Map<String, BitSet> byValue = new LinkedHashMap<>();
+        List<String> values = dictionaries[column.ordinal()].values;
+        for (int code = 0; code < groups.length; code++) {
+            if (groups[code] != null) byValue.put(values.get(code), groups[code]);
+        }
+        return byValue;
+    }
+
+    public Map<String, Integer> countBy(Column column) {
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return countBy(column, all);
+    }
+
+    /**
+     * Row counts of each value of {@code column} among the selected rows, in first-seen order.
+     */
+    public Map<String, Integer> countBy(Column column, BitSet rows) {
+        int[] columnCodes = codes[column.ordinal()];
+        int[] counts = new int[cardinality(column)];
+        for (int row = rows.nextSetBit(0); row >= 0 && row < size; row = rows.nextSetBit(row + 1)) {
+            counts[columnCodes[row]]++;
+        }
+        Map<String, Integer> byValue = new LinkedHashMap<>();
+        List<String> values = dictionaries[column.ordinal()].values;
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) byValue.put(values.get(code), counts[code]);
+        }
+        return byValue;
+    }
+
+    private final class Rows extends AbstractList<ScanFinding> implements RandomAccess {
+        /** {@code null} for all rows. */
+        private final int[] selected;
+
+        Rows(int[] selected) {
+            this.selected = selected;
+        }
+
+        @Override
+        public ScanFinding get(int index) {
+            if (selected == null) return FindingStore.this.get(index);
+            return FindingStore.this.get(selected[index]);
+        }
+
+        @Override
+        public int size() {
+            return selected == null ? FindingStore.this.size : selected.length;
+        }
+    }
+}
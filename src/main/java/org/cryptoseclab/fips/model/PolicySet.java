@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The named policies (e.g. fips-140-2, fips-140-3, internal) evaluated in one scan. Policy
+ * {@code i} is bit {@code i} of the {@code policyMask} carried by rules and findings.
+ */
+public class PolicySet {
+
+    public static final int MAX_POLICIES = Long.SIZE;
+
+    private final List<String> names;
+
+    public PolicySet(List<String> names) {
+        if (names.size() > MAX_POLICIES) {
+            throw new IllegalArgumentException("At most " + MAX_POLICIES + " policies can be evaluated in one scan");
+        }
+        if (names.stream().distinct().count() != names.size()) {
+            throw new IllegalArgumentException("Duplicate policy name in " + names);
+        }
+        this.names = List.copyOf(names);
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public long maskOf(String name) {
+        int index = names.indexOf(name);
+        if (index == -1) throw new IllegalArgumentException("Unknown policy: " + name + " (known: " + names + ")");
+        return 1L << index;
+    }
+
+    public List<String> namesOf(long mask) {
+        if (mask == 0) return Collections.emptyList();
+        List<String> result = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 0; i < names.size(); i++) {
+            if ((mask & (1L << i)) != 0) result.add(names.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Bits of the given policies; a finding violates one of them when its mask shares a bit.
+     */
+    public long maskOf(List<String> policyNames) {
+        long mask = 0;
+        for (String name : policyNames) mask |= maskOf(name);
+        return mask;
+    }
+}
@@ -26,9 +26,25 @@ public class ScanFinding {
     public final int line;
     public final String provider;
     public final String providerStatus;
+    public final String algorithmStatus;
+    public final long policyMask;
+    /** Nested jar or directory of an archive the finding came from; {@code null} for the scanned target itself. */
+    public final String artifact;
+    /** Shortest path from an entry point to the method of the call site; {@code null} when not computed or none. */
+    public final CallPath callPath;
+    /** Set when the call site is in a method no entry point reaches and was analyzed only to be reported as such. */
+    public final boolean unreachable;
 
     public ScanFinding(String category, String className, String methodName, String resolvedAlgorithm,
                        String resolutionType, int line, String provider, String providerStatus) {
+        this(category, className, methodName, resolvedAlgorithm, resolutionType, line, provider, providerStatus,
+                "unclassified", 0L, null, null, false);
+    }
+
+    public ScanFinding(String category, String className, String methodName, String resolvedAlgorithm,
+                       String resolutionType, int line, String provider, String providerStatus,
+                       String algorithmStatus, long policyMask, String artifact, CallPath callPath,
+                       boolean unreachable) {
         this.category = category;
         this.className = className;
         this.methodName = methodName;
@@ -37,6 +53,26 @@ public class ScanFinding {
         this.line = line;
         this.provider = provider;
         this.providerStatus = providerStatus;
+        this.algorithmStatus = algorithmStatus;
+        this.policyMask = policyMask;
+        this.artifact = artifact;
+        this.callPath = callPath;
+        this.unreachable = unreachable;
+    }
+
+    public ScanFinding withArtifact(String artifact) {
+        return new ScanFinding(category, className, methodName, resolvedAlgorithm, resolutionType, line, provider,
+                providerStatus, algorithmStatus, policyMask, artifact, callPath, unreachable);
+    }
+
+    public ScanFinding withCallPath(CallPath callPath) {
+        return new ScanFinding(category, className, methodName, resolvedAlgorithm, resolutionType, line, provider,
+                providerStatus, algorithmStatus, policyMask, artifact, callPath, unreachable);
+    }
+
+    public ScanFinding asUnreachable() {
+        return new ScanFinding(category, className, methodName, resolvedAlgorithm, resolutionType, line, provider,
+                providerStatus, algorithmStatus, policyMask, artifact, callPath, true);
     }
 }
 
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.CallPath;
+import org.cryptoseclab.fips.model.ScanFinding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import static org.cryptoseclab.fips.report.BinaryReportWriter.FOOTER_BYTES;
+import static org.cryptoseclab.fips.report.BinaryReportWriter.HEADER_BYTES;
+import static org.cryptoseclab.fips.report.BinaryReportWriter.MAGIC;
+import static org.cryptoseclab.fips.report.BinaryReportWriter.FLAG_UNREACHABLE;
+import static org.cryptoseclab.fips.report.BinaryReportWriter.RECORD_BYTES;
+import static org.cryptoseclab.fips.report.BinaryReportWriter.VERSION;
+
+/**
+ * Memory-mapped view of a report written by {@link BinaryReportWriter}. Opening reads only the
+ * footer and the keys of the category and class indexes; records and strings are decoded from
+ * the mapping when a finding is read, so a filter touches the pages of its matching rows only.
+ */
+public final class BinaryReportReader implements AutoCloseable
+{
+    // Byte offsets of the fields of a record, in the order BinaryReportWriter writes them
+    private static final int CATEGORY = 0;
+    private static final int CLASS = 4;
+    private static final int METHOD = 8;
+    private static final int ALGORITHM = 12;
+    private static final int ALGORITHM_STATUS = 16;
+    private static final int RESOLUTION = 20;
+    private static final int LINE = 24;
+    private static final int PROVIDER = 28;
+    private static final int PROVIDER_STATUS = 32;
+    private static final int ARTIFACT = 36;
+    private static final int CALL_PATH = 40;
+    private static final int POLICY_MASK = 44;
+    private static final int FLAGS = 52;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int records;
+    /** Version 1 records have no flags. */
+    private final int recordBytes;
+    private final int stringCount;
+    private final int stringOffsets;
+    private final int stringBytes;
+    private final int paths;
+    private final String[] strings;
+    private long[] stringHashes;
+    private final List<String> policies;
+    private final Map<String, int[]> byCategory;
+    private final Map<String, int[]> byClass;
+
+    private BinaryReportReader(ByteBuffer buffer) throws IOException
+    {
+        this.buffer = buffer;
+        int limit = buffer.limit();
+        if (limit < HEADER_BYTES + FOOTER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(limit - 4) != MAGIC) {
+            throw new IOException("Not a binary findings report");
+        }
+        int version = buffer.getInt(limit - 8);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary report version " + version + " (expected 1 to " + VERSION + ")");
+        }
+        this.recordBytes = version == 1 ? RECORD_BYTES - Integer.BYTES : RECORD_BYTES;
+        int footer = limit - FOOTER_BYTES;
+        this.records = (int) buffer.getLong(footer);
+        int stringsOffset = (int) buffer.getLong(footer + 8);
+        this.paths = (int) buffer.getLong(footer + 16);
+        int policiesOffset = (int) buffer.getLong(footer + 24);
+        int categoryIndex = (int) buffer.getLong(footer + 32);
+        int classIndex = (int) buffer.getLong(footer + 40);
+        this.count = buffer.getInt(footer + 48);
+
+        this.stringCount = buffer.getInt(stringsOffset);
+        this.stringOffsets = stringsOffset + 4;
+        this.stringBytes = stringOffsets + (stringCount + 1) * 4;
+        this.strings = new String[stringCount];
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < buffer.getInt(policiesOffset); i++) {
+            names.add(string(buffer.getInt(policiesOffset + 4 + i * 4)));
+        }
+        this.policies = Collections.unmodifiableList(names);
+        this.byCategory = readIndex(categoryIndex);
+        this.byClass = readIndex(classIndex);
+    }
+
+    public static BinaryReportReader open(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary report larger than 2 GB: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new BinaryReportReader(mapped);
+        }
+    }
+
+    /**
+     * Key to its rows offset, row count and string id.
+     */
+    private Map<String, int[]> readIndex(int offset)
+    {
+        int keys = buffer.getInt(offset);
+        Map<String, int[]> index = new HashMap<>(keys * 2);
+        for (int i = 0; i < keys; i++) {
+            int entry = offset + 4 + i * 12;
+            int key = buffer.getInt(entry);
+            index.put(string(key), new int[] {buffer.getInt(entry + 8), buffer.getInt(entry + 4), key});
+        }
+        return index;
+    }
+
+    public int size()
+    {
+        return count;
+    }
+
+    /**
+     * Names of the policies behind the bits of {@link ScanFinding#policyMask}; empty when the
+     * scan evaluated a single rule set.
+     */
+    public List<String> policies()
+    {
+        return policies;
+    }
+
+    public Set<String> categories()
+    {
+        return Collections.unmodifiableSet(byCategory.keySet());
+    }
+
+    public Set<String> classes()
+    {
+        return Collections.unmodifiableSet(byClass.keySet());
+    }
+
+    public ScanFinding get(int row)
+    {
+        if (row < 0 || row >= count) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + count);
+        }
+        int r = records + row * recordBytes;
+        String category = string(buffer.getInt(r + CATEGORY));
+        String className = string(buffer.getInt(r + CLASS));
+        String methodName = string(buffer.getInt(r + METHOD));
+        String algorithm = string(buffer.getInt(r + ALGORITHM));
+        String resolution = string(buffer.getInt(r + RESOLUTION));
+        int line = buffer.getInt(r + LINE);
+        String provider = string(buffer.getInt(r + PROVIDER));
+        String providerStatus = string(buffer.getInt(r + PROVIDER_STATUS));
+        String algorithmStatus = string(buffer.getInt(r + ALGORITHM_STATUS));
+        long policyMask = buffer.getLong(r + POLICY_MASK);
+        String artifact = string(buffer.getInt(r + ARTIFACT));
+        CallPath callPath = callPath(buffer.getInt(r + CALL_PATH));
+        boolean unreachable = recordBytes == RECORD_BYTES && (buffer.getInt(r + FLAGS) & FLAG_UNREACHABLE) != 0;
+        return new ScanFinding(category, className, methodName, algorithm, resolution, line, provider, providerStatus,
+                algorithmStatus, policyMask, artifact, callPath, unreachable);
+    }
+
+    /**
+     * All findings in file order, decoded on access.
+     */
+    public List<ScanFinding> asList()
+    {
+        return new Rows(null, -1, count);
+    }
+
+    /**
+     * Findings of the given category and class, in file order; {@code null} matches any.
+     */
+    public List<ScanFinding> select(String category, String className)
+    {
+        if (category == null && className == null) {
+            return asList();
+        }
+        int[] categoryRows = category == null ? null : byCategory.get(category);
+        int[] classRows = className == null ? null : byClass.get(className);
+        if (category != null && categoryRows == null || className != null && classRows == null) {
+            return List.of();
+        }
+        if (categoryRows == null || classRows == null) {
+            int[] rows = categoryRows != null ? categoryRows : classRows;
+            return new Rows(null, rows[0], rows[1]);
+        }
+
+        // Walk the shorter postings list and check the other key in the records
+        boolean byClassRows = classRows[1] <= categoryRows[1];
+        int[] rows = byClassRows ? classRows : categoryRows;
+        int field = byClassRows ? CATEGORY : CLASS;
+        int key = byClassRows ? categoryRows[2] : classRows[2];
+        int[] matches = new int[rows[1]];
+        int size = 0;
+        for (int i = 0; i < rows[1]; i++) {
+            int row = buffer.getInt(rows[0] + i * 4);
+            if (buffer.getInt(records + row * recordBytes + field) == key) {
+                matches[size++] = row;
+            }
+        }
+        return new Rows(matches, -1, size);
+    }
+
+    private String string(int id)
+    {
+        if (id < 0) {
+            return null;
+        }
+        String s = strings[id];
+        if (s == null) {
+            int start = buffer.getInt(stringOffsets + id * 4);
+            int end = buffer.getInt(stringOffsets + id * 4 + 4);
+            byte[] bytes = new byte[end - start];
+            buffer.get(stringBytes + start, bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = s;
+        }
+        return s;
+    }
+
+    /**
+     * {@link FindingDiff#fingerprint(ScanFinding)} of a row, without decoding it.
+     */
+    long fingerprint(int row)
+    {
+        int r = records + row * recordBytes;
+        return FindingDiff.fingerprint(stringHash(buffer.getInt(r + CATEGORY)), stringHash(buffer.getInt(r + CLASS)),
+                stringHash(buffer.getInt(r + METHOD)), stringHash(buffer.getInt(r + ALGORITHM)),
+                stringHash(buffer.getInt(r + PROVIDER)));
+    }
+
+    private long stringHash(int id)
+    {
+        if (id < 0) {
+            return FindingDiff.hash(null);
+        }
+        if (stringHashes == null) {
+            stringHashes = new long[stringCount];
+        }
+        long h = stringHashes[id];
+        if (h == 0) {
+            h = FindingDiff.hash(string(id));
+            stringHashes[id] = h;
+        }
+        return h;
+    }
+
+    private CallPath callPath(int node)
+    {
+        if (node < 0) {
+            return null;
+        }
+        List<Integer> chain = new ArrayList<>();
+        for (int n = node; n >= 0; n = buffer.getInt(paths + 4 + n * 8 + 4)) {
+            chain.add(n);
+        }
+        CallPath path = null;
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            path = new CallPath(string(buffer.getInt(paths + 4 + chain.get(i) * 8)), path);
+        }
+        return path;
+    }
+
+    @Override
+    public void close()
+    {
+        // Nothing to release: the mapping is unmapped once unreachable
+    }
+
+    /**
+     * The rows listed in {@code rows}, else those of the postings list at byte offset
+     * {@code postings}, else (-1) the first {@code size} rows of the file.
+     */
+    private final class Rows extends AbstractList<ScanFinding> implements RandomAccess, FindingDiff.Fingerprinted
+    {
+        private final int[] rows;
+        private final int postings;
+        private final int size;
+
+        Rows(int[] rows, int postings, int size)
+        {
+            this.rows = rows;
+            this.postings = postings;
+            this.size = size;
+        }
+
+        @Override
+        public ScanFinding get(int index)
+        {
+            return BinaryReportReader.this.get(row(index));
+        }
+
+        @Override
+        public long fingerprint(int index)
+        {
+            return BinaryReportReader.this.fingerprint(row(index));
+        }
+
+        private int row(int index)
+        {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+            }
+            return rows != null ? rows[index] : postings < 0 ? index : buffer.getInt(postings + index * 4);
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.CallPath;
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.model.ScanFinding;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes findings in the binary report format read by {@link BinaryReportReader}, for archiving
+ * scan results and querying them later without parsing. All integers are big-endian.
+ * <pre>
+ * header   magic, version, finding count, 0
+ * records  per finding {@value #RECORD_BYTES} bytes: string ids of category, class, method,
+ *          algorithm, algorithm status, resolution, the line, string ids of provider, provider
+ *          status and artifact (-1 if none), call path node (-1 if none), policy mask, flags
+ *          (bit 0: unreachable); version 1 records end at the policy mask
+ * strings  count, count + 1 offsets into the UTF-8 bytes, the bytes
+ * paths    count, per call path node the string id of its method and its caller node (-1)
+ * policies count, string ids of the policy names (bit i of a mask is policy i)
+ * indexes  by category, then by class: key count, per key its string id, row count and the
+ *          offset of its rows; then the ascending rows of every key
+ * footer   offsets of records, strings, paths, policies and both indexes, finding count,
+ *          version, magic
+ * </pre>
+ */
+public class BinaryReportWriter implements ReportWriter
+{
+    static final int MAGIC = 0x46444231; // "FDB1"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 12 * Integer.BYTES + Long.BYTES;
+    static final int FLAG_UNREACHABLE = 1;
+    static final int FOOTER_BYTES = 6 * Long.BYTES + 3 * Integer.BYTES;
+
+    private final PolicySet policies;
+
+    public BinaryReportWriter()
+    {
+        this(null);
+    }
+
+    /**
+     * @param policies when set, the file names the policies behind each bit of the policy masks
+     */
+    public BinaryReportWriter(PolicySet policies)
+    {
+        this.policies = policies;
+    }
+
+    @Override
+    public void write(List<ScanFinding> findings, FindingSummary summary, Path outputPath)
+    {
+        try {
+            writeFile(findings, outputPath);
+            System.out.println("✅ Binary report generated: " + outputPath);
+        } catch (IOException e) {
+            System.err.println("❌ Failed to write binary report: " + e.getMessage());
+        }
+    }
+
+    private void writeFile(List<ScanFinding> findings, Path outputPath) throws IOException
+    {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<CallPath, Integer> nodes = new IdentityHashMap<>();
+        List<CallPath> nodeList = new ArrayList<>();
+        Map<Integer, RowList> byCategory = new LinkedHashMap<>();
+        Map<Integer, RowList> byClass = new LinkedHashMap<>();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(outputPath), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(findings.size());
+            out.writeInt(0);
+
+            long records = out.size();
+            for (int row = 0; row < findings.size(); row++) {
+                ScanFinding f = findings.get(row);
+                int category = id(strings, f.category);
+                int className = id(strings, f.className);
+                out.writeInt(category);
+                out.writeInt(className);
+                out.writeInt(id(strings, f.methodName));
+                out.writeInt(id(strings, f.resolvedAlgorithm));
+                out.writeInt(id(strings, f.algorithmStatus));
+                out.writeInt(id(strings, f.resolutionType));
+                out.writeInt(f.line);
+                out.writeInt(id(strings, f.provider));
+                out.writeInt(id(strings, f.providerStatus));
+                out.writeInt(id(strings, f.artifact));
+                out.writeInt(node(nodes, nodeList, strings, f.callPath));
+                out.writeLong(f.policyMask);
+                out.writeInt(f.unreachable ? FLAG_UNREACHABLE : 0);
+                byCategory.computeIfAbsent(category, k -> new RowList()).add(row);
+                byClass.computeIfAbsent(className, k -> new RowList()).add(row);
+            }
+
+            List<Integer> policyIds = new ArrayList<>();
+            if (policies != null) {
+                for (String name : policies.names()) {
+                    policyIds.add(id(strings, name));
+                }
+            }
+
+            long stringsOffset = out.size();
+            List<byte[]> encoded = new ArrayList<>(strings.size());
+            for (String s : strings.keySet()) {
+                encoded.add(s.getBytes(StandardCharsets.UTF_8));
+            }
+            out.writeInt(encoded.size());
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+
+            long pathsOffset = out.size();
+            out.writeInt(nodeList.size());
+            for (CallPath node : nodeList) {
+                out.writeInt(strings.get(node.method));
+                out.writeInt(node.caller == null ? -1 : nodes.get(node.caller));
+            }
+
+            long policiesOffset = out.size();
+            out.writeInt(policyIds.size());
+            for (int id : policyIds) {
+                out.writeInt(id);
+            }
+
+            long categoryIndex = out.size();
+            writeIndex(out, byCategory);
+            long classIndex = out.size();
+            writeIndex(out, byClass);
+
+            if (out.size() == Integer.MAX_VALUE) {
+                // DataOutputStream stops counting there; readers map the file as one buffer anyway
+                throw new IOException("Binary report exceeds 2 GB, split the scan");
+            }
+            out.writeLong(records);
+            out.writeLong(stringsOffset);
+            out.writeLong(pathsOffset);
+            out.writeLong(policiesOffset);
+            out.writeLong(categoryIndex);
+            out.writeLong(classIndex);
+            out.writeInt(findings.size());
+            out.writeInt(VERSION);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    private static int id(Map<String, Integer> strings, String value)
+    {
+        if (value == null) {
+            return -1;
+        }
+        Integer id = strings.get(value);
+        if (id == null) {
+            id = strings.size();
+            strings.put(value, id);
+        }
+        return id;
+    }
+
+    /**
+     * Paths of findings reached through the same caller share its node, as they do in memory.
+     */
+    private static int node(Map<CallPath, Integer> nodes, List<CallPath> nodeList, Map<String, Integer> strings,
+                            CallPath path)
+    {
+        if (path == null) {
+            return -1;
+        }
+        Integer id = nodes.get(path);
+        if (id != null) {
+            return id;
+        }
+        // Callers get lower ids, so a reader can rebuild the chain entry point first
+        List<CallPath> missing = new ArrayList<>();
+        for (CallPath node = path; node != null && !nodes.containsKey(node); node = node.caller) {
+            missing.add(node);
+        }
+        for (int i = missing.size() - 1; i >= 0; i--) {
+            CallPath node = missing.get(i);
+            id(strings, node.method);
+            nodes.put(node, nodeList.size());
+            nodeList.add(node);
+        }
+        return nodes.get(path);
+    }
+
+    private static void writeIndex(DataOutputStream out, Map<Integer, RowList> index) throws IOException
+    {
+        out.writeInt(index.size());
+        long rowsOffset = out.size() + (long) index.size() * 3 * Integer.BYTES;
+        for (Map.Entry<Integer, RowList> e : index.entrySet()) {
+            out.writeInt(e.getKey());
+            out.writeInt(e.getValue().size);
+            out.writeInt((int) rowsOffset);
+            rowsOffset += (long) e.getValue().size * Integer.BYTES;
+        }
+        for (RowList rows : index.values()) {
+            for (int i = 0; i < rows.size; i++) {
+                out.writeInt(rows.rows[i]);
+            }
+        }
+    }
+
+    private static final class RowList
+    {
+        int[] rows = new int[4];
+        int size;
+
+        void add(int row)
+        {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
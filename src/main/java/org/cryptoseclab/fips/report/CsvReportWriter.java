@@ -17,6 +17,73 @@
 
 package org.cryptoseclab.fips.report;
 
-public class CsvReportWriter
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.model.ScanFinding;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+public class CsvReportWriter implements ReportWriter
 {
+    private final PolicySet policies;
+
+    public CsvReportWriter()
+    {
+        this(null);
+    }
+
+    /**
+     * @param policies when set, adds a column listing the policies each finding violates
+     */
+    public CsvReportWriter(PolicySet policies)
+    {
+        this.policies = policies;
+    }
+
+    @Override
+    public void write(List<ScanFinding> findings, FindingSummary summary, Path outputPath)
+    {
+        try (PrintWriter out = new PrintWriter(outputPath.toFile(), StandardCharsets.UTF_8)) {
+            boolean artifacts = summary.hasArtifacts();
+            out.print("category,class,method,algorithm,algorithm_status,resolution,line,provider,provider_status");
+            boolean unreachable = summary.hasUnreachable();
+            out.print(artifacts ? ",artifact" : "");
+            out.print(unreachable ? ",unreachable" : "");
+            out.print(policies != null ? ",policies\r\n" : "\r\n");
+            for (ScanFinding f : findings) {
+                out.print(String.join(",", field(f.category), field(f.className), field(f.methodName),
+                        field(f.resolvedAlgorithm), field(f.algorithmStatus), field(f.resolutionType),
+                        String.valueOf(f.line), field(f.provider), field(f.providerStatus)));
+                if (artifacts) {
+                    out.print("," + field(f.artifact));
+                }
+                if (unreachable) {
+                    out.print("," + f.unreachable);
+                }
+                if (policies != null) {
+                    out.print("," + field(String.join(";", policies.namesOf(f.policyMask))));
+                }
+                out.print("\r\n");
+            }
+
+            System.out.println("✅ CSV report generated: " + outputPath);
+        } catch (IOException e) {
+            System.err.println("❌ Failed to write CSV report: " + e.getMessage());
+        }
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private static String field(String value)
+    {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
 }
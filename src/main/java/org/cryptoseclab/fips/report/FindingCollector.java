@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.FindingStore;
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.model.ScanFinding;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * End of the finding stream of a scan: stores the findings selected for the reports in a
+ * {@link FindingStore} and adds each one to the {@link FindingSummary} as it arrives, so the
+ * writers get both without another pass over the findings. The emitted {@link ScanFinding}s
+ * are not kept; {@link #findings()} hands out views over the store. Not thread-safe;
+ * concurrent workers hand their findings over in turn.
+ */
+public final class FindingCollector implements Consumer<ScanFinding>
+{
+    private final long policyMask;
+    private final FindingStore store = new FindingStore();
+    private final FindingSummary summary = new FindingSummary();
+
+    public FindingCollector()
+    {
+        this(0L);
+    }
+
+    /**
+     * @param policyMask keeps only findings that violate one of these policies; 0 keeps all
+     */
+    public FindingCollector(long policyMask)
+    {
+        this.policyMask = policyMask;
+    }
+
+    /**
+     * Keeps the findings that violate one of the named policies; all of them when there are no
+     * policies or no names.
+     */
+    public static FindingCollector forPolicies(PolicySet policies, List<String> names)
+    {
+        return new FindingCollector(policies == null || names.isEmpty() ? 0L : policies.maskOf(names));
+    }
+
+    @Override
+    public void accept(ScanFinding finding)
+    {
+        if (policyMask != 0 && (finding.policyMask & policyMask) == 0) {
+            return;
+        }
+        store.add(finding);
+        summary.add(finding);
+    }
+
+    public FindingStore store()
+    {
+        return store;
+    }
+
+    /**
+     * A read-only list of views over the {@link #store()}.
+     */
+    public List<ScanFinding> findings()
+    {
+        return store.asList();
+    }
+
+    public FindingSummary summary()
+    {
+        return summary;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.ScanFinding;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compares the findings of two scans by fingerprint: category, class, method sub-signature,
+ * algorithm and provider, so a finding keeps its identity when lines shift or its resolution
+ * changes. Fingerprints are counted, not deduplicated; a method calling {@code MD5} twice more
+ * than before has two added findings. The baseline is streamed once into a table of 64-bit
+ * fingerprints and counts, the current findings are matched against it, and a second pass over
+ * the baseline collects what was not matched; each side's {@link FindingSummary} is added to in
+ * the same passes. Results are row views over the inputs, so with
+ * {@link BinaryReportReader} inputs the findings are decoded from the mapping as they are read
+ * and never held on the heap together.
+ */
+public final class FindingDiff
+{
+    private FindingDiff()
+    {
+    }
+
+    /**
+     * @param added     current findings without a counterpart in the baseline
+     * @param removed   baseline findings without a counterpart in the current scan
+     * @param unchanged current findings matched in the baseline
+     */
+    public record Result(List<ScanFinding> added, List<ScanFinding> removed, List<ScanFinding> unchanged,
+                         FindingSummary addedSummary, FindingSummary removedSummary, FindingSummary unchangedSummary,
+                         long addedFlagged, long millis)
+    {
+        public String describe()
+        {
+            return String.format("🔍 Baseline diff: %d added (%d flagged), %d removed, %d unchanged | %d ms",
+                    added.size(), addedFlagged, removed.size(), unchanged.size(), millis);
+        }
+    }
+
+    /**
+     * Findings that can fingerprint a row without decoding it, as {@link BinaryReportReader}
+     * does from string ids.
+     */
+    interface Fingerprinted
+    {
+        long fingerprint(int index);
+    }
+
+    public static Result diff(List<ScanFinding> baseline, List<ScanFinding> current)
+    {
+        long start = System.nanoTime();
+        FingerprintCounts counts = new FingerprintCounts(baseline.size());
+        for (int row = 0; row < baseline.size(); row++) {
+            counts.increment(fingerprint(baseline, row));
+        }
+
+        RowList added = new RowList();
+        RowList unchanged = new RowList();
+        FindingSummary addedSummary = new FindingSummary();
+        FindingSummary unchangedSummary = new FindingSummary();
+        long addedFlagged = 0;
+        for (int row = 0; row < current.size(); row++) {
+            ScanFinding finding = current.get(row);
+            if (counts.decrement(fingerprint(current, row))) {
+                unchanged.add(row);
+                unchangedSummary.add(finding);
+            } else {
+                added.add(row);
+                addedSummary.add(finding);
+                if (FindingSummary.isFlagged(finding)) {
+                    addedFlagged++;
+                }
+            }
+        }
+
+        RowList removed = new RowList();
+        FindingSummary removedSummary = new FindingSummary();
+        for (int row = 0; row < baseline.size(); row++) {
+            if (counts.decrement(fingerprint(baseline, row))) {
+                removed.add(row);
+                removedSummary.add(baseline.get(row));
+            }
+        }
+        return new Result(added.view(current), removed.view(baseline), unchanged.view(current), addedSummary,
+                removedSummary, unchangedSummary, addedFlagged, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long fingerprint(List<ScanFinding> findings, int row)
+    {
+        return findings instanceof Fingerprinted fingerprinted ? fingerprinted.fingerprint(row)
+                : fingerprint(findings.get(row));
+    }
+
+    /**
+     * Stable across runs and JVMs; never 0.
+     */
+    public static long fingerprint(ScanFinding f)
+    {
+        return fingerprint(hash(f.category), hash(f.className), hash(f.methodName), hash(f.resolvedAlgorithm),
+                hash(f.provider));
+    }
+
+    /**
+     * Fingerprint from the {@link #hash} of each field.
+     */
+    static long fingerprint(long category, long className, long method, long algorithm, long provider)
+    {
+        long h = combine(category, className);
+        h = combine(h, method);
+        h = combine(h, algorithm);
+        h = combine(h, provider);
+        // fmix64 of MurmurHash3, so the low bits index the table well
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    // FNV-1a over the UTF-16 units
+    static long hash(String value)
+    {
+        if (value == null) {
+            return 0x9e3779b97f4a7c15L;
+        }
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long combine(long h, long field)
+    {
+        return Long.rotateLeft(h, 27) * 0x9e3779b97f4a7c15L ^ field;
+    }
+
+    /**
+     * Open-addressing map from fingerprint to count, 0 marking a free slot. Key and count share
+     * a slot of the array, so a probe touches one cache line.
+     */
+    private static final class FingerprintCounts
+    {
+        private long[] slots;
+        private int size;
+
+        FingerprintCounts(int expected)
+        {
+            // Smallest power of two keeping the load at most 3/4
+            int capacity = Integer.highestOneBit(Math.max(16, (int) (expected * 4L / 3)) - 1) << 1;
+            slots = new long[capacity * 2];
+        }
+
+        void increment(long key)
+        {
+            int slot = slot(slots, key);
+            if (slots[slot] == 0) {
+                slots[slot] = key;
+                size++;
+            }
+            slots[slot + 1]++;
+            if (size * 8L > slots.length * 3L) {
+                grow();
+            }
+        }
+
+        /**
+         * @return whether the key had a count left
+         */
+        boolean decrement(long key)
+        {
+            int slot = slot(slots, key);
+            if (slots[slot] == 0 || slots[slot + 1] == 0) {
+                return false;
+            }
+            slots[slot + 1]--;
+            return true;
+        }
+
+        private static int slot(long[] slots, long key)
+        {
+            int mask = slots.length - 2;
+            int slot = (int) key << 1 & mask;
+            while (slots[slot] != 0 && slots[slot] != key) {
+                slot = (slot + 2) & mask;
+            }
+            return slot;
+        }
+
+        private void grow()
+        {
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            for (int i = 0; i < old.length; i += 2) {
+                if (old[i] != 0) {
+                    int slot = slot(slots, old[i]);
+                    slots[slot] = old[i];
+                    slots[slot + 1] = old[i + 1];
+                }
+            }
+        }
+    }
+
+    private static final class RowList
+    {
+        private int[] rows = new int[16];
+        private int size;
+
+        void add(int row)
+        {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        List<ScanFinding> view(List<ScanFinding> findings)
+        {
+            int[] selected = Arrays.copyOf(rows, size);
+            return new Rows(findings, selected);
+        }
+    }
+
+    private static final class Rows extends AbstractList<ScanFinding> implements RandomAccess
+    {
+        private final List<ScanFinding> findings;
+        private final int[] rows;
+
+        Rows(List<ScanFinding> findings, int[] rows)
+        {
+            this.findings = findings;
+            this.rows = rows;
+        }
+
+        @Override
+        public ScanFinding get(int index)
+        {
+            return findings.get(rows[index]);
+        }
+
+        @Override
+        public int size()
+        {
+            return rows.length;
+        }
+    }
+}
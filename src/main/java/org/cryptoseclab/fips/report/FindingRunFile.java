@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.CallPath;
+import org.cryptoseclab.fips.model.ScanFinding;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Sorted run of findings spilled to disk, so findings of analyzed chunks do not stay on the
+ * heap next to the Scene of the chunk being analyzed. Runs are merged in one pass at the end.
+ * Format: magic, count, then per finding its fields as nullable modified-UTF strings, the
+ * line, the policy mask, the artifact, the unreachable flag and the methods of the call path.
+ */
+public final class FindingRunFile
+{
+    public static final Comparator<ScanFinding> ORDER = Comparator
+            .comparing((ScanFinding f) -> f.className)
+            .thenComparing(f -> f.methodName)
+            .thenComparingInt(f -> f.line)
+            .thenComparing(f -> f.category);
+
+    private static final int MAGIC = 0x46495053; // "FIPS"
+
+    private FindingRunFile()
+    {
+    }
+
+    public static void write(Path path, List<ScanFinding> findings) throws IOException
+    {
+        List<ScanFinding> sorted = new ArrayList<>(findings);
+        sorted.sort(ORDER);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(sorted.size());
+            for (ScanFinding f : sorted) {
+                writeFinding(out, f);
+            }
+        }
+    }
+
+    /**
+     * Writes the fields of one finding, as {@link #readFinding} reads them back.
+     */
+    public static void writeFinding(DataOutputStream out, ScanFinding f) throws IOException
+    {
+        writeString(out, f.category);
+        writeString(out, f.className);
+        writeString(out, f.methodName);
+        writeString(out, f.resolvedAlgorithm);
+        writeString(out, f.resolutionType);
+        out.writeInt(f.line);
+        writeString(out, f.provider);
+        writeString(out, f.providerStatus);
+        writeString(out, f.algorithmStatus);
+        out.writeLong(f.policyMask);
+        writeString(out, f.artifact);
+        out.writeBoolean(f.unreachable);
+        List<String> path = f.callPath == null ? List.of() : f.callPath.methods();
+        out.writeInt(path.size());
+        for (String method : path) {
+            out.writeUTF(method);
+        }
+    }
+
+    public static ScanFinding readFinding(DataInputStream in) throws IOException
+    {
+        String category = readString(in);
+        String className = readString(in);
+        String methodName = readString(in);
+        String algorithm = readString(in);
+        String resolution = readString(in);
+        int line = in.readInt();
+        String provider = readString(in);
+        String providerStatus = readString(in);
+        String algorithmStatus = readString(in);
+        long policyMask = in.readLong();
+        String artifact = readString(in);
+        boolean unreachable = in.readBoolean();
+        CallPath path = null;
+        for (int n = in.readInt(); n > 0; n--) {
+            path = new CallPath(in.readUTF(), path);
+        }
+        return new ScanFinding(category, className, methodName, algorithm, resolution, line, provider, providerStatus,
+                algorithmStatus, policyMask, artifact, path, unreachable);
+    }
+
+    /**
+     * Merges sorted runs in one pass, handing the findings to {@code sink} in {@link #ORDER}.
+     *
+     * @return the number of findings merged
+     */
+    public static int merge(List<Path> runs, Consumer<ScanFinding> sink) throws IOException
+    {
+        List<Run> open = new ArrayList<>();
+        PriorityQueue<Run> heads = new PriorityQueue<>(Comparator.comparing((Run r) -> r.head, ORDER));
+        try {
+            for (Path path : runs) {
+                Run run = new Run(path);
+                open.add(run);
+                if (run.advance()) {
+                    heads.add(run);
+                }
+            }
+            int merged = 0;
+            while (!heads.isEmpty()) {
+                Run run = heads.poll();
+                sink.accept(run.head);
+                merged++;
+                if (run.advance()) {
+                    heads.add(run);
+                }
+            }
+            return merged;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (Run run : open) {
+                run.close();
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static final class Run implements Closeable
+    {
+        private final DataInputStream in;
+        private int remaining;
+        private ScanFinding head;
+
+        Run(Path path) throws IOException
+        {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+            if (in.readInt() != MAGIC) {
+                in.close();
+                throw new IOException("Not a findings run file: " + path);
+            }
+            remaining = in.readInt();
+        }
+
+        boolean advance()
+        {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            try {
+                head = readFinding(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.ScanFinding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates findings in one streaming pass for the summary at the top of the reports. The
+ * low-cardinality dimensions (category, algorithm, provider status) are counted exactly;
+ * packages, classes and flagged class/algorithm hotspots go through Space-Saving sketches of
+ * fixed capacity, so memory stays bounded however many distinct classes a fleet has. A sketch
+ * is exact until it evicts; afterwards every reported count overestimates by at most its
+ * {@link Entry#error()}, and every key seen more than {@code total / capacity} times is kept.
+ */
+public final class FindingSummary
+{
+    public static final int DEFAULT_TOP = 10;
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int top;
+    private final Map<String, Long> categories = new LinkedHashMap<>();
+    private final Map<String, Long> algorithms = new LinkedHashMap<>();
+    private final Map<String, Long> providerStatuses = new LinkedHashMap<>();
+    private final SpaceSaving packages;
+    private final SpaceSaving classes;
+    private final SpaceSaving hotspots;
+    private long findings;
+    private long flagged;
+    private boolean artifacts;
+    private boolean callPaths;
+    private boolean unreachable;
+
+    public FindingSummary()
+    {
+        this(DEFAULT_TOP, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param top      entries reported per ranking
+     * @param capacity keys each sketch keeps; at least {@code top}
+     */
+    public FindingSummary(int top, int capacity)
+    {
+        if (top < 1 || capacity < top) {
+            throw new IllegalArgumentException("Summary needs 1 <= top <= capacity, got top " + top + ", capacity " + capacity);
+        }
+        this.top = top;
+        this.packages = new SpaceSaving(capacity);
+        this.classes = new SpaceSaving(capacity);
+        this.hotspots = new SpaceSaving(capacity);
+    }
+
+    public void add(ScanFinding f)
+    {
+        findings++;
+        categories.merge(String.valueOf(f.category), 1L, Long::sum);
+        algorithms.merge(String.valueOf(f.resolvedAlgorithm), 1L, Long::sum);
+        providerStatuses.merge(String.valueOf(f.providerStatus), 1L, Long::sum);
+        packages.add(packageOf(f.className));
+        classes.add(String.valueOf(f.className));
+        if (isFlagged(f)) {
+            flagged++;
+            hotspots.add(f.className + '\0' + f.resolvedAlgorithm);
+        }
+        artifacts |= f.artifact != null;
+        callPaths |= f.callPath != null;
+        unreachable |= f.unreachable;
+    }
+
+    /**
+     * Whether the finding uses a forbidden algorithm or a non-FIPS provider; the HTML report
+     * highlights the same rows.
+     */
+    public static boolean isFlagged(ScanFinding f)
+    {
+        return "⚠️ Non-FIPS".equals(f.providerStatus)
+                || f.algorithmStatus != null && f.algorithmStatus.startsWith("FORBIDDEN");
+    }
+
+    static String packageOf(String className)
+    {
+        int dot = className == null ? -1 : className.lastIndexOf('.');
+        return dot < 0 ? "(default package)" : className.substring(0, dot);
+    }
+
+    public long findings()
+    {
+        return findings;
+    }
+
+    public long flagged()
+    {
+        return flagged;
+    }
+
+    public boolean hasArtifacts()
+    {
+        return artifacts;
+    }
+
+    public boolean hasCallPaths()
+    {
+        return callPaths;
+    }
+
+    /**
+     * Whether any finding was tagged as unreachable, so writers add the column only then.
+     */
+    public boolean hasUnreachable()
+    {
+        return unreachable;
+    }
+
+    public Map<String, Long> byCategory()
+    {
+        return sorted(categories);
+    }
+
+    public Map<String, Long> byAlgorithm()
+    {
+        return sorted(algorithms);
+    }
+
+    public Map<String, Long> byProviderStatus()
+    {
+        return sorted(providerStatuses);
+    }
+
+    public List<Entry> topPackages()
+    {
+        return packages.top(top);
+    }
+
+    public List<Entry> topClasses()
+    {
+        return classes.top(top);
+    }
+
+    /**
+     * Flagged findings grouped by class and algorithm, largest first.
+     */
+    public List<Hotspot> hotspots()
+    {
+        List<Hotspot> result = new ArrayList<>();
+        for (Entry e : hotspots.top(top)) {
+            int sep = e.key().indexOf('\0');
+            result.add(new Hotspot(e.key().substring(0, sep), e.key().substring(sep + 1), e.count(), e.error()));
+        }
+        return result;
+    }
+
+    /**
+     * Whether any ranking evicted keys, making its counts upper bounds.
+     */
+    public boolean approximate()
+    {
+        return packages.evicted || classes.evicted || hotspots.evicted;
+    }
+
+    private static Map<String, Long> sorted(Map<String, Long> counts)
+    {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> e : entries) {
+            result.put(e.getKey(), e.getValue());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @param error how much {@code count} may overestimate; 0 while the sketch has not evicted
+     */
+    public record Entry(String key, long count, long error)
+    {
+    }
+
+    public record Hotspot(String className, String algorithm, long count, long error)
+    {
+    }
+
+    /**
+     * Space-Saving (Metwally et al.): once full, a new key replaces a minimum and inherits its
+     * count as the error bound. Counters hang off a list of buckets in ascending count order
+     * (the paper's Stream-Summary), so an increment and finding a minimum are both O(1).
+     */
+    private static final class SpaceSaving
+    {
+        private final int capacity;
+        private final Map<String, Counter> counters = new HashMap<>();
+        private Bucket lowest;
+        private boolean evicted;
+
+        SpaceSaving(int capacity)
+        {
+            this.capacity = capacity;
+        }
+
+        void add(String key)
+        {
+            Counter counter = counters.get(key);
+            if (counter != null) {
+                increment(counter);
+                return;
+            }
+            if (counters.size() < capacity) {
+                counter = new Counter(key, 0);
+                if (lowest == null || lowest.count != 0) {
+                    Bucket zero = new Bucket(0);
+                    zero.next = lowest;
+                    if (lowest != null) {
+                        lowest.previous = zero;
+                    }
+                    lowest = zero;
+                }
+                lowest.attach(counter);
+            } else {
+                Counter min = lowest.counters;
+                counters.remove(min.key);
+                min.key = key;
+                min.error = lowest.count;
+                counter = min;
+                evicted = true;
+            }
+            counters.put(key, counter);
+            increment(counter);
+        }
+
+        private void increment(Counter counter)
+        {
+            Bucket bucket = counter.bucket;
+            Bucket next = bucket.next;
+            if (next == null || next.count != bucket.count + 1) {
+                next = new Bucket(bucket.count + 1);
+                next.previous = bucket;
+                next.next = bucket.next;
+                if (bucket.next != null) {
+                    bucket.next.previous = next;
+                }
+                bucket.next = next;
+            }
+            bucket.detach(counter);
+            next.attach(counter);
+            if (bucket.counters == null) {
+                if (bucket.previous != null) {
+                    bucket.previous.next = bucket.next;
+                } else {
+                    lowest = bucket.next;
+                }
+                bucket.next.previous = bucket.previous;
+            }
+        }
+
+        List<Entry> top(int n)
+        {
+            List<Entry> result = new ArrayList<>();
+            for (Counter c : counters.values()) {
+                result.add(new Entry(c.key, c.bucket.count, c.error));
+            }
+            result.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::key));
+            return result.size() > n ? new ArrayList<>(result.subList(0, n)) : result;
+        }
+    }
+
+    private static final class Bucket
+    {
+        final long count;
+        Bucket previous;
+        Bucket next;
+        Counter counters;
+
+        Bucket(long count)
+        {
+            this.count = count;
+        }
+
+        void attach(Counter counter)
+        {
+            counter.bucket = this;
+            counter.previous = null;
+            counter.next = counters;
+            if (counters != null) {
+                counters.previous = counter;
+            }
+            counters = counter;
+        }
+
+        void detach(Counter counter)
+        {
+            if (counter.previous != null) {
+                counter.previous.next = counter.next;
+            } else {
+                counters = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.previous = counter.previous;
+            }
+        }
+    }
+
+    private static final class Counter
+    {
+        String key;
+        long error;
+        Bucket bucket;
+        Counter previous;
+        Counter next;
+
+        Counter(String key, long error)
+        {
+            this.key = key;
+            this.error = error;
+        }
+    }
+}
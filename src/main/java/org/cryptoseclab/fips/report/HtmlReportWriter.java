@@ -18,22 +18,39 @@
 // HtmlReportWriter.java
 package org.cryptoseclab.fips.report;
 
+import org.cryptoseclab.fips.model.PolicySet;
 import org.cryptoseclab.fips.model.ScanFinding;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 public class HtmlReportWriter implements ReportWriter
 {
+    private final PolicySet policies;
+
+    public HtmlReportWriter()
+    {
+        this(null);
+    }
+
+    /**
+     * @param policies when set, adds a column listing the policies each finding violates
+     */
+    public HtmlReportWriter(PolicySet policies)
+    {
+        this.policies = policies;
+    }
 
     @Override
-    public void write(List<ScanFinding> findings, Path outputPath)
+    public void write(List<ScanFinding> findings, FindingSummary summary, Path outputPath)
     {
-        try (PrintWriter out = new PrintWriter("fips-report.html")) {
+        try (PrintWriter out = new PrintWriter(outputPath.toFile(), StandardCharsets.UTF_8)) {
             out.println("""
             <!DOCTYPE html>
             <html>
@@ -47,26 +64,47 @@ public class HtmlReportWriter implements ReportWriter
                 th { background-color: #f2f2f2; }
                 tr.danger { background-color: #ffe5e5; }
                 tr.safe { background-color: #e5ffe5; }
+                .summary { display: flex; flex-wrap: wrap; gap: 16px; margin-bottom: 24px; }
+                .summary table { width: auto; }
+                td.count { text-align: right; }
               </style>
             </head>
             <body>
-              <h2>FIPS Crypto Scan Report</h2>
+              <h2>FIPS Crypto Scan Report</h2>""");
+            writeSummary(out, summary);
+            out.println("""
               <table>
                 <tr>
                   <th>Category</th>
                   <th>Class</th>
                   <th>Method</th>
                   <th>Algorithm</th>
+                  <th>Algorithm Status</th>
                   <th>Resolution</th>
                   <th>Line</th>
                   <th>Provider</th>
-                  <th>Provider Status</th>
-                </tr>
-        """);
+                  <th>Provider Status</th>""");
+            boolean artifacts = summary.hasArtifacts();
+            if (artifacts) {
+                out.println("      <th>Artifact</th>");
+            }
+            boolean unreachable = summary.hasUnreachable();
+            if (unreachable) {
+                out.println("      <th>Unreachable</th>");
+            }
+            boolean callPaths = summary.hasCallPaths();
+            if (callPaths) {
+                out.println("      <th>Call Path</th>");
+            }
+            if (policies != null) {
+                out.println("      <th>Policies</th>");
+            }
+            out.println("    </tr>");
 
             for (ScanFinding f : findings) {
-                String rowClass = "default".equals(f.providerStatus) ? ""
-                        : "⚠️ Non-FIPS".equals(f.providerStatus) ? "danger"
+                String rowClass = "⚠️ Non-FIPS".equals(f.providerStatus)
+                        || f.algorithmStatus.startsWith("FORBIDDEN") ? "danger"
+                        : "default".equals(f.providerStatus) ? ""
                         : "safe";
                 out.printf("""
                 <tr class="%s">
@@ -78,18 +116,34 @@ public class HtmlReportWriter implements ReportWriter
                   <td>%s</td>
                   <td>%s</td>
                   <td>%s</td>
-                </tr>
+                  <td>%s</td>
                 """,
                         rowClass,
                         f.category,
                         f.className,
                         f.methodName,
                         f.resolvedAlgorithm,
+                        f.algorithmStatus,
                         f.resolutionType,
                         (f.line == -1 ? "?" : f.line),
                         f.provider,
                         f.providerStatus
                 );
+                if (artifacts) {
+                    out.printf("  <td>%s</td>%n", f.artifact == null ? "" : f.artifact);
+                }
+                if (unreachable) {
+                    out.printf("  <td>%s</td>%n", f.unreachable ? "yes" : "");
+                }
+                if (callPaths) {
+                    // Paths run through <init> and <clinit>
+                    String path = f.callPath == null ? "" : String.join(" → ", f.callPath.methods());
+                    out.printf("  <td>%s</td>%n", escape(path));
+                }
+                if (policies != null) {
+                    out.printf("  <td>%s</td>%n", String.join(", ", policies.namesOf(f.policyMask)));
+                }
+                out.println("</tr>");
             }
 
             out.println("""
@@ -98,11 +152,65 @@ public class HtmlReportWriter implements ReportWriter
             </html>
         """);
 
-            System.out.println("✅ HTML report generated: fips-report.html");
+            System.out.println("✅ HTML report generated: " + outputPath);
         } catch (Exception e) {
             System.err.println("❌ Failed to write HTML report: " + e.getMessage());
         }
     }
+
+    private static void writeSummary(PrintWriter out, FindingSummary summary)
+    {
+        out.printf("  <p>%d findings, %d flagged (forbidden algorithm or non-FIPS provider)%s</p>%n",
+                summary.findings(), summary.flagged(),
+                summary.approximate() ? "; counts marked ≤ are upper bounds" : "");
+        out.println("  <div class=\"summary\">");
+        writeCounts(out, "Hotspots (flagged)", "Class", "Algorithm", summary.hotspots().stream()
+                .map(h -> new String[] {h.className(), h.algorithm(), count(h.count(), h.error(), summary)}).toList());
+        writeCounts(out, "Top Classes", "Class", null, summary.topClasses().stream()
+                .map(e -> new String[] {e.key(), null, count(e.count(), e.error(), summary)}).toList());
+        writeCounts(out, "Top Packages", "Package", null, summary.topPackages().stream()
+                .map(e -> new String[] {e.key(), null, count(e.count(), e.error(), summary)}).toList());
+        writeCounts(out, "By Algorithm", "Algorithm", null, rows(summary.byAlgorithm(), summary));
+        writeCounts(out, "By Category", "Category", null, rows(summary.byCategory(), summary));
+        writeCounts(out, "By Provider Status", "Provider Status", null, rows(summary.byProviderStatus(), summary));
+        out.println("  </div>");
+    }
+
+    private static List<String[]> rows(Map<String, Long> counts, FindingSummary summary)
+    {
+        return counts.entrySet().stream()
+                .map(e -> new String[] {e.getKey(), null, count(e.getValue(), 0, summary)}).toList();
+    }
+
+    private static String count(long count, long error, FindingSummary summary)
+    {
+        return String.format("%s%d (%.1f%%)", error > 0 ? "≤ " : "", count, 100.0 * count / summary.findings());
+    }
+
+    /**
+     * @param rows key, second key (when {@code secondHeader} is set) and the formatted count
+     */
+    private static void writeCounts(PrintWriter out, String title, String keyHeader, String secondHeader,
+                                    List<String[]> rows)
+    {
+        if (rows.isEmpty()) {
+            return;
+        }
+        out.println("  <table>");
+        out.printf("    <caption>%s</caption>%n", title);
+        out.printf("    <tr><th>%s</th>%s<th>Findings</th></tr>%n", keyHeader,
+                secondHeader == null ? "" : "<th>" + secondHeader + "</th>");
+        for (String[] row : rows) {
+            out.printf("    <tr><td>%s</td>%s<td class=\"count\">%s</td></tr>%n", escape(row[0]),
+                    secondHeader == null ? "" : "<td>" + escape(row[1]) + "</td>", row[2]);
+        }
+        out.println("  </table>");
+    }
+
+    private static String escape(String value)
+    {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
 //        try (BufferedWriter writer = Files.newBufferedWriter(outputPath)) {
 //            writer.write("<!DOCTYPE html>\n<html><head><meta charset='UTF-8'>");
 //            writer.write(
@@ -17,6 +17,148 @@
 
 package org.cryptoseclab.fips.report;
 
-public class JsonReportWriter
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.model.ScanFinding;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class JsonReportWriter implements ReportWriter
 {
+    private final PolicySet policies;
+
+    public JsonReportWriter()
+    {
+        this(null);
+    }
+
+    /**
+     * @param policies when set, each finding lists the policies it violates
+     */
+    public JsonReportWriter(PolicySet policies)
+    {
+        this.policies = policies;
+    }
+
+    @Override
+    public void write(List<ScanFinding> findings, FindingSummary summary, Path outputPath)
+    {
+        try (PrintWriter out = new PrintWriter(outputPath.toFile(), StandardCharsets.UTF_8)) {
+            out.println("{");
+            writeSummary(out, summary);
+            out.println("  \"findings\": [");
+            for (int i = 0; i < findings.size(); i++) {
+                ScanFinding f = findings.get(i);
+                out.print("    {");
+                out.print("\"category\": " + quote(f.category));
+                out.print(", \"class\": " + quote(f.className));
+                out.print(", \"method\": " + quote(f.methodName));
+                out.print(", \"algorithm\": " + quote(f.resolvedAlgorithm));
+                out.print(", \"algorithmStatus\": " + quote(f.algorithmStatus));
+                out.print(", \"resolution\": " + quote(f.resolutionType));
+                out.print(", \"line\": " + f.line);
+                out.print(", \"provider\": " + quote(f.provider));
+                out.print(", \"providerStatus\": " + quote(f.providerStatus));
+                if (f.artifact != null) {
+                    out.print(", \"artifact\": " + quote(f.artifact));
+                }
+                if (f.unreachable) {
+                    out.print(", \"unreachable\": true");
+                }
+                if (f.callPath != null) {
+                    out.print(", \"callPath\": [");
+                    List<String> methods = f.callPath.methods();
+                    for (int m = 0; m < methods.size(); m++) {
+                        out.print((m > 0 ? ", " : "") + quote(methods.get(m)));
+                    }
+                    out.print("]");
+                }
+                if (policies != null) {
+                    out.print(", \"policies\": [");
+                    List<String> names = policies.namesOf(f.policyMask);
+                    for (int p = 0; p < names.size(); p++) {
+                        out.print((p > 0 ? ", " : "") + quote(names.get(p)));
+                    }
+                    out.print("]");
+                }
+                out.println(i + 1 < findings.size() ? "}," : "}");
+            }
+            out.println("  ]");
+            out.println("}");
+
+            System.out.println("✅ JSON report generated: " + outputPath);
+        } catch (IOException e) {
+            System.err.println("❌ Failed to write JSON report: " + e.getMessage());
+        }
+    }
+
+    private static void writeSummary(PrintWriter out, FindingSummary summary)
+    {
+        out.println("  \"summary\": {");
+        out.println("    \"findings\": " + summary.findings() + ", \"flagged\": " + summary.flagged()
+                + ", \"approximate\": " + summary.approximate() + ",");
+        out.println("    \"byCategory\": " + counts(summary.byCategory()) + ",");
+        out.println("    \"byAlgorithm\": " + counts(summary.byAlgorithm()) + ",");
+        out.println("    \"byProviderStatus\": " + counts(summary.byProviderStatus()) + ",");
+        out.println("    \"topPackages\": " + ranking("package", summary.topPackages()) + ",");
+        out.println("    \"topClasses\": " + ranking("class", summary.topClasses()) + ",");
+        StringJoiner hotspots = new StringJoiner(", ", "[", "]");
+        for (FindingSummary.Hotspot h : summary.hotspots()) {
+            hotspots.add("{\"class\": " + quote(h.className()) + ", \"algorithm\": " + quote(h.algorithm())
+                    + ", \"count\": " + h.count() + (h.error() > 0 ? ", \"error\": " + h.error() : "") + "}");
+        }
+        out.println("    \"hotspots\": " + hotspots);
+        out.println("  },");
+    }
+
+    private static String counts(Map<String, Long> counts)
+    {
+        StringJoiner json = new StringJoiner(", ", "{", "}");
+        counts.forEach((key, count) -> json.add(quote(key) + ": " + count));
+        return json.toString();
+    }
+
+    private static String ranking(String keyName, List<FindingSummary.Entry> entries)
+    {
+        StringJoiner json = new StringJoiner(", ", "[", "]");
+        for (FindingSummary.Entry e : entries) {
+            json.add("{\"" + keyName + "\": " + quote(e.key()) + ", \"count\": " + e.count()
+                    + (e.error() > 0 ? ", \"error\": " + e.error() : "") + "}");
+        }
+        return json.toString();
+    }
+
+    /**
+     * JSON string literal for {@code value}, or {@code null}.
+     */
+    public static String quote(String value)
+    {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
 }
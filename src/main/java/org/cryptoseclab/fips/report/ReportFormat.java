@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.PolicySet;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Report formats selectable on the command line and in daemon jobs.
+ */
+public enum ReportFormat
+{
+    HTML("html"), JSON("json"), CSV("csv"), BINARY("fdb");
+
+    private final String extension;
+
+    ReportFormat(String extension)
+    {
+        this.extension = extension;
+    }
+
+    public ReportWriter writer(PolicySet policies)
+    {
+        return switch (this) {
+            case HTML -> new HtmlReportWriter(policies);
+            case JSON -> new JsonReportWriter(policies);
+            case CSV -> new CsvReportWriter(policies);
+            case BINARY -> new BinaryReportWriter(policies);
+        };
+    }
+
+    /**
+     * Output file for this format: {@code base} plus the format's extension.
+     */
+    public Path outputFor(Path base)
+    {
+        return base.resolveSibling(base.getFileName() + "." + extension);
+    }
+
+    public static ReportFormat parse(String name)
+    {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report format: " + name + " (expected html, json, csv or binary)");
+        }
+    }
+}
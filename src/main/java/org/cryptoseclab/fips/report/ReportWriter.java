@@ -24,5 +24,9 @@ import java.util.List;
 
 public interface ReportWriter
 {
-    void write(List<ScanFinding> findings, Path outputPath);
+    /**
+     * @param summary aggregated from {@code findings} as they were emitted, see {@link FindingCollector};
+     *                shared when writing several formats
+     */
+    void write(List<ScanFinding> findings, FindingSummary summary, Path outputPath);
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.rule;
+
+import org.cryptoseclab.fips.model.AlgorithmList;
+import org.cryptoseclab.fips.model.AlgorithmPolicy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link AlgorithmPolicy} compiled into case-insensitive tries, one per transformation
+ * component (algorithm, mode, padding) plus one for providers. A transformation such as
+ * {@code AES/ECB/PKCS5Padding} is classified in a single left-to-right pass, switching tries
+ * at each {@code /}. Aliases and OIDs are resolved at compile time, so their trie nodes
+ * already carry the verdict of the canonical name. Results are cached per distinct string.
+ */
+public final class AlgorithmClassifier {
+
+    public enum Status { APPROVED, FORBIDDEN, UNKNOWN }
+
+    public record Classification(Status status, String reason) {
+
+        @Override
+        public String toString() {
+            return status == Status.APPROVED ? status.name() : status + " (" + reason + ")";
+        }
+    }
+
+    private static final List<String> DEFAULT_FIPS_PROVIDERS = List.of("SunPKCS11", "BCFIPS", "OpenJCEPlusFIPS");
+    private static final String[] COMPONENTS = {"algorithm", "mode", "padding"};
+    // The JCE spells "no block mode" as ECB (or NONE) for RSA, e.g. RSA/ECB/OAEPWithSHA-256AndMGF1Padding
+    private static final List<String> PASS_THROUGH_MODES = List.of("ECB", "NONE");
+
+    private static final byte NONE = 0;
+    private static final byte APPROVED = 1;
+    private static final byte FORBIDDEN = 2;
+
+    private final Node[] transformationRoots = {new Node(), new Node(), new Node()};
+    private final Node providerRoot = new Node();
+    private final Map<String, Classification> cache = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> providerCache = new ConcurrentHashMap<>();
+
+    private AlgorithmClassifier() {
+    }
+
+    /**
+     * @param policy the policy section of a rules file, or {@code null} for the built-in
+     *               defaults (only the FIPS provider list, no algorithm verdicts)
+     */
+    public static AlgorithmClassifier compile(AlgorithmPolicy policy) {
+        AlgorithmClassifier classifier = new AlgorithmClassifier();
+        if (policy == null) {
+            DEFAULT_FIPS_PROVIDERS.forEach(p -> classifier.providerRoot.insert(p, APPROVED));
+            return classifier;
+        }
+
+        classifier.insertAll(policy.getApproved(), APPROVED);
+        classifier.insertAll(policy.getForbidden(), FORBIDDEN);
+
+        if (policy.getAliases() != null) {
+            for (Map.Entry<String, String> alias : policy.getAliases().entrySet()) {
+                classifier.insertAlias(alias.getKey(), alias.getValue());
+            }
+        }
+        return classifier;
+    }
+
+    private void insertAll(AlgorithmList list, byte verdict) {
+        if (list == null) return;
+        insertEach(transformationRoots[0], list.getAlgorithms(), verdict);
+        insertEach(transformationRoots[1], list.getModes(), verdict);
+        insertEach(transformationRoots[2], list.getPaddings(), verdict);
+        insertEach(providerRoot, list.getProviders(), verdict);
+    }
+
+    private static void insertEach(Node root, List<String> entries, byte verdict) {
+        if (entries == null) return;
+        for (String entry : entries) root.insert(entry, verdict);
+    }
+
+    private void insertAlias(String alias, String canonical) {
+        for (Node root : transformationRoots) {
+            byte verdict = root.match(canonical);
+            if (verdict == NONE) continue;
+            root.insert(alias, verdict);
+            if (isOid(alias)) root.insert("OID." + alias, verdict);
+        }
+        byte providerVerdict = providerRoot.match(canonical);
+        if (providerVerdict != NONE) providerRoot.insert(alias, providerVerdict);
+    }
+
+    private static boolean isOid(String name) {
+        return !name.isEmpty() && name.chars().allMatch(c -> c == '.' || Character.isDigit(c));
+    }
+
+    public Classification classify(String transformation) {
+        return cache.computeIfAbsent(transformation, this::classifyUncached);
+    }
+
+    public boolean isApprovedProvider(String provider) {
+        return providerCache.computeIfAbsent(provider, p -> providerRoot.match(p) == APPROVED);
+    }
+
+    private Classification classifyUncached(String transformation) {
+        byte[] verdicts = new byte[COMPONENTS.length];
+        int[] starts = new int[COMPONENTS.length + 1];
+        int component = 0;
+        Node node = transformationRoots[0];
+        byte prefixVerdict = NONE;
+
+        for (int i = 0; i <= transformation.length(); i++) {
+            // Algorithm names may themselves contain '/', e.g. SHA-512/256
+            boolean separator = i < transformation.length() && transformation.charAt(i) == '/'
+                    && !(component == 0 && node != null && node.child('/') != null);
+            if (i == transformation.length() || separator) {
+                byte exact = node == null ? NONE : node.exact;
+                verdicts[component] = exact != NONE ? exact
+                        : node != null && node.prefix != NONE ? node.prefix
+                        : prefixVerdict;
+                starts[component + 1] = i + 1;
+                if (i == transformation.length()) break;
+                if (++component == COMPONENTS.length) {
+                    return new Classification(Status.UNKNOWN, "malformed transformation");
+                }
+                node = transformationRoots[component];
+                prefixVerdict = NONE;
+                continue;
+            }
+            if (node == null) continue;
+            if (node.prefix != NONE) prefixVerdict = node.prefix;
+            node = node.child(transformation.charAt(i));
+        }
+
+        if (component > 0 && isPassThroughMode(transformation, starts)) verdicts[1] = APPROVED;
+
+        String unknown = null;
+        for (int c = 0; c <= component; c++) {
+            String name = transformation.substring(starts[c], starts[c + 1] - 1);
+            if (verdicts[c] == FORBIDDEN) {
+                return new Classification(Status.FORBIDDEN, COMPONENTS[c] + " " + name + " forbidden");
+            }
+            if (verdicts[c] == NONE && unknown == null) {
+                unknown = COMPONENTS[c] + " " + name + " not listed";
+            }
+        }
+        return unknown == null ? new Classification(Status.APPROVED, "") : new Classification(Status.UNKNOWN, unknown);
+    }
+
+    private static boolean isPassThroughMode(String transformation, int[] starts) {
+        String algorithm = transformation.substring(starts[0], starts[1] - 1);
+        String mode = transformation.substring(starts[1], starts[2] - 1);
+        return algorithm.equalsIgnoreCase("RSA")
+                && PASS_THROUGH_MODES.stream().anyMatch(mode::equalsIgnoreCase);
+    }
+
+    /**
+     * Trie node over lower-cased characters. {@code exact} is the verdict for a string ending
+     * here, {@code prefix} the verdict for any string continuing from here (trailing '*').
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private byte exact = NONE;
+        private byte prefix = NONE;
+
+        Node child(char c) {
+            char key = Character.toLowerCase(c);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) return children[i];
+            }
+            return null;
+        }
+
+        void insert(String entry, byte verdict) {
+            boolean wildcard = entry.endsWith("*");
+            String literal = wildcard ? entry.substring(0, entry.length() - 1) : entry;
+            if (literal.indexOf('*') >= 0) {
+                throw new IllegalArgumentException("'*' is only supported at the end of a policy entry: " + entry);
+            }
+            Node node = this;
+            for (int i = 0; i < literal.length(); i++) {
+                Node next = node.child(literal.charAt(i));
+                if (next == null) {
+                    next = new Node();
+                    int n = node.keys.length;
+                    node.keys = Arrays.copyOf(node.keys, n + 1);
+                    node.children = Arrays.copyOf(node.children, n + 1);
+                    node.keys[n] = Character.toLowerCase(literal.charAt(i));
+                    node.children[n] = next;
+                }
+                node = next;
+            }
+            // A name listed as both approved and forbidden stays forbidden
+            if (wildcard) {
+                node.prefix = (byte) Math.max(node.prefix, verdict);
+            } else {
+                node.exact = (byte) Math.max(node.exact, verdict);
+            }
+        }
+
+        byte match(String s) {
+            Node node = this;
+            byte prefixVerdict = NONE;
+            for (int i = 0; i < s.length() && node != null; i++) {
+                if (node.prefix != NONE) prefixVerdict = node.prefix;
+                node = node.child(s.charAt(i));
+            }
+            if (node == null) return prefixVerdict;
+            return node.exact != NONE ? node.exact : node.prefix != NONE ? node.prefix : prefixVerdict;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.rule;
+
+import org.cryptoseclab.fips.model.ArgPredicate;
+import org.cryptoseclab.fips.model.CryptoRule;
+import org.cryptoseclab.fips.rule.AlgorithmClassifier.Classification;
+import org.cryptoseclab.fips.rule.AlgorithmClassifier.Status;
+
+import java.util.List;
+
+/**
+ * Classifies a resolved algorithm and provider against the compiled classifier of every
+ * policy whose rule matched the call site, and works out which policies are violated.
+ * Argument predicates of the rule are checked in the same step.
+ */
+public class PolicyEvaluator {
+
+    public static final String UNRESOLVED = "unresolved";
+
+    public record Verdict(String algorithmStatus, String providerStatus, long violationMask) {
+    }
+
+    private final AlgorithmClassifier[] classifiers;
+
+    /**
+     * @param classifiers one classifier per policy, indexed like the policy bits
+     */
+    public PolicyEvaluator(List<AlgorithmClassifier> classifiers) {
+        this.classifiers = classifiers.toArray(new AlgorithmClassifier[0]);
+    }
+
+    /**
+     * Built-in FIPS provider list, no algorithm policy; used when no rules file is involved.
+     */
+    public static PolicyEvaluator defaults() {
+        return new PolicyEvaluator(List.of(AlgorithmClassifier.compile(null)));
+    }
+
+    /**
+     * Evaluates a call site of {@code rule}.
+     *
+     * @param algorithm the resolved algorithm, ignored when the rule has no algorithm argument
+     * @param argValues resolved values of the rule's argument predicates, in rule order
+     */
+    public Verdict evaluate(CryptoRule rule, String algorithm, String provider, String[] argValues) {
+        return evaluate(rule, algorithm, provider, argValues, null);
+    }
+
+    /**
+     * @param receiverAlgorithm the algorithm the called object was created for, or {@code null};
+     *                          selects per-algorithm minimums of the argument predicates
+     */
+    public Verdict evaluate(CryptoRule rule, String algorithm, String provider, String[] argValues,
+                            String receiverAlgorithm) {
+        Verdict verdict = evaluate(rule.getPolicyMask(), rule.hasAlgorithmArg() ? algorithm : null, provider);
+        List<ArgPredicate> predicates = rule.getArgPredicates();
+        if (predicates.isEmpty()) return verdict;
+
+        String failure = null;
+        boolean unresolved = false;
+        for (int i = 0; i < predicates.size(); i++) {
+            if (UNRESOLVED.equals(argValues[i])) {
+                unresolved = true;
+            } else if (failure == null) {
+                failure = predicates.get(i).violation(argValues[i], receiverAlgorithm);
+            }
+        }
+        if (failure == null && !unresolved) return verdict;
+
+        String algorithmStatus = verdict.algorithmStatus().startsWith(Status.FORBIDDEN.name()) ? verdict.algorithmStatus()
+                : failure != null ? Status.FORBIDDEN + " (" + failure + ")"
+                : UNRESOLVED;
+        long mask = rule.getPolicyMask() == 0 ? 1L : rule.getPolicyMask();
+        return new Verdict(algorithmStatus, verdict.providerStatus(), verdict.violationMask() | mask);
+    }
+
+    /**
+     * Report value for a rule without an algorithm argument, e.g. {@code key size=1024}.
+     */
+    public static String describeArguments(CryptoRule rule, String[] argValues) {
+        StringBuilder sb = new StringBuilder();
+        List<ArgPredicate> predicates = rule.getArgPredicates();
+        for (int i = 0; i < predicates.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(predicates.get(i).getName()).append('=').append(argValues[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param algorithm the resolved algorithm, or {@code null} when the call has none
+     * @param ruleMask policies of the matched rule; 0 (rules loaded without policies) means
+     *                 the first policy
+     * @param provider the resolved provider, {@code "none"} when the call passes none or
+     *                 {@code "unknown"} when it could not be resolved
+     */
+    public Verdict evaluate(long ruleMask, String algorithm, String provider) {
+        long mask = ruleMask == 0 ? 1L : ruleMask;
+        boolean hasAlgorithm = algorithm != null;
+        boolean resolvedAlgorithm = !UNRESOLVED.equals(algorithm);
+        boolean defaultProvider = "none".equals(provider);
+        boolean knownProvider = !defaultProvider && !"unknown".equals(provider);
+
+        Classification forbidden = null;
+        Classification unknown = null;
+        boolean allApproved = resolvedAlgorithm;
+        boolean anyBadProvider = false;
+        long violations = 0;
+
+        for (int i = 0; i < classifiers.length; i++) {
+            if ((mask & (1L << i)) == 0) continue;
+
+            boolean violated = !resolvedAlgorithm;
+            if (hasAlgorithm && resolvedAlgorithm) {
+                Classification classification = classifiers[i].classify(algorithm);
+                if (classification.status() == Status.FORBIDDEN && forbidden == null) forbidden = classification;
+                if (classification.status() == Status.UNKNOWN && unknown == null) unknown = classification;
+                if (classification.status() != Status.APPROVED) {
+                    allApproved = false;
+                    violated = true;
+                }
+            }
+            if (knownProvider && !classifiers[i].isApprovedProvider(provider)) {
+                anyBadProvider = true;
+                violated = true;
+            }
+            if (violated) violations |= 1L << i;
+        }
+
+        String algorithmStatus = !resolvedAlgorithm ? UNRESOLVED
+                : forbidden != null ? forbidden.toString()
+                : allApproved || !hasAlgorithm ? Status.APPROVED.name()
+                : unknown.toString();
+        String providerStatus = defaultProvider ? "default"
+                : !knownProvider ? "unresolved"
+                : anyBadProvider ? "⚠️ Non-FIPS"
+                : "FIPS";
+        return new Verdict(algorithmStatus, providerStatus, violations);
+    }
+}
@@ -46,23 +46,99 @@ package org.cryptoseclab.fips.rule;
 
 import org.cryptoseclab.fips.model.CryptoRule;
 import org.cryptoseclab.fips.model.CryptoRuleSet;
+import org.cryptoseclab.fips.model.PolicySet;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.LoaderOptions;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public class RuleLoader {
+
+    /**
+     * Rules of several policies, merged so that a rule shared by policies is evaluated once.
+     *
+     * @param fingerprint SHA-256 of the policy names and rules files, identifying the rule set
+     */
+    public record PolicyRules(PolicySet policies, List<CryptoRule> rules, RuleMatcher matcher,
+                              PolicyEvaluator evaluator, String fingerprint) {
+
+        /**
+         * These rules plus {@code extra} ones, evaluated under the same policies.
+         */
+        public PolicyRules with(List<CryptoRule> extra) {
+            if (extra.isEmpty()) return this;
+            List<CryptoRule> all = new ArrayList<>(rules);
+            all.addAll(extra);
+            return new PolicyRules(policies, all, RuleMatcher.compile(all), evaluator, fingerprint);
+        }
+    }
+
+    public static PolicyRules loadPolicies(Map<String, Path> policyFiles) throws RuntimeException {
+        PolicySet policies = new PolicySet(new ArrayList<>(policyFiles.keySet()));
+        Map<String, CryptoRule> merged = new LinkedHashMap<>();
+        List<AlgorithmClassifier> classifiers = new ArrayList<>();
+        MessageDigest fingerprint = sha256();
+        for (Map.Entry<String, Path> policy : policyFiles.entrySet()) {
+            long mask = policies.maskOf(policy.getKey());
+            fingerprint.update((policy.getKey() + "\n").getBytes(StandardCharsets.UTF_8));
+            fingerprint.update(readRules(policy.getValue()));
+            CryptoRuleSet ruleSet = loadRuleSet(policy.getValue());
+            for (CryptoRule rule : ruleSet.getRules()) {
+                merged.computeIfAbsent(mergeKey(rule), k -> rule).addPolicies(mask);
+            }
+            classifiers.add(AlgorithmClassifier.compile(ruleSet.getAlgorithmPolicy()));
+        }
+        List<CryptoRule> rules = new ArrayList<>(merged.values());
+        return new PolicyRules(policies, rules, RuleMatcher.compile(rules), new PolicyEvaluator(classifiers),
+                HexFormat.of().formatHex(fingerprint.digest()));
+    }
+
+    private static byte[] readRules(Path yamlPath) {
+        try {
+            return Files.readAllBytes(yamlPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load YAML rules: " + e.getMessage(), e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String mergeKey(CryptoRule rule) {
+        return rule.getCategory() + "|" + rule.getClassName() + "|" + rule.getMethodName() + "|"
+                + Objects.toString(rule.getDescriptor()) + "|"
+                + rule.getAlgoArgIndex() + "|" + Objects.toString(rule.getProviderArgIndex()) + "|"
+                + rule.isMatchSubtypes() + "|" + rule.getArgPredicates();
+    }
+
     public static List<CryptoRule> load(Path yamlPath) throws RuntimeException {
+        return loadRuleSet(yamlPath).getRules();
+    }
+
+    private static CryptoRuleSet loadRuleSet(Path yamlPath) throws RuntimeException {
         try (InputStream input = Files.newInputStream(yamlPath)) {
             LoaderOptions options = new LoaderOptions();
             options.setAllowDuplicateKeys(false);
             Yaml yaml = new Yaml(new Constructor(CryptoRuleSet.class, options));
-            CryptoRuleSet ruleSet = yaml.load(input);
-            return ruleSet.getRules();
+            return yaml.load(input);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load YAML rules: " + e.getMessage(), e);
         }
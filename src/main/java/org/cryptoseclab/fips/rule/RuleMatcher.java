@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.cryptoseclab.fips.rule;
+
+import org.cryptoseclab.fips.model.ArgPredicate;
+import org.cryptoseclab.fips.model.CryptoRule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * All rule targets compiled into one matcher. Rules with a plain class and method name go
+ * into a hash index; pattern rules (glob or {@code regex:}) are additionally OR-ed into a
+ * single prefilter regex, so a target that matches no pattern is rejected with one regex run.
+ * The rules matching a target are memoized per distinct target, so after the first call site
+ * a target costs one map lookup whether its rules are exact or patterns.
+ * <p>
+ * Glob syntax: in class names {@code *} stays within one package segment and {@code **}
+ * crosses segments; in method names and descriptors {@code *} matches anything. {@code ?}
+ * matches one character.
+ * <p>
+ * Rules also match methods declared in subtypes of their class unless they opt out with
+ * {@code matchSubtypes: false}; callers pass the target's rule-relevant supertypes, which
+ * they compute once per scan.
+ */
+public final class RuleMatcher {
+
+    public static final String REGEX_PREFIX = "regex:";
+
+    private static final CryptoRule[] NONE = new CryptoRule[0];
+    private static final String REGEX_META = "\\.[]{}()+-^$|";
+    private static final Map<String, Pattern> DESCRIPTOR_PATTERNS = new ConcurrentHashMap<>();
+
+    private final Map<String, CryptoRule[]> exactRules;
+    private final Set<String> exactClasses;
+    private final CryptoRule[] patternRules;
+    private final Pattern[] patterns;
+    private final Pattern prefilter;
+    private final Pattern classPrefilter;
+    private final Map<String, CryptoRule[]> memo = new ConcurrentHashMap<>();
+
+    private RuleMatcher(Map<String, CryptoRule[]> exactRules, Set<String> exactClasses, CryptoRule[] patternRules,
+                        Pattern[] patterns, Pattern prefilter, Pattern classPrefilter) {
+        this.exactRules = exactRules;
+        this.exactClasses = exactClasses;
+        this.patternRules = patternRules;
+        this.patterns = patterns;
+        this.prefilter = prefilter;
+        this.classPrefilter = classPrefilter;
+    }
+
+    public static RuleMatcher compile(List<CryptoRule> rules) {
+        Map<String, List<CryptoRule>> exact = new HashMap<>();
+        Set<String> exactClasses = new HashSet<>();
+        List<CryptoRule> patternRules = new ArrayList<>();
+        List<Pattern> patterns = new ArrayList<>();
+        StringBuilder combined = new StringBuilder();
+        StringBuilder combinedClasses = new StringBuilder();
+
+        for (CryptoRule rule : rules) {
+            if (!isPattern(rule.getClassName()) && !isPattern(rule.getMethodName())) {
+                exact.computeIfAbsent(rule.getClassName() + "." + rule.getMethodName(), k -> new ArrayList<>()).add(rule);
+                exactClasses.add(rule.getClassName());
+                continue;
+            }
+            String classRegex = toRegex(rule.getClassName(), true);
+            String regex = classRegex + "\\." + toRegex(rule.getMethodName(), false);
+            patternRules.add(rule);
+            patterns.add(compilePattern(regex, rule));
+            appendAlternative(combined, regex);
+            appendAlternative(combinedClasses, classRegex);
+        }
+
+        Map<String, CryptoRule[]> exactIndex = new HashMap<>();
+        exact.forEach((key, list) -> exactIndex.put(key, list.toArray(NONE)));
+        Pattern prefilter = combined.length() == 0 ? null : Pattern.compile(combined.toString());
+        Pattern classPrefilter = combinedClasses.length() == 0 ? null : Pattern.compile(combinedClasses.toString());
+        return new RuleMatcher(exactIndex, exactClasses, patternRules.toArray(NONE), patterns.toArray(new Pattern[0]),
+                prefilter, classPrefilter);
+    }
+
+    private static void appendAlternative(StringBuilder combined, String regex) {
+        if (combined.length() > 0) combined.append('|');
+        combined.append("(?:").append(regex).append(')');
+    }
+
+    private static Pattern compilePattern(String regex, CryptoRule rule) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid pattern in rule " + rule.getCategory() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rules whose class, method and descriptor patterns match the target and whose
+     * algorithm and predicate arguments exist in its signature.
+     *
+     * @param className  dotted name of the invoked method's class
+     * @param descriptor JVM method descriptor, e.g. {@code (Ljava/lang/String;)Ljava/security/MessageDigest;}
+     */
+    public CryptoRule[] match(String className, String methodName, String descriptor) {
+        String key = className + "." + methodName + descriptor;
+        CryptoRule[] cached = memo.get(key);
+        if (cached != null) return cached;
+        CryptoRule[] result = matchUncached(className, methodName, descriptor);
+        memo.put(key, result);
+        return result;
+    }
+
+    /**
+     * Like {@link #match(String, String, String)}, plus the rules of the given supertypes of
+     * {@code className} that apply to subtypes. Not memoized; callers memoize per target.
+     *
+     * @param supertypes names of supertypes for which {@link #targetsClass} holds
+     */
+    public CryptoRule[] match(String className, String methodName, String descriptor, String[] supertypes) {
+        CryptoRule[] own = match(className, methodName, descriptor);
+        if (supertypes.length == 0) return own;
+
+        List<CryptoRule> matched = new ArrayList<>(List.of(own));
+        for (String supertype : supertypes) {
+            for (CryptoRule rule : match(supertype, methodName, descriptor)) {
+                if (rule.isMatchSubtypes() && !matched.contains(rule)) matched.add(rule);
+            }
+        }
+        return matched.isEmpty() ? NONE : matched.toArray(NONE);
+    }
+
+    /**
+     * Whether any rule names this class, i.e. whether its subtypes need to be tracked.
+     */
+    public boolean targetsClass(String className) {
+        return exactClasses.contains(className)
+                || classPrefilter != null && classPrefilter.matcher(className).matches();
+    }
+
+    private CryptoRule[] matchUncached(String className, String methodName, String descriptor) {
+        String target = className + "." + methodName;
+        CryptoRule[] exact = exactRules.getOrDefault(target, NONE);
+        boolean anyPattern = prefilter != null && prefilter.matcher(target).matches();
+        if (exact.length == 0 && !anyPattern) return NONE;
+
+        int parameterCount = parameterCount(descriptor);
+        List<CryptoRule> matched = new ArrayList<>(1);
+        for (CryptoRule rule : exact) {
+            if (accepts(rule, descriptor, parameterCount)) matched.add(rule);
+        }
+        if (anyPattern) {
+            for (int i = 0; i < patternRules.length; i++) {
+                if (patterns[i].matcher(target).matches() && accepts(patternRules[i], descriptor, parameterCount)) {
+                    matched.add(patternRules[i]);
+                }
+            }
+        }
+        return matched.isEmpty() ? NONE : matched.toArray(NONE);
+    }
+
+    private static boolean accepts(CryptoRule rule, String descriptor, int parameterCount) {
+        if (parameterCount <= rule.getAlgoArgIndex()) return false;
+        for (ArgPredicate predicate : rule.getArgPredicates()) {
+            if (parameterCount <= predicate.getArgIndex()) return false;
+        }
+        String pattern = rule.getDescriptor();
+        return pattern == null || descriptorPattern(pattern).matcher(descriptor).matches();
+    }
+
+    private static Pattern descriptorPattern(String pattern) {
+        return DESCRIPTOR_PATTERNS.computeIfAbsent(pattern, p -> Pattern.compile(toRegex(p, false)));
+    }
+
+    static boolean isPattern(String name) {
+        return name != null && (name.startsWith(REGEX_PREFIX) || name.indexOf('*') >= 0 || name.indexOf('?') >= 0);
+    }
+
+    static String toRegex(String pattern, boolean className) {
+        if (pattern == null) return ".*";
+        if (pattern.startsWith(REGEX_PREFIX)) return pattern.substring(REGEX_PREFIX.length());
+
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*') {
+                boolean doubleStar = i + 1 < pattern.length() && pattern.charAt(i + 1) == '*';
+                if (doubleStar) i++;
+                regex.append(className && !doubleStar ? "[^.]*" : ".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                if (REGEX_META.indexOf(c) >= 0) regex.append('\\');
+                regex.append(c);
+            }
+        }
+        return regex.toString();
+    }
+
+    static int parameterCount(String descriptor) {
+        int count = 0;
+        int i = descriptor.indexOf('(') + 1;
+        while (i < descriptor.length() && descriptor.charAt(i) != ')') {
+            char c = descriptor.charAt(i);
+            while (c == '[') c = descriptor.charAt(++i);
+            if (c == 'L') i = descriptor.indexOf(';', i);
+            i++;
+            count++;
+        }
+        return count;
+    }
+}
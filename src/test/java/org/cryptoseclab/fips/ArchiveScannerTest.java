@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for scanning a Spring Boot jar in place with {@link ArchiveScanner}.
+ */
+class ArchiveScannerTest
+{
+    /**
+     * Tests that application classes and nested jars are both scanned, and that only findings of
+     * a nested jar are labeled with it.
+     */
+    @Test
+    void testBootJar() throws Exception
+    {
+        final var archive = Files.createTempDirectory("archive-scanner").resolve("app.jar");
+        final var lib = jar(Map.of("lib/Util.class", digestClass("lib/Util", "SHA-1")));
+        Files.write(archive, jar(Map.of(
+                "BOOT-INF/classes/app/App.class", digestClass("app/App", "MD5"),
+                "BOOT-INF/lib/util-1.0.jar", lib)));
+        final var rules = RuleLoader.loadPolicies(Map.of("default", Path.of("src/main/resources/fips-rules.yaml")));
+
+        final var result = new ArchiveScanner(rules, AnalysisProfile.CHA, true, 2, null).scan(archive);
+
+        assertEquals(2, result.artifacts().size());
+        assertEquals(2, result.findings().size());
+        assertEquals("MD5", result.findings().get(0).resolvedAlgorithm);
+        assertNull(result.findings().get(0).artifact);
+        assertEquals("SHA-1", result.findings().get(1).resolvedAlgorithm);
+        assertEquals("BOOT-INF/lib/util-1.0.jar", result.findings().get(1).artifact);
+    }
+
+    private static byte[] digestClass(String name, String algorithm)
+    {
+        final var cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        final var mv = cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "digest", "()V", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(algorithm);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/security/MessageDigest", "getInstance",
+                "(Ljava/lang/String;)Ljava/security/MessageDigest;", false);
+        mv.visitInsn(Opcodes.POP);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] jar(Map<String, byte[]> entries) throws IOException
+    {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = new JarOutputStream(bytes))
+        {
+            for (final var entry : entries.entrySet())
+            {
+                out.putNextEntry(new JarEntry(entry.getKey()));
+                out.write(entry.getValue());
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the manifest format of {@link BatchScanner}.
+ */
+class BatchScannerTest
+{
+    /**
+     * Tests comments, explicit labels, relative paths and derived, de-duplicated labels.
+     */
+    @Test
+    void testReadManifest() throws Exception
+    {
+        final var dir = Files.createTempDirectory("batch-manifest");
+        final var manifest = dir.resolve("fleet.txt");
+        Files.writeString(manifest, String.join("\n",
+                "# nightly fleet",
+                "",
+                "billing=/srv/billing/app.jar",
+                "jars/orders-1.4.jar",
+                "/src/payments/target/classes",
+                "/other/orders-1.4.jar"));
+
+        final var targets = BatchScanner.readManifest(manifest);
+
+        assertEquals(List.of("billing", "orders-1.4", "payments", "orders-1.4-2"),
+                targets.stream().map(BatchScanner.Target::label).toList());
+        assertEquals(Path.of("/srv/billing/app.jar"), targets.get(0).path());
+        assertEquals(dir.toAbsolutePath().resolve("jars/orders-1.4.jar"), targets.get(1).path());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips;
+
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles Java sources into a class directory for tests that scan real bytecode.
+ */
+public final class FixtureCompiler
+{
+    private FixtureCompiler()
+    {
+    }
+
+    /**
+     * @param sources source code keyed by fully qualified class name
+     * @return a fresh directory holding the classes, compiled with debug information
+     */
+    public static Path compile(Map<String, String> sources) throws IOException
+    {
+        final var root = Files.createTempDirectory("fixture");
+        final var src = root.resolve("src");
+        final var classes = Files.createDirectories(root.resolve("classes"));
+        final List<String> args = new ArrayList<>(List.of("-g", "--release", "17", "-proc:none", "-d", classes.toString()));
+        for (final var source : sources.entrySet())
+        {
+            final var file = src.resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+            args.add(file.toString());
+        }
+
+        final var errors = new ByteArrayOutputStream();
+        final int status = ToolProvider.getSystemJavaCompiler().run(null, null, errors, args.toArray(new String[0]));
+        if (status != 0)
+        {
+            throw new IllegalStateException("Fixture does not compile:\n" + errors.toString(StandardCharsets.UTF_8));
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.analysis.LibrarySummary;
+import org.cryptoseclab.fips.model.ArgPredicate;
+import org.cryptoseclab.fips.model.CryptoRule;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the entries of {@link LibraryStore} and the rules derived from their summaries.
+ */
+class LibraryStoreTest
+{
+    /**
+     * Tests that findings and summaries survive the round trip and that a damaged entry is a miss.
+     */
+    @Test
+    void testEntryRoundTrip() throws Exception
+    {
+        final var entry = Files.createTempDirectory("library-store").resolve("abc.lib");
+        final var finding = new ScanFinding("Cipher", "lib.CryptoUtil", "javax.crypto.Cipher cipher(java.lang.String)",
+                "unresolved", "parameter not traced", 6, "none", "default", "unresolved", 1L, null, null, false);
+        final var summary = new LibrarySummary("lib.CryptoUtil", "cipher",
+                "(Ljava/lang/String;)Ljavax/crypto/Cipher;", 0, 1, 0);
+
+        LibraryStore.write(entry, new LibraryStore.Library(List.of(finding), List.of(summary)));
+        final var library = LibraryStore.read(entry);
+
+        assertEquals(1, library.findings().size());
+        assertEquals("parameter not traced", library.findings().get(0).resolutionType);
+        assertEquals(List.of(summary), library.summaries());
+
+        Files.write(entry, new byte[]{1, 2, 3});
+        assertNull(LibraryStore.read(entry));
+    }
+
+    /**
+     * Tests that a summary keeps only the rule argument its parameter feeds.
+     */
+    @Test
+    void testDeriveRule()
+    {
+        final var keySize = new ArgPredicate();
+        keySize.setArgIndex(0);
+        keySize.setName("key size");
+        keySize.setMin(2048L);
+        final var rule = new CryptoRule();
+        rule.setCategory("KeySize");
+        rule.setClassName("java.security.KeyPairGenerator");
+        rule.setMethodName("initialize");
+        rule.setAlgoArgIndex(-1);
+        rule.setArgPredicates(List.of(keySize));
+
+        final var derived = new LibrarySummary("lib.CryptoUtil", "rsa", "(I)Ljava/security/KeyPairGenerator;", 0, 0, 0)
+                .derive(List.of(rule));
+
+        assertEquals("lib.CryptoUtil", derived.getClassName());
+        assertEquals(-1, derived.getAlgoArgIndex());
+        assertEquals(1, derived.getArgPredicates().size());
+        assertEquals("key size", derived.getArgPredicates().get(0).getName());
+        assertEquals(2048L, (long) derived.getArgPredicates().get(0).getMin());
+        assertNull(new LibrarySummary("lib.CryptoUtil", "rsa", "(I)V", 0, 0, 1).derive(List.of(rule)));
+    }
+
+    /**
+     * Tests that entries analyzed against a JDK model and against the running JDK are kept apart.
+     */
+    @Test
+    void testDirectoryKeyedByJdkModel() throws Exception
+    {
+        final var root = Files.createTempDirectory("library-store");
+        final var rules = RuleLoader.loadPolicies(Map.of("default", Path.of("src/main/resources/fips-rules.yaml")));
+        final var model = Files.writeString(root.resolve("model.jar"), "model");
+        final var otherModel = Files.writeString(root.resolve("other-model.jar"), "other model");
+
+        final var runtime = new LibraryStore(root, null).directory(rules, AnalysisProfile.CHA);
+        final var modelled = new LibraryStore(root, model).directory(rules, AnalysisProfile.CHA);
+
+        assertTrue(runtime.getFileName().toString().endsWith("-cha-runtime" + Runtime.version().feature()));
+        assertNotEquals(runtime, modelled);
+        assertEquals(modelled, new LibraryStore(root, model).directory(rules, AnalysisProfile.CHA));
+        assertNotEquals(modelled, new LibraryStore(root, otherModel).directory(rules, AnalysisProfile.CHA));
+        assertNotEquals(modelled, new LibraryStore(root, model).directory(rules, AnalysisProfile.SPARK));
+    }
+}
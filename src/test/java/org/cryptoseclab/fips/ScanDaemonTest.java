@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips;
+
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the access restrictions of {@link ScanDaemon}.
+ */
+class ScanDaemonTest
+{
+    /**
+     * Tests that the socket is owner-only, that reports cannot be written outside the report
+     * directory, and that rejected requests do not count as jobs.
+     */
+    @Test
+    void testOwnerOnlySocketAndReportDirectory() throws Exception
+    {
+        final var dir = Files.createTempDirectory("scan-daemon");
+        final var socket = dir.resolve("run").resolve("scan.sock");
+        final var daemon = new ScanDaemon(socket, dir.resolve("reports"), Path.of("rules.yaml"), AnalysisProfile.CHA);
+        final var serving = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        serving.start();
+        try (final var client = connect(socket)) {
+            final var in = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+            final var out = new PrintWriter(Channels.newOutputStream(client), true, StandardCharsets.UTF_8);
+
+            out.println("{command: ping}");
+            assertEquals("{\"status\": \"ok\"}", in.readLine());
+            // The daemon only accepts once the socket is restricted, so check after the first reply
+            assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socket.getParent())));
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socket)));
+            for (final var output : new String[] {"../escaped", dir.resolve("escaped").toString(), "."}) {
+                out.println("{target: " + dir + ", output: '" + output + "'}");
+                final var response = in.readLine();
+                assertTrue(response.contains("output must be inside the report directory"), response);
+            }
+            out.println("{target: " + dir + ", profile: bogus}");
+            assertTrue(in.readLine().contains("\"status\": \"error\""));
+            out.println("{command: stats}");
+            assertTrue(in.readLine().contains("\"jobs\": 0, \"averageJobMillis\": 0"));
+            out.println("{command: shutdown}");
+            assertTrue(in.readLine().contains("\"shutdown\": true"));
+        }
+        serving.join(5_000);
+
+        assertFalse(serving.isAlive());
+        assertFalse(Files.exists(socket));
+        assertFalse(Files.exists(dir.resolve("escaped.json")));
+    }
+
+    /**
+     * Connects once the daemon listens; the socket file appears at bind, before it accepts.
+     */
+    private static SocketChannel connect(Path socket) throws Exception
+    {
+        for (int i = 0; ; i++) {
+            final var client = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                client.connect(UnixDomainSocketAddress.of(socket));
+                return client;
+            } catch (IOException e) {
+                client.close();
+                if (i == 100) throw e;
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    /**
+     * Tests that an existing socket directory other users can enter is refused.
+     */
+    @Test
+    void testSharedSocketDirectoryRefused() throws Exception
+    {
+        final var dir = Files.createTempDirectory("scan-daemon");
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwxr-xr-x"));
+
+        assertThrows(IOException.class, () -> ScanDaemon.ownerOnlyDirectory(dir));
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwx------"));
+        ScanDaemon.ownerOnlyDirectory(dir);
+    }
+}
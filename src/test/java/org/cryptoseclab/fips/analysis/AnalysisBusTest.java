@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.junit.jupiter.api.Test;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.SootMethodRef;
+import soot.Unit;
+import soot.jimple.AssignStmt;
+import soot.jimple.InvokeExpr;
+import soot.jimple.Stmt;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link AnalysisBus}.
+ */
+class AnalysisBusTest
+{
+    private static final String SERVICE = "package demo;\n"
+            + "import java.security.MessageDigest;\n"
+            + "import javax.crypto.Cipher;\n"
+            + "public class Service {\n"
+            + "    static String transformation;\n"
+            + "    static String external;\n"
+            + "    static void configure() { transformation = \"AES/ECB/PKCS5Padding\"; }\n"
+            + "    static void load() { external = System.getProperty(\"digest\"); }\n"
+            + "    static MessageDigest digest(String algorithm) throws Exception {\n"
+            + "        return MessageDigest.getInstance(algorithm);\n"
+            + "    }\n"
+            + "    static Cipher cipher() throws Exception {\n"
+            + "        return Cipher.getInstance(transformation, \"SunJCE\");\n"
+            + "    }\n"
+            + "    static MessageDigest opaque() throws Exception {\n"
+            + "        return MessageDigest.getInstance(external);\n"
+            + "    }\n"
+            + "    public static void main(String[] args) throws Exception {\n"
+            + "        digest(\"SHA-1\");\n"
+            + "        MessageDigest.getInstance(\"SHA-256\");\n"
+            + "        Cipher.getInstance(\"AES/GCM/NoPadding\", \"BCFIPS\");\n"
+            + "        cipher();\n"
+            + "        opaque();\n"
+            + "    }\n"
+            + "}\n";
+
+    /**
+     * Findings of the per-method analyzer the bus replaced, recorded on the same fixture.
+     */
+    private static final List<String> PRE_BUS_FINDINGS = List.of(
+            "Cipher|demo.Service|javax.crypto.Cipher cipher()|13|AES/ECB/PKCS5Padding|field write index|SunJCE|⚠️ Non-FIPS",
+            "Cipher|demo.Service|void main(java.lang.String[])|21|AES/GCM/NoPadding|direct constant|BCFIPS|FIPS",
+            "MessageDigest|demo.Service|java.security.MessageDigest digest(java.lang.String)|10|SHA-1|traced recursively|none|default",
+            "MessageDigest|demo.Service|java.security.MessageDigest opaque()|16|unresolved|parameter not traced|none|default",
+            "MessageDigest|demo.Service|void main(java.lang.String[])|20|SHA-256|direct constant|none|default");
+
+    /**
+     * Tests that a check registered next to the rule check sees every invoke and assign
+     * statement of every application body exactly once, and that the rule check still reports
+     * what the analyzer before the bus reported.
+     */
+    @Test
+    void testSingleTraversal() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Service", SERVICE));
+        final var rules = RuleLoader.loadPolicies(Map.of("default", Path.of("src/main/resources/fips-rules.yaml")));
+        final var context = new SootContext();
+        try
+        {
+            context.call(() -> {
+                new SceneLoader(false).load(List.of(classes.toString()), AnalysisProfile.CHA);
+                CallGraphResolver.build(AnalysisProfile.CHA);
+
+                // Bodies retrieved up front are the ones the bus visits, so statements compare by identity
+                final Map<Stmt, Integer> expectedInvokes = new IdentityHashMap<>();
+                final Map<Stmt, Integer> expectedAssigns = new IdentityHashMap<>();
+                for (SootClass cls : Scene.v().getApplicationClasses())
+                {
+                    for (SootMethod method : cls.getMethods())
+                    {
+                        if (!method.isConcrete()) continue;
+                        for (Unit unit : method.retrieveActiveBody().getUnits())
+                        {
+                            final var stmt = (Stmt) unit;
+                            if (stmt.containsInvokeExpr()) expectedInvokes.put(stmt, 1);
+                            if (stmt instanceof AssignStmt) expectedAssigns.put(stmt, 1);
+                        }
+                    }
+                }
+
+                final var counting = new CountingCheck();
+                final List<ScanFinding> findings = new ArrayList<>();
+                new AnalysisBus()
+                        .register(new RuleCheck(rules.matcher(), rules.evaluator()))
+                        .register(counting)
+                        .run(Scene.v().getCallGraph(), findings::add);
+
+                assertEquals(10, expectedInvokes.size());
+                assertEquals(expectedInvokes, counting.invokes);
+                assertEquals(expectedAssigns, counting.assigns);
+                assertEquals(PRE_BUS_FINDINGS, findings.stream()
+                        .map(f -> String.join("|", f.category, f.className, f.methodName, String.valueOf(f.line),
+                                f.resolvedAlgorithm, f.resolutionType, f.provider, f.providerStatus))
+                        .sorted()
+                        .toList());
+                return null;
+            });
+        }
+        finally
+        {
+            context.release();
+        }
+    }
+
+    private static final class CountingCheck implements StatementCheck
+    {
+        private final Map<Stmt, Integer> invokes = new IdentityHashMap<>();
+        private final Map<Stmt, Integer> assigns = new IdentityHashMap<>();
+
+        @Override
+        public boolean wantsInvoke(SootMethodRef target)
+        {
+            return true;
+        }
+
+        @Override
+        public void visitInvoke(AnalysisContext context, SootMethod method, Stmt stmt, InvokeExpr invoke, FindingSink sink)
+        {
+            invokes.merge(stmt, 1, Integer::sum);
+        }
+
+        @Override
+        public boolean wantsAssignments()
+        {
+            return true;
+        }
+
+        @Override
+        public void visitAssign(AnalysisContext context, SootMethod method, AssignStmt stmt, FindingSink sink)
+        {
+            assigns.merge(stmt, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.junit.jupiter.api.Test;
+import soot.PhaseOptions;
+import soot.options.Options;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link AnalysisProfile}.
+ */
+class AnalysisProfileTest
+{
+    /**
+     * Tests that names parse case-insensitively and unknown names are refused.
+     */
+    @Test
+    void testParse()
+    {
+        assertEquals(AnalysisProfile.CHA, AnalysisProfile.parse("cha"));
+        assertEquals(AnalysisProfile.SPARK, AnalysisProfile.parse(" Spark "));
+        assertThrows(IllegalArgumentException.class, () -> AnalysisProfile.parse("pta"));
+    }
+
+    /**
+     * Tests that each profile switches on only the phase and options it needs, whichever
+     * profile was applied before.
+     */
+    @Test
+    void testApplySetsOnlyItsPhases() throws Exception
+    {
+        final var context = new SootContext();
+        try
+        {
+            context.call(() -> {
+                for (final var previous : AnalysisProfile.values()) {
+                    previous.apply(Options.v());
+                    AnalysisProfile.CHA.apply(Options.v());
+                    assertEquals(List.of(true, false, false, false, true), phases());
+                    AnalysisProfile.RTA.apply(Options.v());
+                    assertEquals(List.of(false, true, true, false, false), phases());
+                    AnalysisProfile.VTA.apply(Options.v());
+                    assertEquals(List.of(false, true, false, true, true), phases());
+                    AnalysisProfile.SPARK.apply(Options.v());
+                    assertEquals(List.of(false, true, false, false, true), phases());
+                }
+                return null;
+            });
+        }
+        finally
+        {
+            context.release();
+        }
+    }
+
+    /**
+     * cg.cha enabled, cg.spark enabled, rta, vta and on-fly-cg.
+     */
+    private static List<Boolean> phases()
+    {
+        final var cha = PhaseOptions.v().getPhaseOptions("cg.cha");
+        final var spark = PhaseOptions.v().getPhaseOptions("cg.spark");
+        return List.of(PhaseOptions.getBoolean(cha, "enabled"), PhaseOptions.getBoolean(spark, "enabled"),
+                PhaseOptions.getBoolean(spark, "rta"), PhaseOptions.getBoolean(spark, "vta"),
+                PhaseOptions.getBoolean(spark, "on-fly-cg"));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.junit.jupiter.api.Test;
+import soot.Scene;
+import soot.SootMethod;
+import soot.Unit;
+import soot.Value;
+import soot.jimple.Stmt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link BodyManager}.
+ */
+class BodyManagerTest
+{
+    private static final String CHAIN = "package demo;\n"
+            + "import java.security.MessageDigest;\n"
+            + "public class Chain {\n"
+            + "    static String configured;\n"
+            + "    String algorithm;\n"
+            + "    static void configure() { configured = \"SHA-1\"; }\n"
+            + "    void setAlgorithm(String algorithm) { this.algorithm = algorithm; }\n"
+            + "    static void fromField() throws Exception { String loaded = configured; fromLocal(loaded); }\n"
+            + "    static void viaParameter(String algorithm) throws Exception { fromParameter(algorithm); }\n"
+            + "    static void caller() throws Exception { viaParameter(\"MD5\"); }\n"
+            + "    static void viaSetter() throws Exception {\n"
+            + "        Chain chain = new Chain();\n"
+            + "        chain.setAlgorithm(\"SHA-384\");\n"
+            + "        chain.fromSetter();\n"
+            + "    }\n"
+            + "    static void fromLocal(String a) throws Exception { MessageDigest.getInstance(a); }\n"
+            + "    static void fromParameter(String b) throws Exception { MessageDigest.getInstance(b); }\n"
+            + "    void fromSetter() throws Exception { MessageDigest.getInstance(algorithm); }\n"
+            + "    public static void main(String[] args) throws Exception {\n"
+            + "        configure();\n"
+            + "        fromField();\n"
+            + "        caller();\n"
+            + "        viaSetter();\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final List<String> SINKS = List.of("fromLocal", "fromParameter", "fromSetter");
+
+    /**
+     * Tests that traces through callers, forwarding methods and setters whose bodies were
+     * released resolve from the kept summaries exactly as they did with every body live,
+     * rather than as methods without a body.
+     */
+    @Test
+    void testTracesThroughReleasedBodies() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Chain", CHAIN));
+        final var context = new SootContext();
+        try
+        {
+            context.call(() -> {
+                new SceneLoader(false).load(List.of(classes.toString()), AnalysisProfile.CHA);
+                CallGraphResolver.build(AnalysisProfile.CHA);
+                final var chain = Scene.v().getSootClass("demo.Chain");
+                final var bodies = new BodyManager();
+                final var tracer = new ValueTracer(Scene.v().getCallGraph(),
+                        FieldWriteIndex.build(Scene.v().getApplicationClasses()), bodies);
+
+                final List<SootMethod> sinks = new ArrayList<>();
+                final List<String> live = new ArrayList<>();
+                for (String name : SINKS)
+                {
+                    final var sink = chain.getMethodByName(name);
+                    sinks.add(sink);
+                    live.add(String.join("|", tracer.resolveConstant(digestArgument(sink), sink)));
+                }
+                assertEquals(List.of("SHA-1|traced recursively", "MD5|traced recursively", "SHA-384|field write index"),
+                        live);
+
+                bodies.start(sinks, chain.getMethods().stream().filter(SootMethod::isConcrete).toList());
+                for (String name : List.of("fromField", "viaParameter", "caller", "setAlgorithm", "viaSetter"))
+                {
+                    assertFalse(chain.getMethodByName(name).hasActiveBody());
+                    assertTrue(bodies.hasBody(chain.getMethodByName(name)));
+                }
+
+                final List<String> released = new ArrayList<>();
+                for (SootMethod sink : sinks)
+                {
+                    released.add(String.join("|", tracer.resolveConstant(digestArgument(sink), sink)));
+                }
+                assertEquals(live, released);
+                assertTrue(bodies.stats().summaryLookups() > 0);
+                return null;
+            });
+        }
+        finally
+        {
+            context.release();
+        }
+    }
+
+    private static Value digestArgument(SootMethod method)
+    {
+        for (Unit unit : method.getActiveBody().getUnits())
+        {
+            final var stmt = (Stmt) unit;
+            if (stmt.containsInvokeExpr() && stmt.getInvokeExpr().getMethod().getName().equals("getInstance"))
+            {
+                return stmt.getInvokeExpr().getArg(0);
+            }
+        }
+        throw new AssertionError("no getInstance call in " + method);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.cryptoseclab.fips.ScanSession;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link BytecodeFastPathAnalyzer}.
+ */
+class BytecodeFastPathAnalyzerTest
+{
+    private static final String CALLS = "package demo;\n"
+            + "import java.security.KeyPairGenerator;\n"
+            + "import java.security.MessageDigest;\n"
+            + "import javax.crypto.Cipher;\n"
+            + "public class Calls {\n"
+            + "    static void direct() throws Exception {\n"
+            + "        MessageDigest.getInstance(\"MD5\");\n"
+            + "        Cipher.getInstance(\"AES/GCM/NoPadding\", \"BCFIPS\");\n"
+            + "    }\n"
+            + "    static void local() throws Exception {\n"
+            + "        String algorithm = \"SHA-256\";\n"
+            + "        MessageDigest.getInstance(algorithm);\n"
+            + "        int bits = 1024;\n"
+            + "        KeyPairGenerator.getInstance(\"RSA\").initialize(bits);\n"
+            + "    }\n"
+            + "    static void fromParameter(String algorithm) throws Exception {\n"
+            + "        MessageDigest.getInstance(algorithm);\n"
+            + "    }\n"
+            + "    static void branches(boolean strong) throws Exception {\n"
+            + "        String algorithm;\n"
+            + "        if (strong) algorithm = \"SHA-512\"; else algorithm = \"SHA-512\";\n"
+            + "        MessageDigest.getInstance(algorithm);\n"
+            + "    }\n"
+            + "    public static void main(String[] args) throws Exception {\n"
+            + "        fromParameter(\"SHA-1\");\n"
+            + "        branches(args.length > 0);\n"
+            + "    }\n"
+            + "}\n";
+
+    /**
+     * Tests that methods with a parameter or several reaching stores as argument are deferred
+     * as a whole, and the rest resolved on the fast path.
+     */
+    @Test
+    void testDefersNonConstantArguments() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Calls", CALLS));
+        final var rules = rules();
+
+        final var result = new BytecodeFastPathAnalyzer(rules.evaluator()).analyze(rules.matcher(), classes);
+
+        assertEquals(Set.of("<demo.Calls: fromParameter(Ljava/lang/String;)V>", "<demo.Calls: branches(Z)V>"),
+                result.deferredMethods());
+        assertEquals(Set.of("void direct()", "void local()"),
+                Set.copyOf(result.findings().stream().map(f -> f.methodName).toList()));
+    }
+
+    /**
+     * Tests that a scan with the fast path reports exactly the findings of a Soot-only scan,
+     * including method, line, resolution and statuses.
+     */
+    @Test
+    void testMatchesSootPath() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Calls", CALLS));
+        final var rules = rules();
+        final List<String> fast;
+        final List<String> soot;
+        try (final var session = new ScanSession(rules, AnalysisProfile.CHA, false))
+        {
+            fast = describe(session.scan(classes.toString(), true).findings());
+            soot = describe(session.scan(classes.toString(), false).findings());
+        }
+        assertEquals(6, soot.size());
+        assertEquals(soot, fast);
+    }
+
+    private static RuleLoader.PolicyRules rules()
+    {
+        return RuleLoader.loadPolicies(Map.of("default", Path.of("src/main/resources/fips-rules.yaml")));
+    }
+
+    private static List<String> describe(List<ScanFinding> findings)
+    {
+        return findings.stream()
+                .map(f -> String.join("|", f.category, f.className, f.methodName, String.valueOf(f.line),
+                        f.resolvedAlgorithm, f.resolutionType, f.provider, f.providerStatus, f.algorithmStatus,
+                        Long.toString(f.policyMask)))
+                .sorted()
+                .toList();
+    }
+}
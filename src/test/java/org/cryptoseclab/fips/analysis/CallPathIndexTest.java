@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.junit.jupiter.api.Test;
+import soot.G;
+import soot.Modifier;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.VoidType;
+import soot.jimple.Jimple;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for the shortest call paths of {@link CallPathIndex}.
+ */
+class CallPathIndexTest
+{
+    /**
+     * Tests that the shorter of two routes is kept, that the depth bound holds and that
+     * findings in one method share its path.
+     */
+    @Test
+    void testShortestSharedPaths()
+    {
+        G.reset();
+        final var app = new SootClass("demo.App", Modifier.PUBLIC);
+        Scene.v().addClass(app);
+        app.setApplicationClass();
+        final var main = method(app, "main");
+        final var handle = method(app, "handle");
+        final var helper = method(app, "helper");
+        final var digest = method(app, "digest");
+        final var deep = method(app, "deep");
+        final var callGraph = new CallGraph();
+        call(callGraph, main, handle);
+        call(callGraph, handle, helper);
+        call(callGraph, helper, digest);
+        call(callGraph, main, digest);
+        call(callGraph, digest, deep);
+
+        final var index = CallPathIndex.build(callGraph, List.of(main), 1);
+        final var findings = index.attach(List.of(finding("void digest()", 3), finding("void digest()", 4),
+                finding("void deep()", 9)));
+
+        assertEquals(List.of("demo.App: void main()", "demo.App: void digest()"), findings.get(0).callPath.methods());
+        assertSame(findings.get(0).callPath, findings.get(1).callPath);
+        assertNull(findings.get(2).callPath);
+        assertEquals(2, index.stats().withPath());
+        assertEquals(3, index.stats().methods());
+    }
+
+    private static SootMethod method(SootClass cls, String name)
+    {
+        final var method = new SootMethod(name, List.of(), VoidType.v(), Modifier.PUBLIC | Modifier.STATIC);
+        cls.addMethod(method);
+        return method;
+    }
+
+    private static void call(CallGraph callGraph, SootMethod caller, SootMethod callee)
+    {
+        callGraph.addEdge(new Edge(caller, Jimple.v().newInvokeStmt(Jimple.v().newStaticInvokeExpr(callee.makeRef())),
+                callee));
+    }
+
+    private static ScanFinding finding(String method, int line)
+    {
+        return new ScanFinding("MessageDigest", "demo.App", method, "MD5", "direct constant", line, "none", "default");
+    }
+}
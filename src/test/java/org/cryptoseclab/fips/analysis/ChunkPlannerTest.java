@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.analysis.ChunkPlanner.ClassEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the package-aligned partition of {@link ChunkPlanner}.
+ */
+class ChunkPlannerTest
+{
+    private static final long KB = 1024;
+
+    /**
+     * Tests that packages stay together when they fit and oversized packages are split.
+     */
+    @Test
+    void testPlanAlongPackages()
+    {
+        // 280 MB budget leaves 24 MB for bytecode, i.e. 1 MB of class files per chunk
+        final var classes = List.of(
+                new ClassEntry("com.acme.a.One", 400 * KB),
+                new ClassEntry("com.acme.a.Two", 400 * KB),
+                new ClassEntry("com.acme.b.Three", 300 * KB),
+                new ClassEntry("com.acme.c.Big1", 700 * KB),
+                new ClassEntry("com.acme.c.Big2", 700 * KB));
+
+        final var chunks = ChunkPlanner.plan(classes, 280);
+
+        assertEquals(3, chunks.size());
+        assertEquals(List.of("com.acme.a.One", "com.acme.a.Two"),
+                chunks.get(0).classes().stream().map(ClassEntry::name).toList());
+        assertEquals(List.of("com.acme.b.Three", "com.acme.c.Big1"),
+                chunks.get(1).classes().stream().map(ClassEntry::name).toList());
+        assertEquals(List.of("com.acme.c.Big2"),
+                chunks.get(2).classes().stream().map(ClassEntry::name).toList());
+        assertEquals(279, chunks.get(1).estimatedMb());
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.cryptoseclab.fips.ScanPipeline;
+import org.cryptoseclab.fips.ScanWatcher;
+import org.cryptoseclab.fips.model.FindingStore;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.junit.jupiter.api.Test;
+import soot.Scene;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ClassDependencies} and the watch-mode rebuild it drives.
+ */
+class ClassDependenciesTest
+{
+    private static final String APP = "package demo;\n"
+            + "public class App {\n"
+            + "    public static void main(String[] args) throws Exception {\n"
+            + "        Config.init();\n"
+            + "        Reader.read();\n"
+            + "        Legacy.run();\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String APP_WITHOUT_LEGACY = "package demo;\n"
+            + "public class App {\n"
+            + "    public static void main(String[] args) throws Exception {\n"
+            + "        Config.init();\n"
+            + "        Reader.read();\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String HASHER = "package demo;\n"
+            + "public class Hasher {\n"
+            + "    static Object hash(String algorithm) throws Exception { return Digests.of(algorithm); }\n"
+            + "}\n";
+
+    private static final String DIGESTS = "package demo;\n"
+            + "import java.security.MessageDigest;\n"
+            + "public class Digests {\n"
+            + "    static MessageDigest of(String algorithm) throws Exception { return MessageDigest.getInstance(algorithm); }\n"
+            + "}\n";
+
+    private static final String SETTINGS = "package demo;\n"
+            + "public class Settings {\n"
+            + "    static String transformation;\n"
+            + "}\n";
+
+    private static final String CONFIG = "package demo;\n"
+            + "public class Config {\n"
+            + "    static void init() { Settings.transformation = \"DES/CBC/PKCS5Padding\"; }\n"
+            + "}\n";
+
+    private static final String READER = "package demo;\n"
+            + "import javax.crypto.Cipher;\n"
+            + "public class Reader {\n"
+            + "    static Cipher read() throws Exception { return Cipher.getInstance(Settings.transformation); }\n"
+            + "}\n";
+
+    private static final String LEGACY = "package demo;\n"
+            + "import java.security.MessageDigest;\n"
+            + "public class Legacy {\n"
+            + "    static void run() throws Exception {\n"
+            + "        Hasher.hash(\"SHA-1\");\n"
+            + "        MessageDigest.getInstance(\"MD2\");\n"
+            + "    }\n"
+            + "}\n";
+
+    private record Build(ClassDependencies dependencies, FindingStore findings)
+    {
+    }
+
+    /**
+     * Tests that a changed caller re-analyzes its transitive callees, whose call sites are
+     * resolved by tracing their parameters back to the caller's arguments, and that a callee
+     * does not affect its callers.
+     */
+    @Test
+    void testCallEdges() throws Exception
+    {
+        final var dependencies = build(sources(APP)).dependencies();
+
+        assertEquals(Set.of("demo.Legacy", "demo.Hasher", "demo.Digests"), dependencies.affectedBy(Set.of("demo.Legacy")));
+        assertEquals(Set.of("demo.Hasher", "demo.Digests"), dependencies.affectedBy(Set.of("demo.Hasher")));
+        assertEquals(Set.of("demo.Digests"), dependencies.affectedBy(Set.of("demo.Digests")));
+    }
+
+    /**
+     * Tests that a class writing a field re-analyzes the readers of the field, and not the other way round.
+     */
+    @Test
+    void testFieldWriters() throws Exception
+    {
+        final var dependencies = build(sources(APP)).dependencies();
+
+        assertEquals(Set.of("demo.Config", "demo.Reader"), dependencies.affectedBy(Set.of("demo.Config")));
+        assertEquals(Set.of("demo.Reader"), dependencies.affectedBy(Set.of("demo.Reader")));
+    }
+
+    /**
+     * Tests that deleting a class drops its findings and re-analyzes the callees it used to
+     * reach, which only the dependencies of the previous build still know about.
+     */
+    @Test
+    void testDeletedClass() throws Exception
+    {
+        final var before = build(sources(APP));
+        assertEquals(Set.of("MD2"), algorithms(before.findings(), "demo.Legacy"));
+        assertEquals(Set.of("SHA-1"), algorithms(before.findings(), "demo.Digests"));
+
+        final var sources = sources(APP_WITHOUT_LEGACY);
+        sources.remove("demo.Legacy");
+        final var after = build(sources);
+        final var changed = Set.of("demo.App", "demo.Legacy");
+        assertFalse(after.dependencies().affectedBy(changed).contains("demo.Digests"));
+
+        // What ScanWatcher does: the edges of both builds, then only the affected classes are analyzed again
+        final var affected = new HashSet<>(before.dependencies().affectedBy(changed));
+        affected.addAll(after.dependencies().affectedBy(changed));
+        assertTrue(affected.contains("demo.Digests"));
+        final var fresh = new FindingStore();
+        after.findings().asList().stream().filter(f -> affected.contains(f.className)).forEach(fresh::add);
+        final var rebuilt = ScanWatcher.replace(before.findings(), affected, fresh);
+
+        assertEquals(Set.of(), algorithms(rebuilt, "demo.Legacy"));
+        assertFalse(algorithms(rebuilt, "demo.Digests").contains("SHA-1"));
+        assertEquals(describe(after.findings()), describe(rebuilt));
+    }
+
+    private static Map<String, String> sources(String app)
+    {
+        final var sources = new HashMap<String, String>();
+        sources.put("demo.App", app);
+        sources.put("demo.Hasher", HASHER);
+        sources.put("demo.Digests", DIGESTS);
+        sources.put("demo.Settings", SETTINGS);
+        sources.put("demo.Config", CONFIG);
+        sources.put("demo.Reader", READER);
+        sources.put("demo.Legacy", LEGACY);
+        return sources;
+    }
+
+    private static Build build(Map<String, String> sources) throws Exception
+    {
+        final var classes = FixtureCompiler.compile(sources);
+        final var rules = RuleLoader.loadPolicies(Map.of("default", Path.of("src/main/resources/fips-rules.yaml")));
+        final var findings = new FindingStore();
+        final var dependencies = new ClassDependencies[1];
+        final var context = new SootContext();
+        try
+        {
+            context.call(() -> new ScanPipeline(new SceneLoader(false)).scanWithSoot(classes.toString(), rules,
+                    AnalysisProfile.CHA, callGraph -> {
+                        dependencies[0] = ClassDependencies.build(Scene.v().getApplicationClasses(), callGraph);
+                        return null;
+                    }, findings::add));
+        }
+        finally
+        {
+            context.release();
+        }
+        return new Build(dependencies[0], findings);
+    }
+
+    private static List<String> describe(FindingStore findings)
+    {
+        return findings.asList().stream()
+                .map(f -> f.className + " " + f.methodName + ":" + f.line + " " + f.resolvedAlgorithm)
+                .sorted()
+                .toList();
+    }
+
+    private static Set<String> algorithms(FindingStore findings, String className)
+    {
+        final var algorithms = new HashSet<String>();
+        for (final ScanFinding finding : findings.asList(findings.rows(FindingStore.Column.CLASS, className))) {
+            algorithms.add(finding.resolvedAlgorithm);
+        }
+        return algorithms;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.cryptoseclab.fips.ScanSession;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.rule.PolicyEvaluator;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.junit.jupiter.api.Test;
+import soot.Scene;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link FieldWriteIndex} and the field resolution it backs.
+ */
+class FieldWriteIndexTest
+{
+    private static final String HOLDER = "package demo;\n"
+            + "import javax.crypto.Cipher;\n"
+            + "public class Holder {\n"
+            + "    private final String transformation;\n"
+            + "    static String configured;\n"
+            + "    static String opaque;\n"
+            + "    Holder() { transformation = \"DES/CBC/PKCS5Padding\"; }\n"
+            + "    static void configure() { configured = \"AES/GCM/NoPadding\"; }\n"
+            + "    static void load() { opaque = System.getProperty(\"cipher\"); }\n"
+            + "    Cipher fromConstructor() throws Exception { return Cipher.getInstance(transformation); }\n"
+            + "    static Cipher fromMethod() throws Exception { return Cipher.getInstance(configured); }\n"
+            + "    static Cipher fromOpaque() throws Exception { return Cipher.getInstance(opaque); }\n"
+            + "}\n";
+
+    /**
+     * Tests that constant writes from a constructor and another method are indexed per field
+     * and that a write of an untraceable value is recorded as opaque.
+     */
+    @Test
+    void testIndexesWrites() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Holder", HOLDER));
+        final var context = new SootContext();
+        try
+        {
+            context.call(() -> {
+                new SceneLoader(false).load(List.of(classes.toString()), AnalysisProfile.CHA);
+                final var index = FieldWriteIndex.build(Scene.v().getApplicationClasses());
+                final var holder = Scene.v().getSootClass("demo.Holder");
+
+                assertEquals("DES/CBC/PKCS5Padding", index.uniqueConstant(holder.getFieldByName("transformation")));
+                assertEquals("AES/GCM/NoPadding", index.uniqueConstant(holder.getFieldByName("configured")));
+                assertTrue(index.hasOpaqueWrites(holder.getFieldByName("opaque")));
+                assertNull(index.uniqueConstant(holder.getFieldByName("opaque")));
+                assertFalse(index.hasOpaqueWrites(holder.getFieldByName("configured")));
+                assertEquals(3, index.size());
+                return null;
+            });
+        }
+        finally
+        {
+            context.release();
+        }
+    }
+
+    /**
+     * Tests that a scan resolves fields passed to {@code Cipher.getInstance} through their writes
+     * and reports an opaquely written field as unresolved.
+     */
+    @Test
+    void testResolvesFieldArguments() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Holder", HOLDER));
+        final var rules = RuleLoader.loadPolicies(Map.of("default", Path.of("src/main/resources/fips-rules.yaml")));
+        try (final var session = new ScanSession(rules, AnalysisProfile.CHA, false))
+        {
+            final var findings = session.scan(classes.toString(), false).findings();
+
+            final var fromConstructor = finding(findings, "fromConstructor");
+            assertEquals("DES/CBC/PKCS5Padding", fromConstructor.resolvedAlgorithm);
+            assertTrue(fromConstructor.algorithmStatus.startsWith("FORBIDDEN"));
+
+            final var fromMethod = finding(findings, "fromMethod");
+            assertEquals("AES/GCM/NoPadding", fromMethod.resolvedAlgorithm);
+            assertEquals("APPROVED", fromMethod.algorithmStatus);
+
+            assertEquals(PolicyEvaluator.UNRESOLVED, finding(findings, "fromOpaque").algorithmStatus);
+        }
+    }
+
+    private static ScanFinding finding(List<ScanFinding> findings, String methodName)
+    {
+        final var matching = findings.stream().filter(f -> f.methodName.contains(" " + methodName + "(")).toList();
+        assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.junit.jupiter.api.Test;
+import soot.ArrayType;
+import soot.BooleanType;
+import soot.IntType;
+import soot.NullType;
+import soot.RefType;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Type;
+import soot.Unit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the body codec, the hierarchy stamp, the type names and the statistics of {@link IrCache}.
+ */
+class IrCacheTest
+{
+    private static final String BASE = "package demo;\n"
+            + "public class Base {\n"
+            + "    protected String algorithm = \"AES\";\n"
+            + "}\n";
+
+    private static final String MOVED_BASE = "package demo;\n"
+            + "public class Base extends java.util.Random {\n"
+            + "    protected String algorithm = \"AES\";\n"
+            + "}\n";
+
+    private static final String SERVICE = "package demo;\n"
+            + "import javax.crypto.Cipher;\n"
+            + "import java.security.MessageDigest;\n"
+            + "public class Service extends Base implements Runnable {\n"
+            + "    private static final long SEED = 0x1234_5678_9abcL;\n"
+            + "    private final Object lock = new Object();\n"
+            + "    private int[][] grid = new int[3][4];\n"
+            + "    public void run() {\n"
+            + "        synchronized (lock) { grid[1][2] += (int) (SEED >>> 3); }\n"
+            + "    }\n"
+            + "    String mode(int kind) {\n"
+            + "        switch (kind) {\n"
+            + "            case 0: return \"GCM\";\n"
+            + "            case 1: return \"CBC\";\n"
+            + "            case 2: return \"CTR\";\n"
+            + "            default: return \"ECB\";\n"
+            + "        }\n"
+            + "    }\n"
+            + "    int sparse(int code) {\n"
+            + "        switch (code) {\n"
+            + "            case -7: return 1;\n"
+            + "            case 100: return 2;\n"
+            + "            case 10000: return 3;\n"
+            + "            default: return 0;\n"
+            + "        }\n"
+            + "    }\n"
+            + "    Cipher cipher(int kind) throws Exception {\n"
+            + "        try {\n"
+            + "            return Cipher.getInstance(algorithm + \"/\" + mode(kind) + \"/NoPadding\");\n"
+            + "        } catch (java.security.NoSuchAlgorithmException e) {\n"
+            + "            throw new IllegalStateException(e);\n"
+            + "        } finally {\n"
+            + "            run();\n"
+            + "        }\n"
+            + "    }\n"
+            + "    double mix(Object value, float scale, double offset) {\n"
+            + "        double total = offset;\n"
+            + "        for (int i = 0; i < grid.length; i++) total += grid[i].length * scale - i;\n"
+            + "        if (value instanceof String && !((String) value).isEmpty()) total /= -2.5;\n"
+            + "        return value == null ? Double.NaN : total % 7 + Service.class.getName().length();\n"
+            + "    }\n"
+            + "    public static void main(String[] args) throws Exception {\n"
+            + "        Service service = new Service();\n"
+            + "        service.cipher(args.length);\n"
+            + "        service.mix(args, 1.5f, service.sparse(args.length));\n"
+            + "        MessageDigest.getInstance(\"SHA-256\").digest(new byte[] {1, 2, 3});\n"
+            + "    }\n"
+            + "}\n";
+
+    private record Run(IrCache.Stats stats, Map<String, String> bodies)
+    {
+    }
+
+    /**
+     * Tests that bodies rebuilt from the cache into a fresh Scene print the same Jimple, with
+     * the same line numbers, as the bodies {@code jb} built from the bytecode.
+     */
+    @Test
+    void testRoundTripIntoFreshScene() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Base", BASE, "demo.Service", SERVICE));
+        final var cache = new IrCache(classes.getParent().resolve("ir-cache"));
+
+        final var built = scan(classes, cache);
+        assertEquals(new IrCache.Stats(0, 2, 2, 0, 0), zeroTimes(built.stats()));
+
+        final var rebuilt = scan(classes, cache);
+        assertEquals(new IrCache.Stats(2, 0, 0, 0, 0), zeroTimes(rebuilt.stats()));
+        assertEquals(built.bodies().keySet(), rebuilt.bodies().keySet());
+        assertTrue(built.bodies().containsKey("<demo.Service: javax.crypto.Cipher cipher(int)>"));
+        for (final var method : built.bodies().keySet())
+        {
+            assertEquals(built.bodies().get(method), rebuilt.bodies().get(method), method);
+        }
+    }
+
+    /**
+     * Tests that an unchanged class misses once a superclass it mentions changes its own
+     * supertypes, since {@code jb} might then type its locals differently.
+     */
+    @Test
+    void testSuperclassChangeInvalidatesEntry() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Base", BASE, "demo.Service", SERVICE));
+        final var moved = FixtureCompiler.compile(Map.of("demo.Base", MOVED_BASE, "demo.Service", SERVICE));
+        final var service = Path.of("demo", "Service.class");
+        assertEquals(-1L, Files.mismatch(classes.resolve(service), moved.resolve(service)));
+        final var cache = new IrCache(classes.getParent().resolve("ir-cache"));
+
+        scan(classes, cache);
+        final var stale = scan(moved, cache);
+        assertEquals(new IrCache.Stats(0, 2, 2, 0, 0), zeroTimes(stale.stats()));
+
+        final var rescan = scan(moved, cache);
+        assertEquals(new IrCache.Stats(2, 0, 0, 0, 0), zeroTimes(rescan.stats()));
+        assertFalse(rescan.bodies().isEmpty());
+    }
+
+    /**
+     * Loads {@code classes} into a Scene of its own and builds the application bodies through
+     * {@code cache}; returns its statistics and each body with the line of every statement.
+     */
+    private static Run scan(Path classes, IrCache cache)
+    {
+        final var context = new SootContext();
+        try
+        {
+            return context.call(() -> {
+                new SceneLoader(false).load(List.of(classes.toString()), AnalysisProfile.CHA);
+                final var irScan = cache.begin(List.of(classes.toString()));
+                CallGraphResolver.build(AnalysisProfile.CHA, irScan);
+
+                final Map<String, String> bodies = new TreeMap<>();
+                for (SootClass cls : Scene.v().getApplicationClasses())
+                {
+                    for (SootMethod method : cls.getMethods())
+                    {
+                        if (!method.hasActiveBody())
+                        {
+                            continue;
+                        }
+                        final var body = method.getActiveBody();
+                        final var text = new StringBuilder(body.toString());
+                        for (Unit unit : body.getUnits())
+                        {
+                            text.append('\n').append(unit.getJavaSourceStartLineNumber()).append(": ").append(unit);
+                        }
+                        bodies.put(method.getSignature(), text.toString());
+                    }
+                }
+                return new Run(irScan.stats(), bodies);
+            });
+        }
+        finally
+        {
+            context.release();
+        }
+    }
+
+    private static IrCache.Stats zeroTimes(IrCache.Stats stats)
+    {
+        return new IrCache.Stats(stats.hits(), stats.misses(), stats.stored(), 0, 0);
+    }
+    /**
+     * Tests that every kind of type survives the round trip through its name.
+     */
+    @Test
+    void testParseTypeRoundTrip()
+    {
+        final List<Type> types = List.of(IntType.v(), BooleanType.v(), NullType.v(),
+                RefType.v("javax.crypto.Cipher"), RefType.v("demo.Outer$Inner"),
+                ArrayType.v(IntType.v(), 1), ArrayType.v(RefType.v("java.lang.String"), 3));
+
+        for (final var type : types)
+        {
+            assertEquals(type, IrCache.parseType(type.toString()));
+        }
+    }
+
+    /**
+     * Tests the hit rate and saved time reported after a scan.
+     */
+    @Test
+    void testStatsDescribe()
+    {
+        final var stats = new IrCache.Stats(3, 1, 1, 40, 900);
+
+        assertEquals("IR cache 3/4 classes hit (75%), 1 stored, rebuilt in 40 ms, ~900 ms saved", stats.describe());
+    }
+}
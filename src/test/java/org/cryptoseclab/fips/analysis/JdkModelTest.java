@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the stub classes and manifest written by {@link JdkModel}.
+ */
+class JdkModelTest
+{
+    /**
+     * Tests that the model holds the JCA entry points and their supertypes, without private members.
+     */
+    @Test
+    void testBuild() throws Exception
+    {
+        final var jar = Files.createTempDirectory("jdk-model").resolve("model.jar");
+
+        final var stats = JdkModel.build(jar, List.of());
+
+        assertTrue(stats.entryPoints().contains("javax.crypto.Cipher"));
+        assertTrue(stats.entryPoints().contains("java.security.MessageDigest"));
+        final var manifest = JdkModel.manifest(jar);
+        assertEquals(System.getProperty("java.version"), manifest.getProperty("java.version"));
+        assertEquals(String.valueOf(stats.classes()), manifest.getProperty("classes"));
+
+        try (final var zip = new ZipFile(jar.toFile()))
+        {
+            assertNotNull(zip.getEntry("java/security/MessageDigestSpi.class"));
+            final var methods = new ArrayList<String>();
+            new ClassReader(zip.getInputStream(zip.getEntry("javax/crypto/Cipher.class"))).accept(new ClassVisitor(Opcodes.ASM9)
+            {
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                                 String[] exceptions)
+                {
+                    assertEquals(0, access & Opcodes.ACC_PRIVATE);
+                    methods.add(name + descriptor);
+                    return null;
+                }
+            }, 0);
+            assertTrue(methods.contains("getInstance(Ljava/lang/String;)Ljavax/crypto/Cipher;"));
+            assertFalse(methods.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.cryptoseclab.fips.report.FindingDiff;
+import org.junit.jupiter.api.Test;
+import soot.ArrayType;
+import soot.G;
+import soot.Modifier;
+import soot.RefType;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Type;
+import soot.VoidType;
+import soot.jimple.Jimple;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+import soot.tagkit.AnnotationConstants;
+import soot.tagkit.AnnotationTag;
+import soot.tagkit.VisibilityAnnotationTag;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the entry points and the reachable-method bitset of {@link ReachabilityFilter}.
+ */
+class ReachabilityFilterTest
+{
+    /**
+     * Tests that entry points are picked by kind and that only methods called from them are reachable.
+     */
+    @Test
+    void testReachableFromEntryPoints()
+    {
+        G.reset();
+        final var app = new SootClass("demo.App", Modifier.PUBLIC);
+        Scene.v().addClass(app);
+        final var main = method(app, "main", Modifier.PUBLIC | Modifier.STATIC,
+                List.of(ArrayType.v(RefType.v("java.lang.String"), 1)));
+        final var handler = method(app, "hash", Modifier.PUBLIC, List.of());
+        final var helper = method(app, "helper", Modifier.STATIC, List.of());
+        final var dead = method(app, "dead", Modifier.STATIC, List.of());
+        final var tag = new VisibilityAnnotationTag(AnnotationConstants.RUNTIME_VISIBLE);
+        tag.addAnnotation(new AnnotationTag("Lorg/springframework/web/bind/annotation/GetMapping;"));
+        handler.addTag(tag);
+        final var callGraph = new CallGraph();
+        callGraph.addEdge(new Edge(main, Jimple.v().newInvokeStmt(Jimple.v().newStaticInvokeExpr(helper.makeRef())), helper));
+
+        final var mainOnly = ReachabilityFilter.parse("main", false);
+        final var handlers = ReachabilityFilter.parse("handlers, public-api", true);
+
+        assertEquals(List.of(main), mainOnly.entryPointsOf(List.of(app)));
+        assertEquals(List.of(main, handler), handlers.entryPointsOf(List.of(app)));
+        assertEquals(Set.of(ReachabilityFilter.EntryKind.HANDLERS, ReachabilityFilter.EntryKind.PUBLIC_API),
+                handlers.entryPoints());
+        final var reachable = ReachabilityFilter.reachable(callGraph, List.of(main), List.of(main, handler, helper, dead));
+        assertTrue(reachable.get(0));
+        assertFalse(reachable.get(1));
+        assertTrue(reachable.get(2));
+        assertFalse(reachable.get(3));
+    }
+
+    /**
+     * Tests the summary for skipped and for tagged call sites.
+     */
+    @Test
+    void testStatsDescribe()
+    {
+        assertEquals("reachability: 2 entry points, 6/21 methods reachable in 1 ms | 8 call sites skipped,"
+                + " ~15 ms tracing saved", new ReachabilityFilter.Stats(2, 21, 6, 8, 15, 0, 0, 1).describe());
+        assertEquals("reachability: 2 entry points, 6/21 methods reachable in 1 ms | 8 findings tagged unreachable,"
+                + " 63 ms spent on unreachable code", new ReachabilityFilter.Stats(2, 21, 6, 0, 0, 8, 63, 1).describe());
+    }
+
+    /**
+     * Tests that tagging flags the finding and leaves its resolution, and so its fingerprint, as traced.
+     */
+    @Test
+    void testTagKeepsResolution()
+    {
+        final var untraced = new ScanFinding("Cipher", "demo.App", "void dead()", "DES", null, 3, "none", "default");
+        final var traced = new ScanFinding("Cipher", "demo.App", "void dead()", "DES", "direct constant", 3, "none",
+                "default");
+
+        final var tagged = ReachabilityFilter.tag(untraced);
+        assertTrue(tagged.unreachable);
+        assertNull(tagged.resolutionType);
+        assertFalse(untraced.unreachable);
+        assertEquals("direct constant", ReachabilityFilter.tag(traced).resolutionType);
+        assertEquals(FindingDiff.fingerprint(traced), FindingDiff.fingerprint(ReachabilityFilter.tag(traced)));
+    }
+
+    private static SootMethod method(SootClass cls, String name, int modifiers, List<Type> parameters)
+    {
+        final var method = new SootMethod(name, parameters, VoidType.v(), modifiers);
+        cls.addMethod(method);
+        return method;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.cryptoseclab.fips.ScanSession;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the argument predicates {@link RuleCheck} and the fast path evaluate.
+ */
+class RuleCheckTest
+{
+    private static final String KEYS = "package demo;\n"
+            + "import java.security.KeyPairGenerator;\n"
+            + "import java.security.KeyStore;\n"
+            + "import javax.crypto.spec.PBEKeySpec;\n"
+            + "public class Keys {\n"
+            + "    static KeyPairGenerator shared;\n"
+            + "    static void ec() throws Exception {\n"
+            + "        KeyPairGenerator.getInstance(\"EC\").initialize(256);\n"
+            + "    }\n"
+            + "    static void rsa() throws Exception {\n"
+            + "        KeyPairGenerator generator = KeyPairGenerator.getInstance(\"RSA\");\n"
+            + "        generator.initialize(1024);\n"
+            + "    }\n"
+            + "    static void untraced() throws Exception {\n"
+            + "        shared.initialize(256);\n"
+            + "    }\n"
+            + "    static void pbe(char[] password, byte[] salt) throws Exception {\n"
+            + "        new PBEKeySpec(password, salt, 500, 256);\n"
+            + "        KeyStore.getInstance(\"JKS\");\n"
+            + "    }\n"
+            + "}\n";
+
+    /**
+     * Tests key sizes checked against the generator's algorithm, the default minimum for a
+     * generator whose algorithm is not traced, and integral and string predicates, with and
+     * without the fast path. The fast path leaves only the untraced generator to Soot.
+     */
+    @Test
+    void testArgumentPredicates() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(Map.of("demo.Keys", KEYS));
+        final var rules = RuleLoader.loadPolicies(Map.of("default", Path.of("src/main/resources/fips-rules.yaml")));
+        final var expected = List.of(
+                "void ec()|key size=256|APPROVED",
+                "void pbe(char[],byte[])|iteration count=500, key length=256|FORBIDDEN (iteration count 500 below 1000)",
+                "void pbe(char[],byte[])|keystore type=JKS|FORBIDDEN (keystore type JKS not in [PKCS12, PKCS11, BCFKS])",
+                "void rsa()|key size=1024|FORBIDDEN (key size 1024 below 2048)",
+                "void untraced()|key size=256|FORBIDDEN (key size 256 below 2048)");
+        assertEquals(Set.of("<demo.Keys: untraced()V>"), new BytecodeFastPathAnalyzer(rules.evaluator())
+                .analyze(rules.matcher(), classes).deferredMethods());
+        try (final var session = new ScanSession(rules, AnalysisProfile.CHA, false))
+        {
+            for (boolean fastPath : new boolean[]{true, false})
+            {
+                assertEquals(expected, session.scan(classes.toString(), fastPath).findings().stream()
+                        .map(f -> f.methodName + "|" + f.resolvedAlgorithm + "|" + f.algorithmStatus)
+                        .sorted()
+                        .toList());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.junit.jupiter.api.Test;
+import soot.Scene;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for running scans in separate {@link SootContext}s at the same time.
+ */
+class SootContextTest
+{
+    /**
+     * Tests that two contexts building their field write indexes at once, on the common pool,
+     * each index the fields of their own Scene.
+     */
+    @Test
+    void testConcurrentFieldWriteIndexes() throws Exception
+    {
+        final var md5 = config("MD5");
+        final var sha = config("SHA-256");
+        final var barrier = new CyclicBarrier(2);
+        final ExecutorService threads = Executors.newFixedThreadPool(2);
+        try
+        {
+            for (int round = 0; round < 3; round++)
+            {
+                final Future<String> first = threads.submit(() -> indexedAlgorithm(md5, barrier));
+                final Future<String> second = threads.submit(() -> indexedAlgorithm(sha, barrier));
+                assertEquals("MD5", first.get());
+                assertEquals("SHA-256", second.get());
+            }
+        }
+        finally
+        {
+            threads.shutdown();
+        }
+    }
+
+    private static String indexedAlgorithm(Path classes, CyclicBarrier barrier)
+    {
+        final var context = new SootContext();
+        try
+        {
+            return context.call(() -> {
+                new SceneLoader(false).load(List.of(classes.toString()), AnalysisProfile.CHA);
+                try
+                {
+                    barrier.await();
+                }
+                catch (Exception e)
+                {
+                    throw new IllegalStateException(e);
+                }
+                final var index = FieldWriteIndex.build(Scene.v().getApplicationClasses());
+                return index.uniqueConstant(Scene.v().getSootClass("demo.Config").getFieldByName("algorithm"));
+            });
+        }
+        finally
+        {
+            context.release();
+        }
+    }
+
+    private static Path config(String algorithm) throws Exception
+    {
+        final var methods = new StringBuilder();
+        for (int i = 0; i < 32; i++)
+        {
+            methods.append("    static int m").append(i).append("(int x) { return x * ").append(i).append("; }\n");
+        }
+        return FixtureCompiler.compile(Map.of("demo.Config", "package demo;\n"
+                + "public class Config {\n"
+                + "    static String algorithm = \"" + algorithm + "\";\n"
+                + methods
+                + "}\n"));
+    }
+}
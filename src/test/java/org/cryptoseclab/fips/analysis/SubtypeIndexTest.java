@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.analysis;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.cryptoseclab.fips.ScanSession;
+import org.cryptoseclab.fips.rule.RuleLoader;
+import org.junit.jupiter.api.Test;
+import soot.Scene;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link SubtypeIndex} and rules matched through subtypes.
+ */
+class SubtypeIndexTest
+{
+    private static final Map<String, String> SOURCES = Map.of(
+            "demo.MyDigest", "package demo;\n"
+                    + "public abstract class MyDigest extends java.security.MessageDigest {\n"
+                    + "    protected MyDigest() { super(\"SHA-256\"); }\n"
+                    + "    static java.security.MessageDigest viaSubclass() throws Exception {\n"
+                    + "        return MyDigest.getInstance(\"MD5\");\n"
+                    + "    }\n"
+                    + "}\n",
+            "demo.PinningTrustManager", "package demo;\n"
+                    + "import java.security.cert.X509Certificate;\n"
+                    + "public class PinningTrustManager implements javax.net.ssl.X509TrustManager {\n"
+                    + "    public void checkClientTrusted(X509Certificate[] chain, String authType) { }\n"
+                    + "    public void checkServerTrusted(X509Certificate[] chain, String authType) { }\n"
+                    + "    public X509Certificate[] getAcceptedIssuers() { return null; }\n"
+                    + "    static void viaInterface(PinningTrustManager trustManager) throws Exception {\n"
+                    + "        trustManager.checkServerTrusted(null, \"RSA\");\n"
+                    + "    }\n"
+                    + "}\n");
+
+    /**
+     * Tests that the index records user subclasses and implementers of rule classes only.
+     */
+    @Test
+    void testRuleSupertypes() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(SOURCES);
+        final var matcher = rules(classes, true).matcher();
+        final var context = new SootContext();
+        try
+        {
+            context.call(() -> {
+                new SceneLoader(false).load(List.of(classes.toString()), AnalysisProfile.CHA);
+                final var index = SubtypeIndex.build(Scene.v().getClasses(), matcher);
+
+                assertEquals(List.of("java.security.MessageDigest"),
+                        List.of(index.ruleSupertypes(Scene.v().getSootClass("demo.MyDigest"))));
+                assertEquals(List.of("javax.net.ssl.X509TrustManager"),
+                        List.of(index.ruleSupertypes(Scene.v().getSootClass("demo.PinningTrustManager"))));
+                assertEquals(0, index.ruleSupertypes(Scene.v().getSootClass("java.security.MessageDigest")).length);
+                return null;
+            });
+        }
+        finally
+        {
+            context.release();
+        }
+    }
+
+    /**
+     * Tests that both engines report calls through a user subclass and a user implementer when
+     * the rules match subtypes, and neither does when they opt out.
+     */
+    @Test
+    void testMatchSubtypes() throws Exception
+    {
+        final var classes = FixtureCompiler.compile(SOURCES);
+        for (boolean fastPath : new boolean[]{true, false})
+        {
+            assertEquals(Set.of("java.security.MessageDigest viaSubclass()", "void viaInterface(demo.PinningTrustManager)"),
+                    reportingMethods(classes, true, fastPath));
+            assertEquals(Set.of(), reportingMethods(classes, false, fastPath));
+        }
+    }
+
+    private static Set<String> reportingMethods(Path classes, boolean matchSubtypes, boolean fastPath) throws Exception
+    {
+        try (final var session = new ScanSession(rules(classes, matchSubtypes), AnalysisProfile.CHA, false))
+        {
+            return Set.copyOf(session.scan(classes.toString(), fastPath).findings().stream()
+                    .map(f -> f.methodName)
+                    .toList());
+        }
+    }
+
+    private static RuleLoader.PolicyRules rules(Path classes, boolean matchSubtypes) throws Exception
+    {
+        final var yaml = Files.createTempFile(classes.getParent(), "rules", ".yaml");
+        Files.writeString(yaml, String.join("\n",
+                "rules:",
+                "  - category: MessageDigest",
+                "    className: java.security.MessageDigest",
+                "    methodName: getInstance",
+                "    algoArgIndex: 0",
+                "    providerArgIndex: 1",
+                "    matchSubtypes: " + matchSubtypes,
+                "  - category: TrustManager",
+                "    className: javax.net.ssl.X509TrustManager",
+                "    methodName: checkServerTrusted",
+                "    algoArgIndex: 1",
+                "    matchSubtypes: " + matchSubtypes,
+                ""));
+        return RuleLoader.loadPolicies(Map.of("default", yaml));
+    }
+}
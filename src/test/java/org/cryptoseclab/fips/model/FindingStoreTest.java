@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link FindingStore}.
+ */
+class FindingStoreTest
+{
+    private static ScanFinding finding(String className, String algorithm, int line, long policyMask)
+    {
+        return new ScanFinding("MessageDigest", className, "void run()", algorithm, "direct constant", line,
+                "none", "default", policyMask == 0 ? "approved" : "forbidden", policyMask, null, null, false);
+    }
+
+    /**
+     * Tests that rows read back with every field, including a missing artifact and call path.
+     */
+    @Test
+    void testRoundTrip()
+    {
+        final var path = new CallPath("<App: void main(java.lang.String[])>", null);
+        final var first = new ScanFinding("Cipher", "com.acme.A", "void a()", "DES", "field", 7, "SunJCE", "default",
+                "forbidden", 3L, "lib.jar", new CallPath("<com.acme.A: void a()>", path), false).asUnreachable();
+        final var second = finding("com.acme.B", "SHA-256", 12, 0L);
+        final var store = FindingStore.of(List.of(first, second));
+
+        assertEquals(2, store.size());
+        final var a = store.get(0);
+        assertEquals("Cipher", a.category);
+        assertEquals("com.acme.A", a.className);
+        assertEquals("void a()", a.methodName);
+        assertEquals("DES", a.resolvedAlgorithm);
+        assertEquals("field", a.resolutionType);
+        assertEquals(7, a.line);
+        assertEquals("SunJCE", a.provider);
+        assertEquals("default", a.providerStatus);
+        assertEquals("forbidden", a.algorithmStatus);
+        assertEquals(3L, a.policyMask);
+        assertEquals("lib.jar", a.artifact);
+        assertSame(path, a.callPath.caller);
+        assertTrue(a.unreachable);
+
+        final var b = store.asList().get(1);
+        assertEquals("SHA-256", b.resolvedAlgorithm);
+        assertNull(b.artifact);
+        assertNull(b.callPath);
+        assertFalse(b.unreachable);
+    }
+
+    /**
+     * Tests that repeated values share one dictionary entry per column.
+     */
+    @Test
+    void testDictionaryEncoding()
+    {
+        final var store = new FindingStore(1);
+        for (int i = 0; i < 1000; i++)
+        {
+            store.add(finding("com.acme.C" + (i % 10), i % 2 == 0 ? "MD5" : "SHA-1", i, i % 2));
+        }
+
+        assertEquals(1000, store.size());
+        assertEquals(10, store.cardinality(FindingStore.Column.CLASS));
+        assertEquals(2, store.cardinality(FindingStore.Column.ALGORITHM));
+        assertEquals(1, store.cardinality(FindingStore.Column.CATEGORY));
+        assertEquals(1, store.cardinality(FindingStore.Column.ARTIFACT));
+        assertEquals(999, store.get(999).line);
+    }
+
+    /**
+     * Tests filters and group-by counts over row sets.
+     */
+    @Test
+    void testQueries()
+    {
+        final var store = FindingStore.of(List.of(
+                finding("com.acme.A", "MD5", 1, 1L),
+                finding("com.acme.A", "SHA-256", 2, 0L),
+                finding("com.acme.B", "MD5", 3, 2L),
+                finding("com.acme.B", "SHA-1", 4, 1L)));
+
+        final var md5 = store.rows(FindingStore.Column.ALGORITHM, "MD5");
+        assertEquals(2, md5.cardinality());
+        assertEquals(0, store.rows(FindingStore.Column.ALGORITHM, "DES").cardinality());
+
+        final var violating = store.violating(-1L);
+        assertEquals(3, violating.cardinality());
+        assertEquals(2, store.violating(1L).cardinality());
+        assertEquals(Map.of("MD5", 2, "SHA-1", 1), store.countBy(FindingStore.Column.ALGORITHM, violating));
+        assertEquals(List.of("com.acme.A", "com.acme.B"),
+                List.copyOf(store.countBy(FindingStore.Column.CLASS).keySet()));
+
+        final var selected = store.asList(md5);
+        assertEquals(2, selected.size());
+        assertEquals(3, selected.get(1).line);
+        assertEquals(0, store.asList(new BitSet()).size());
+
+        final var byClass = store.groupBy(FindingStore.Column.CLASS);
+        assertEquals(List.of("com.acme.A", "com.acme.B"), List.copyOf(byClass.keySet()));
+        assertEquals(List.of(3, 4), store.asList(byClass.get("com.acme.B")).stream().map(f -> f.line).toList());
+    }
+}
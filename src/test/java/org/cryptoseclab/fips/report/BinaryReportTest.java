@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.CallPath;
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link BinaryReportWriter} and {@link BinaryReportReader}.
+ */
+class BinaryReportTest
+{
+    private static ScanFinding finding(String category, String className, String algorithm, int line, long policyMask)
+    {
+        return new ScanFinding(category, className, "void run()", algorithm, "direct constant", line,
+                "none", "default", "APPROVED", policyMask, null, null, false);
+    }
+
+    /**
+     * Tests that every field, the policy names and shared call paths survive a round trip.
+     */
+    @Test
+    void testRoundTrip() throws Exception
+    {
+        final var main = new CallPath("<App: void main(java.lang.String[])>", null);
+        final var findings = List.of(
+                new ScanFinding("Cipher", "com.acme.Login", "void login()", "DES", "field", 12, "SunJCE", "⚠️ Non-FIPS",
+                        "FORBIDDEN (algorithm DES forbidden)", 2L, "lib-1.0.jar", new CallPath("<com.acme.Login: void login()>", main), false),
+                new ScanFinding("MessageDigest", "com.acme.Token", "byte[] hash()", "SHA-256", "direct constant", -1,
+                        "none", "default", "APPROVED", 0L, null, new CallPath("<com.acme.Token: byte[] hash()>", main), false)
+                        .asUnreachable());
+        final var file = Files.createTempDirectory("binary-report").resolve("scan.fdb");
+
+        new BinaryReportWriter(new PolicySet(List.of("fips-140-2", "fips-140-3"))).write(findings, new FindingSummary(), file);
+
+        try (final var reader = BinaryReportReader.open(file))
+        {
+            assertEquals(2, reader.size());
+            assertEquals(List.of("fips-140-2", "fips-140-3"), reader.policies());
+            final var login = reader.get(0);
+            assertEquals("Cipher", login.category);
+            assertEquals("com.acme.Login", login.className);
+            assertEquals("void login()", login.methodName);
+            assertEquals("DES", login.resolvedAlgorithm);
+            assertEquals("field", login.resolutionType);
+            assertEquals(12, login.line);
+            assertEquals("SunJCE", login.provider);
+            assertEquals("⚠️ Non-FIPS", login.providerStatus);
+            assertEquals("FORBIDDEN (algorithm DES forbidden)", login.algorithmStatus);
+            assertEquals(2L, login.policyMask);
+            assertEquals("lib-1.0.jar", login.artifact);
+            assertEquals(findings.get(0).callPath.methods(), login.callPath.methods());
+            assertFalse(login.unreachable);
+
+            final var token = reader.asList().get(1);
+            assertEquals(-1, token.line);
+            assertNull(token.artifact);
+            assertEquals(List.of("<App: void main(java.lang.String[])>", "<com.acme.Token: byte[] hash()>"),
+                    token.callPath.methods());
+            assertTrue(token.unreachable);
+        }
+    }
+
+    /**
+     * Tests filters by category, by class and by both through the footer indexes.
+     */
+    @Test
+    void testSelect() throws Exception
+    {
+        final var findings = List.of(
+                finding("Cipher", "com.acme.A", "DES", 1, 0L),
+                finding("MessageDigest", "com.acme.A", "MD5", 2, 0L),
+                finding("Cipher", "com.acme.B", "AES/GCM/NoPadding", 3, 0L),
+                finding("MessageDigest", "com.acme.B", "SHA-1", 4, 0L),
+                finding("MessageDigest", "com.acme.A", "SHA-256", 5, 0L));
+        final var file = Files.createTempDirectory("binary-report").resolve("scan.fdb");
+        new BinaryReportWriter().write(findings, new FindingSummary(), file);
+
+        try (final var reader = BinaryReportReader.open(file))
+        {
+            assertEquals(Set.of("Cipher", "MessageDigest"), reader.categories());
+            assertEquals(Set.of("com.acme.A", "com.acme.B"), reader.classes());
+            assertEquals(List.of(), reader.policies());
+            assertEquals(List.of(2, 4, 5), lines(reader.select("MessageDigest", null)));
+            assertEquals(List.of(3, 4), lines(reader.select(null, "com.acme.B")));
+            assertEquals(List.of(2, 5), lines(reader.select("MessageDigest", "com.acme.A")));
+            assertEquals(List.of(), lines(reader.select("KeyStore", "com.acme.A")));
+            assertEquals(5, reader.select(null, null).size());
+        }
+    }
+
+    /**
+     * Tests that files of another format are rejected.
+     */
+    @Test
+    void testRejectsOtherFiles() throws Exception
+    {
+        final var file = Files.createTempDirectory("binary-report").resolve("scan.json");
+        new JsonReportWriter().write(List.of(finding("Cipher", "com.acme.A", "DES", 1, 0L)), new FindingSummary(), file);
+
+        final var e = assertThrows(IOException.class, () -> BinaryReportReader.open(file));
+        assertEquals("Not a binary findings report", e.getMessage());
+    }
+
+    private static List<Integer> lines(List<ScanFinding> findings)
+    {
+        return findings.stream().map(f -> f.line).toList();
+    }
+}
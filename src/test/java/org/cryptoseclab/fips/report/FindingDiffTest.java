@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link FindingDiff}.
+ */
+class FindingDiffTest
+{
+    private static ScanFinding finding(String className, String method, String algorithm, int line)
+    {
+        final String status = algorithm.equals("MD5") ? "FORBIDDEN (algorithm MD5 forbidden)" : "APPROVED";
+        return new ScanFinding("MessageDigest", className, method, algorithm, "direct constant", line,
+                "none", "default", status, 0L, null, null, false);
+    }
+
+    /**
+     * Tests that fingerprints ignore lines and resolution but not the identifying fields.
+     */
+    @Test
+    void testFingerprint()
+    {
+        final var base = finding("com.acme.A", "void run()", "SHA-256", 10);
+        final var shifted = new ScanFinding("MessageDigest", "com.acme.A", "void run()", "SHA-256", "field", 42,
+                "none", "default", "APPROVED", 0L, null, null, false);
+
+        assertEquals(FindingDiff.fingerprint(base), FindingDiff.fingerprint(shifted));
+        assertTrue(FindingDiff.fingerprint(base) != FindingDiff.fingerprint(finding("com.acme.A", "void run()", "MD5", 10)));
+        assertTrue(FindingDiff.fingerprint(base) != FindingDiff.fingerprint(finding("com.acme.B", "void run()", "SHA-256", 10)));
+        assertTrue(FindingDiff.fingerprint(base) != FindingDiff.fingerprint(finding("com.acme.A", "void go()", "SHA-256", 10)));
+    }
+
+    /**
+     * Tests added, removed and unchanged findings, including repeated fingerprints.
+     */
+    @Test
+    void testDiff()
+    {
+        final var baseline = List.of(
+                finding("com.acme.A", "void run()", "SHA-256", 10),
+                finding("com.acme.A", "void run()", "MD5", 11),
+                finding("com.acme.B", "void old()", "SHA-1", 5));
+        final var current = List.of(
+                finding("com.acme.A", "void run()", "SHA-256", 14),
+                finding("com.acme.A", "void run()", "MD5", 15),
+                finding("com.acme.A", "void run()", "MD5", 16),
+                finding("com.acme.C", "void add()", "SHA-512", 3));
+
+        final var diff = FindingDiff.diff(baseline, current);
+
+        assertEquals(List.of(16, 3), diff.added().stream().map(f -> f.line).toList());
+        assertEquals(List.of(5), diff.removed().stream().map(f -> f.line).toList());
+        assertEquals(List.of(14, 15), diff.unchanged().stream().map(f -> f.line).toList());
+        assertEquals(1L, diff.addedFlagged());
+    }
+
+    /**
+     * Tests diffing two binary reports read through their mappings.
+     */
+    @Test
+    void testDiffBinaryReports() throws Exception
+    {
+        final var dir = Files.createTempDirectory("finding-diff");
+        final var previous = dir.resolve("previous.fdb");
+        final var next = dir.resolve("next.fdb");
+        new BinaryReportWriter().write(List.of(
+                finding("com.acme.A", "void run()", "SHA-256", 10),
+                finding("com.acme.B", "void old()", "SHA-1", 5)), new FindingSummary(), previous);
+        new BinaryReportWriter().write(List.of(
+                finding("com.acme.A", "void run()", "SHA-256", 12),
+                finding("com.acme.A", "void run()", "MD5", 13)), new FindingSummary(), next);
+
+        try (final var baseline = BinaryReportReader.open(previous);
+             final var current = BinaryReportReader.open(next))
+        {
+            final var diff = FindingDiff.diff(baseline.asList(), current.asList());
+            assertEquals("MD5", diff.added().get(0).resolvedAlgorithm);
+            assertEquals("com.acme.B", diff.removed().get(0).className);
+            assertEquals(12, diff.unchanged().get(0).line);
+            assertEquals(1L, diff.addedFlagged());
+            assertEquals(1L, diff.addedSummary().flagged());
+            assertEquals(Map.of("SHA-1", 1L), diff.removedSummary().byAlgorithm());
+            assertEquals(1L, diff.unchangedSummary().findings());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.report;
+
+import org.cryptoseclab.fips.model.PolicySet;
+import org.cryptoseclab.fips.model.ScanFinding;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link FindingSummary} and the summary section of the JSON report.
+ */
+class FindingSummaryTest
+{
+    private static ScanFinding finding(String className, String algorithm, String algorithmStatus)
+    {
+        return new ScanFinding("MessageDigest", className, "void run()", algorithm, "direct constant", 1,
+                "none", "default", algorithmStatus, 0L, null, null, false);
+    }
+
+    /**
+     * Tests exact counts, package grouping and flagged class/algorithm hotspots.
+     */
+    @Test
+    void testExactCounts()
+    {
+        final var summary = new FindingSummary();
+        List.of(finding("com.acme.a.Login", "MD5", "FORBIDDEN (algorithm MD5 forbidden)"),
+                finding("com.acme.a.Login", "MD5", "FORBIDDEN (algorithm MD5 forbidden)"),
+                finding("com.acme.a.Login", "SHA-256", "APPROVED"),
+                finding("com.acme.b.Token", "MD5", "FORBIDDEN (algorithm MD5 forbidden)"),
+                finding("Main", "SHA-256", "APPROVED")).forEach(summary::add);
+
+        assertEquals(5L, summary.findings());
+        assertEquals(3L, summary.flagged());
+        assertFalse(summary.approximate());
+        assertEquals(Map.of("MD5", 3L, "SHA-256", 2L), summary.byAlgorithm());
+        assertEquals(List.of("MD5", "SHA-256"), List.copyOf(summary.byAlgorithm().keySet()));
+        assertEquals(List.of(new FindingSummary.Entry("com.acme.a", 3, 0), new FindingSummary.Entry("(default package)", 1, 0),
+                new FindingSummary.Entry("com.acme.b", 1, 0)), summary.topPackages());
+        assertEquals(List.of(new FindingSummary.Hotspot("com.acme.a.Login", "MD5", 2, 0),
+                new FindingSummary.Hotspot("com.acme.b.Token", "MD5", 1, 0)), summary.hotspots());
+    }
+
+    /**
+     * Tests that a sketch smaller than the number of classes still ranks the heavy hitters,
+     * with counts that are upper bounds within the reported error.
+     */
+    @Test
+    void testBoundedSketchKeepsHeavyHitters()
+    {
+        final var summary = new FindingSummary(3, 16);
+        final var exact = new int[3];
+        for (int i = 0; i < 10_000; i++)
+        {
+            final int hot = i % 10;
+            final String className = hot < 3 ? "com.acme.Hot" + hot : "com.acme.Cold" + i;
+            if (hot < 3)
+            {
+                exact[hot]++;
+            }
+            summary.add(finding(className, "MD5", "APPROVED"));
+        }
+
+        assertTrue(summary.approximate());
+        final var top = summary.topClasses();
+        assertEquals(3, top.size());
+        for (final var entry : top)
+        {
+            assertTrue(entry.key().startsWith("com.acme.Hot"));
+            final int actual = exact[entry.key().charAt(entry.key().length() - 1) - '0'];
+            assertTrue(entry.count() >= actual);
+            assertTrue(entry.count() - entry.error() <= actual);
+        }
+    }
+
+    /**
+     * Tests that the collector summarizes exactly the findings it keeps for the reports.
+     */
+    @Test
+    void testCollectorSummarizesSelectedFindings()
+    {
+        final var policies = new PolicySet(List.of("fips-140-2", "fips-140-3", "internal"));
+        final var collector = FindingCollector.forPolicies(policies, List.of("fips-140-3"));
+        collector.accept(new ScanFinding("Cipher", "com.acme.A", "void run()", "DES", "direct constant", 1, "none",
+                "default", "FORBIDDEN (algorithm DES forbidden)", 0b011L, null, null, false));
+        collector.accept(new ScanFinding("Cipher", "com.acme.A", "void run()", "RC4", "direct constant", 2, "none",
+                "default", "FORBIDDEN (algorithm RC4 forbidden)", 0b100L, null, null, false));
+        collector.accept(new ScanFinding("MessageDigest", "com.acme.B", "void run()", "SHA-1", "direct constant", 3,
+                "none", "default", "FORBIDDEN (algorithm SHA-1 forbidden)", 0b010L, null, null, false));
+
+        assertEquals(List.of("DES", "SHA-1"), collector.findings().stream().map(f -> f.resolvedAlgorithm).toList());
+        assertEquals(2L, collector.summary().findings());
+        assertEquals(Map.of("DES", 1L, "SHA-1", 1L), collector.summary().byAlgorithm());
+
+        final var all = FindingCollector.forPolicies(null, List.of("fips-140-3"));
+        collector.findings().forEach(all);
+        assertEquals(2L, all.summary().findings());
+    }
+
+    /**
+     * Tests that the JSON report opens with the summary, ahead of the findings.
+     */
+    @Test
+    void testJsonSummaryPrecedesFindings() throws Exception
+    {
+        final var collector = new FindingCollector();
+        collector.accept(finding("com.acme.Login", "MD5", "FORBIDDEN (algorithm MD5 forbidden)"));
+        final var output = Files.createTempDirectory("summary").resolve("report.json");
+
+        new JsonReportWriter().write(collector.findings(), collector.summary(), output);
+
+        final var json = Files.readString(output);
+        assertTrue(json.indexOf("\"summary\"") < json.indexOf("\"findings\": ["));
+        assertTrue(json.contains("\"hotspots\": [{\"class\": \"com.acme.Login\", \"algorithm\": \"MD5\", \"count\": 1}]"));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.rule;
+
+import org.cryptoseclab.fips.model.AlgorithmPolicy;
+import org.cryptoseclab.fips.rule.AlgorithmClassifier.Status;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link AlgorithmClassifier}.
+ */
+class AlgorithmClassifierTest
+{
+    private static AlgorithmClassifier classifier()
+    {
+        final var policy = new AlgorithmPolicy();
+        policy.getApproved().setAlgorithms(List.of("AES", "SHA-256", "SHA-512/256", "SHA3-*"));
+        policy.getApproved().setModes(List.of("GCM", "CBC"));
+        policy.getApproved().setPaddings(List.of("NoPadding", "PKCS5Padding"));
+        policy.getApproved().setProviders(List.of("BCFIPS", "SunPKCS11*"));
+        policy.getForbidden().setAlgorithms(List.of("MD5", "SHA-1"));
+        policy.getForbidden().setModes(List.of("ECB"));
+        policy.setAliases(Map.of("SHA256", "SHA-256", "2.16.840.1.101.3.4.2.1", "SHA-256", "SHA1", "SHA-1"));
+        return AlgorithmClassifier.compile(policy);
+    }
+
+    /**
+     * Tests that every component of a transformation must be approved, case-insensitively.
+     */
+    @Test
+    void testTransformationComponents()
+    {
+        final var classifier = classifier();
+        assertEquals(Status.APPROVED, classifier.classify("AES/GCM/NoPadding").status());
+        assertEquals(Status.APPROVED, classifier.classify("aes/cbc/pkcs5padding").status());
+        assertEquals(Status.FORBIDDEN, classifier.classify("AES/ECB/PKCS5Padding").status());
+        assertEquals("mode ECB forbidden", classifier.classify("AES/ECB/PKCS5Padding").reason());
+        assertEquals(Status.UNKNOWN, classifier.classify("AES/CTR/NoPadding").status());
+        assertEquals(Status.UNKNOWN, classifier.classify("AES/GCM/NoPadding/Extra").status());
+    }
+
+    /**
+     * Tests wildcards, aliases, OIDs and algorithm names containing a slash.
+     */
+    @Test
+    void testWildcardsAliasesAndOids()
+    {
+        final var classifier = classifier();
+        assertEquals(Status.APPROVED, classifier.classify("SHA3-384").status());
+        assertEquals(Status.APPROVED, classifier.classify("SHA256").status());
+        assertEquals(Status.APPROVED, classifier.classify("2.16.840.1.101.3.4.2.1").status());
+        assertEquals(Status.APPROVED, classifier.classify("OID.2.16.840.1.101.3.4.2.1").status());
+        assertEquals(Status.APPROVED, classifier.classify("SHA-512/256").status());
+        assertEquals(Status.FORBIDDEN, classifier.classify("sha1").status());
+        assertEquals(Status.FORBIDDEN, classifier.classify("MD5").status());
+        assertEquals(Status.UNKNOWN, classifier.classify("SHA3").status());
+    }
+
+    /**
+     * Tests provider classification and that classifications are cached per string.
+     */
+    @Test
+    void testProvidersAndCache()
+    {
+        final var classifier = classifier();
+        assertTrue(classifier.isApprovedProvider("BCFIPS"));
+        assertTrue(classifier.isApprovedProvider("SunPKCS11-NSS-FIPS"));
+        assertFalse(classifier.isApprovedProvider("SunJCE"));
+        assertTrue(AlgorithmClassifier.compile(null).isApprovedProvider("OpenJCEPlusFIPS"));
+        assertSame(classifier.classify("AES/GCM/NoPadding"), classifier.classify("AES/GCM/NoPadding"));
+    }
+
+    /**
+     * Tests against the shipped rules that RSA's ECB pseudo-mode does not make the canonical OAEP
+     * transformation forbidden, while ECB stays forbidden for block ciphers.
+     */
+    @Test
+    void testRsaEcbIsNotABlockMode()
+    {
+        final var evaluator = RuleLoader.loadPolicies(Map.of("default", Path.of("src/main/resources/fips-rules.yaml")))
+                .evaluator();
+        assertEquals("APPROVED", evaluator.evaluate(0, "RSA/ECB/OAEPWithSHA-256AndMGF1Padding", "none").algorithmStatus());
+        assertEquals("APPROVED", evaluator.evaluate(0, "RSA/NONE/OAEPPadding", "none").algorithmStatus());
+        assertEquals("FORBIDDEN (padding PKCS1Padding forbidden)",
+                evaluator.evaluate(0, "RSA/ECB/PKCS1Padding", "none").algorithmStatus());
+        assertEquals("FORBIDDEN (mode ECB forbidden)", evaluator.evaluate(0, "AES/ECB/NoPadding", "none").algorithmStatus());
+        assertEquals("APPROVED", evaluator.evaluate(0, "SHA3-256withECDSA", "none").algorithmStatus());
+    }
+
+    /**
+     * Tests that a '*' before the end of an entry is rejected instead of being matched literally.
+     */
+    @Test
+    void testInnerWildcardRejected()
+    {
+        final var policy = new AlgorithmPolicy();
+        policy.getApproved().setAlgorithms(List.of("SHA3-*with*"));
+        assertThrows(IllegalArgumentException.class, () -> AlgorithmClassifier.compile(policy));
+    }
+}
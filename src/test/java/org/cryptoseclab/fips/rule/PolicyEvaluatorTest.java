@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.rule;
+
+import org.cryptoseclab.fips.model.ArgPredicate;
+import org.cryptoseclab.fips.model.CryptoRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the argument predicates evaluated by {@link PolicyEvaluator}.
+ */
+class PolicyEvaluatorTest
+{
+    private static CryptoRule pbeRule()
+    {
+        final var iterations = new ArgPredicate();
+        iterations.setArgIndex(2);
+        iterations.setName("iteration count");
+        iterations.setMin(1000L);
+        final var type = new ArgPredicate();
+        type.setArgIndex(3);
+        type.setOneOf(List.of("PKCS12"));
+        final var rule = new CryptoRule();
+        rule.setAlgoArgIndex(-1);
+        rule.setArgPredicates(List.of(iterations, type));
+        return rule;
+    }
+
+    /**
+     * Tests that failing, passing and unresolved predicate arguments set status and violations.
+     */
+    @Test
+    void testPredicates()
+    {
+        final var evaluator = PolicyEvaluator.defaults();
+        final var rule = pbeRule();
+
+        final var failing = evaluator.evaluate(rule, null, "none", new String[]{"500", "pkcs12"});
+        assertEquals("FORBIDDEN (iteration count 500 below 1000)", failing.algorithmStatus());
+        assertEquals(1L, failing.violationMask());
+
+        final var passing = evaluator.evaluate(rule, null, "none", new String[]{"10000", "PKCS12"});
+        assertEquals("APPROVED", passing.algorithmStatus());
+        assertEquals(0L, passing.violationMask());
+
+        final var unresolved = evaluator.evaluate(rule, null, "none", new String[]{"unresolved", "JKS"});
+        assertEquals("FORBIDDEN (arg 3 JKS not in [PKCS12])", unresolved.algorithmStatus());
+        assertEquals("iteration count=500, arg 3=JKS",
+                PolicyEvaluator.describeArguments(rule, new String[]{"500", "JKS"}));
+    }
+
+    /**
+     * Tests that a per-algorithm minimum replaces the default one for the receiver's algorithm.
+     */
+    @Test
+    void testMinimumByReceiverAlgorithm()
+    {
+        final var keySize = new ArgPredicate();
+        keySize.setName("key size");
+        keySize.setMin(2048L);
+        keySize.setMinByAlgorithm(Map.of("EC", 224L));
+        final var rule = new CryptoRule();
+        rule.setAlgoArgIndex(-1);
+        rule.setArgPredicates(List.of(keySize));
+        final var evaluator = PolicyEvaluator.defaults();
+
+        assertEquals("APPROVED", evaluator.evaluate(rule, null, "none", new String[]{"256"}, "ec").algorithmStatus());
+        assertEquals("FORBIDDEN (key size 160 below 224 for EC)",
+                evaluator.evaluate(rule, null, "none", new String[]{"160"}, "EC").algorithmStatus());
+        assertEquals("FORBIDDEN (key size 1024 below 2048)",
+                evaluator.evaluate(rule, null, "none", new String[]{"1024"}, "RSA").algorithmStatus());
+        assertEquals("FORBIDDEN (key size 256 below 2048)",
+                evaluator.evaluate(rule, null, "none", new String[]{"256"}).algorithmStatus());
+    }
+}
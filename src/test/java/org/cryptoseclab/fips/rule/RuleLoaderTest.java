@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.rule;
+
+import org.cryptoseclab.fips.FixtureCompiler;
+import org.cryptoseclab.fips.ScanSession;
+import org.cryptoseclab.fips.analysis.AnalysisProfile;
+import org.cryptoseclab.fips.model.CryptoRule;
+import org.cryptoseclab.fips.model.PolicySet;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for loading several named rule sets with {@link RuleLoader#loadPolicies}.
+ */
+class RuleLoaderTest
+{
+    private static final String DIGEST_RULE = "  - category: MessageDigest\n"
+            + "    className: java.security.MessageDigest\n"
+            + "    methodName: getInstance\n"
+            + "    algoArgIndex: 0\n"
+            + "    providerArgIndex: 1\n";
+
+    /** Shares the digest rule with {@link #LENIENT}, adds a cipher rule and also forbids SHA-1. */
+    private static final String STRICT = "rules:\n"
+            + DIGEST_RULE
+            + "  - category: Cipher\n"
+            + "    className: javax.crypto.Cipher\n"
+            + "    methodName: getInstance\n"
+            + "    algoArgIndex: 0\n"
+            + "algorithmPolicy:\n"
+            + "  approved:\n"
+            + "    algorithms: [SHA-256, AES]\n"
+            + "  forbidden:\n"
+            + "    algorithms: [MD5, SHA-1, DES]\n";
+
+    private static final String LENIENT = "rules:\n"
+            + DIGEST_RULE
+            + "  - category: Signature\n"
+            + "    className: java.security.Signature\n"
+            + "    methodName: getInstance\n"
+            + "    algoArgIndex: 0\n"
+            + "algorithmPolicy:\n"
+            + "  approved:\n"
+            + "    algorithms: [SHA-256, SHA-1]\n"
+            + "  forbidden:\n"
+            + "    algorithms: [MD5, MD5withRSA]\n";
+
+    private static final String APP = "package demo;\n"
+            + "import java.security.MessageDigest;\n"
+            + "import java.security.Signature;\n"
+            + "import javax.crypto.Cipher;\n"
+            + "public class App {\n"
+            + "    public static void main(String[] args) throws Exception {\n"
+            + "        MessageDigest.getInstance(\"SHA-1\");\n"
+            + "        MessageDigest.getInstance(\"MD5\");\n"
+            + "        MessageDigest.getInstance(\"SHA-256\");\n"
+            + "        Cipher.getInstance(\"DES\");\n"
+            + "        Signature.getInstance(\"MD5withRSA\");\n"
+            + "    }\n"
+            + "}\n";
+
+    /**
+     * Tests that a rule in both rule sets is loaded once with both policy bits and that each
+     * finding's policy mask holds the policies it violates.
+     */
+    @Test
+    void testMergesRulesAcrossPolicies() throws Exception
+    {
+        final var dir = Files.createTempDirectory("rule-loader");
+        final var policyFiles = new LinkedHashMap<String, Path>();
+        policyFiles.put("strict", Files.writeString(dir.resolve("strict.yaml"), STRICT));
+        policyFiles.put("lenient", Files.writeString(dir.resolve("lenient.yaml"), LENIENT));
+
+        final var loaded = RuleLoader.loadPolicies(policyFiles);
+
+        assertEquals(3, loaded.rules().size());
+        assertEquals(List.of("strict", "lenient"), loaded.policies().names());
+        assertEquals(Map.of("MessageDigest", 3L, "Cipher", 1L, "Signature", 2L), loaded.rules().stream()
+                .collect(Collectors.toMap(CryptoRule::getCategory, CryptoRule::getPolicyMask)));
+
+        final var classes = FixtureCompiler.compile(Map.of("demo.App", APP));
+        try (final var session = new ScanSession(loaded, AnalysisProfile.CHA, false))
+        {
+            final var masks = session.scan(classes.toString(), false).findings().stream()
+                    .collect(Collectors.toMap(f -> f.resolvedAlgorithm, f -> f.policyMask));
+            assertEquals(Map.of("SHA-1", 1L, "MD5", 3L, "SHA-256", 0L, "DES", 1L, "MD5withRSA", 2L), masks);
+        }
+    }
+
+    /**
+     * Tests that 64 policies fill every bit of the mask and a 65th is refused.
+     */
+    @Test
+    void testPolicyLimit() throws Exception
+    {
+        final var file = Files.writeString(Files.createTempDirectory("rule-loader").resolve("rules.yaml"),
+                "rules:\n" + DIGEST_RULE);
+        final var policyFiles = new LinkedHashMap<String, Path>();
+        for (int i = 0; i < PolicySet.MAX_POLICIES; i++) policyFiles.put("policy-" + i, file);
+
+        final var loaded = RuleLoader.loadPolicies(policyFiles);
+        assertEquals(1, loaded.rules().size());
+        assertEquals(-1L, loaded.rules().get(0).getPolicyMask());
+        assertEquals(List.of("policy-63"), loaded.policies().namesOf(Long.MIN_VALUE));
+
+        policyFiles.put("one-too-many", file);
+        assertThrows(IllegalArgumentException.class, () -> RuleLoader.loadPolicies(policyFiles));
+    }
+}
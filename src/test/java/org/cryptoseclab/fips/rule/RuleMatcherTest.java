@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025 crypto-seclab
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.cryptoseclab.fips.rule;
+
+import org.cryptoseclab.fips.model.CryptoRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RuleMatcher}.
+ */
+class RuleMatcherTest
+{
+    private static final String STRING_DESC = "(Ljava/lang/String;)Ljava/lang/Object;";
+    private static final String STRING_STRING_DESC = "(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/Object;";
+
+    private static CryptoRule rule(String className, String methodName, String descriptor)
+    {
+        final var rule = new CryptoRule();
+        rule.setCategory("test");
+        rule.setClassName(className);
+        rule.setMethodName(methodName);
+        rule.setDescriptor(descriptor);
+        return rule;
+    }
+
+    /**
+     * Tests that exact and glob rules are matched together and that '*' stays within one package.
+     */
+    @Test
+    void testExactAndGlobRules()
+    {
+        final var exact = rule("java.security.MessageDigest", "getInstance", null);
+        final var glob = rule("javax.crypto.*", "get*", null);
+        final var deep = rule("javax.**", "getInstance", "(Ljava/lang/String;*");
+        final var matcher = RuleMatcher.compile(List.of(exact, glob, deep));
+
+        assertEquals(1, matcher.match("java.security.MessageDigest", "getInstance", STRING_DESC).length);
+        assertEquals(2, matcher.match("javax.crypto.Cipher", "getInstance", STRING_DESC).length);
+        assertEquals(1, matcher.match("javax.crypto.spec.Foo", "getInstance", STRING_STRING_DESC).length);
+        assertEquals(0, matcher.match("javax.crypto.spec.Foo", "getInstance", "(I)V").length);
+        assertEquals(0, matcher.match("java.security.Signature", "getInstance", STRING_DESC).length);
+    }
+
+    /**
+     * Tests regex rules, the algorithm argument bound and memoization per target.
+     */
+    @Test
+    void testRegexArgumentBoundAndMemo()
+    {
+        final var regex = rule("regex:java\\.security\\.(Signature|KeyFactory)", "getInstance", null);
+        regex.setAlgoArgIndex(1);
+        final var matcher = RuleMatcher.compile(List.of(regex));
+
+        assertEquals(0, matcher.match("java.security.Signature", "getInstance", STRING_DESC).length);
+        assertEquals(1, matcher.match("java.security.KeyFactory", "getInstance", STRING_STRING_DESC).length);
+        assertEquals(0, matcher.match("java.security.KeyStore", "getInstance", STRING_STRING_DESC).length);
+        assertSame(matcher.match("java.security.Signature", "getInstance", STRING_STRING_DESC),
+                matcher.match("java.security.Signature", "getInstance", STRING_STRING_DESC));
+        assertEquals(3, RuleMatcher.parameterCount("([[I[Ljava/lang/String;J)V"));
+    }
+
+    /**
+     * Tests that rules match through supertypes unless they opt out.
+     */
+    @Test
+    void testSupertypes()
+    {
+        final var inherited = rule("java.security.MessageDigest", "getInstance", null);
+        final var exactOnly = rule("javax.crypto.Cipher", "getInstance", null);
+        exactOnly.setMatchSubtypes(false);
+        final var matcher = RuleMatcher.compile(List.of(inherited, exactOnly));
+        final var noSupertypes = new String[0];
+
+        assertTrue(matcher.targetsClass("javax.crypto.Cipher"));
+        assertFalse(matcher.targetsClass("demo.MyDigest"));
+        assertEquals(0, matcher.match("demo.MyDigest", "getInstance", STRING_DESC, noSupertypes).length);
+        assertEquals(1, matcher.match("demo.MyDigest", "getInstance", STRING_DESC,
+                new String[]{"java.security.MessageDigest"}).length);
+        assertEquals(0, matcher.match("demo.MyCipher", "getInstance", STRING_DESC,
+                new String[]{"javax.crypto.Cipher"}).length);
+    }
+}